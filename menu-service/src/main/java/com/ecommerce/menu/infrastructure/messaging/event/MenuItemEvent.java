@@ -23,6 +23,7 @@ public class MenuItemEvent {
     private String name;
     private BigDecimal price;
     private Boolean isAvailable;
+    private Integer maxQuantityPerOrder;
     private LocalDateTime timestamp;
 
     public enum EventType {
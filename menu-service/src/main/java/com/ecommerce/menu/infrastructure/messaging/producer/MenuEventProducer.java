@@ -78,6 +78,7 @@ public class MenuEventProducer {
                 .name(item.getName())
                 .price(item.getPrice())
                 .isAvailable(item.getIsAvailable())
+                .maxQuantityPerOrder(item.getMaxQuantityPerOrder())
                 .timestamp(LocalDateTime.now())
                 .build();
     }
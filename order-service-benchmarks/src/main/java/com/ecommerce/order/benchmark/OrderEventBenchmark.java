@@ -0,0 +1,83 @@
+package com.ecommerce.order.benchmark;
+
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.infrastructure.messaging.codec.FileSchemaRegistry;
+import com.ecommerce.order.infrastructure.messaging.codec.OrderEventCodec;
+import com.ecommerce.order.infrastructure.messaging.producer.OrderEventProducer;
+import com.ecommerce.order.infrastructure.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Montagem dos eventos do outbox (mensagem + codificação + OutboxEvent), em JSON e no
+ * formato binário. O repositório é um stub que só devolve a entidade, para medir a
+ * construção e não o banco; o registro de schemas fica num diretório temporário.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderEventBenchmark {
+
+    @Param({"json", "binary"})
+    private String format;
+
+    private Path registryDir;
+    private OrderEventProducer producer;
+    private Order order;
+
+    @Setup
+    public void setUp() throws IOException {
+        OutboxEventRepository repository = (OutboxEventRepository) Proxy.newProxyInstance(
+                OutboxEventRepository.class.getClassLoader(),
+                new Class<?>[]{OutboxEventRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> Mono.just(args[0]);
+                    case "insertAll" -> Mono.just((long) ((Collection<?>) args[0]).size());
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        registryDir = Files.createTempDirectory("order-event-benchmark");
+        OrderEventCodec codec = new OrderEventCodec(new FileSchemaRegistry(registryDir, objectMapper),
+                objectMapper, format);
+        // Sem registro o codec volta para JSON, e o caso binário mediria o formato errado
+        if (codec.isBinary() != "binary".equals(format)) {
+            throw new IllegalStateException("Codec did not start in " + format + " format");
+        }
+        producer = new OrderEventProducer(repository, codec);
+        order = OrderFixtures.order(3);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(registryDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Void orderCreated() {
+        return producer.sendOrderCreated(order).block();
+    }
+
+    @Benchmark
+    public Void orderStatusChanged() {
+        return producer.sendOrderStatusChanged(order, OrderStatus.PENDING).block();
+    }
+}
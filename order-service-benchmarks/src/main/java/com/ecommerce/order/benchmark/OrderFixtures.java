@@ -0,0 +1,85 @@
+package com.ecommerce.order.benchmark;
+
+import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderItem;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.domain.valueobject.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pedidos e requisições de exemplo, com o mesmo formato do tráfego real.
+ */
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    static Order order(int itemCount) {
+        UUID orderId = UUID.randomUUID();
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = OrderItem.create(UUID.randomUUID(), "Produto " + i, 1 + i % 3,
+                    Money.ofCents(1290 + 100L * i), i % 4 == 0 ? "Sem cebola" : null);
+            item.setOrderId(orderId);
+            items.add(item);
+        }
+
+        Order order = Order.builder()
+                .id(orderId)
+                .customerId(UUID.randomUUID())
+                .restaurantId(UUID.randomUUID())
+                .status(OrderStatus.CONFIRMED)
+                .deliveryStreet("Rua das Flores")
+                .deliveryNumber("123")
+                .deliveryComplement("Apto 45")
+                .deliveryNeighborhood("Centro")
+                .deliveryCity("São Paulo")
+                .deliveryState("SP")
+                .deliveryZipCode("01234-567")
+                .deliveryLatitude(new BigDecimal("-23.550520"))
+                .deliveryLongitude(new BigDecimal("-46.633308"))
+                .deliveryFee(Money.of("5.00"))
+                .notes("Tocar a campainha")
+                .estimatedDeliveryTime(40)
+                .confirmedAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .version(1L)
+                .items(items)
+                .build();
+        order.calculateTotals();
+        return order;
+    }
+
+    static CreateOrderRequest createRequest(int itemCount) {
+        List<OrderItemRequest> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderItemRequest.builder()
+                    .productId(UUID.randomUUID())
+                    .productName("Produto " + i)
+                    .quantity(1 + i % 3)
+                    .unitPrice(new BigDecimal("12.90").add(BigDecimal.valueOf(i)))
+                    .notes(i % 4 == 0 ? "Sem cebola" : null)
+                    .build());
+        }
+        return CreateOrderRequest.builder()
+                .customerId(UUID.randomUUID())
+                .restaurantId(UUID.randomUUID())
+                .deliveryStreet("Rua das Flores")
+                .deliveryNumber("123")
+                .deliveryNeighborhood("Centro")
+                .deliveryCity("São Paulo")
+                .deliveryState("SP")
+                .deliveryZipCode("01234-567")
+                .deliveryFee(new BigDecimal("5.00"))
+                .items(items)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.order.benchmark;
+
+import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.mapper.OrderMapper;
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeamento entidade -> resposta (toda leitura) e requisição -> itens (toda criação).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int items;
+
+    private final OrderMapper mapper = new OrderMapper();
+    private Order order;
+    private CreateOrderRequest request;
+    private UUID orderId;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(items);
+        request = OrderFixtures.createRequest(items);
+        orderId = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return mapper.toResponse(order);
+    }
+
+    @Benchmark
+    public List<OrderItem> toOrderItems() {
+        return mapper.toOrderItems(request.getItems(), orderId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.order.benchmark;
+
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.mapper.OrderMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON de OrderResponse com a mesma configuração do Jackson do Spring Boot
+ * (módulos registrados, datas ISO).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderResponseJsonBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int items;
+
+    private ObjectWriter writer;
+    private OrderResponse response;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(OrderResponse.class);
+        response = new OrderMapper().toResponse(OrderFixtures.order(items));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
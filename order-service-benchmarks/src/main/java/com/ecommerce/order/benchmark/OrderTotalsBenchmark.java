@@ -0,0 +1,67 @@
+package com.ecommerce.order.benchmark;
+
+import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.domain.entity.OrderItem;
+import com.ecommerce.order.domain.valueobject.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recalcula preço dos itens e totais do pedido (criação e desconto). O caso
+ * bigDecimalBaseline repete, sobre o mesmo carrinho, a conta em BigDecimal que o
+ * Order/OrderItem faziam antes do Money (multiply por item, stream + reduce).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalsBenchmark {
+
+    @Param({"1", "5", "20", "50"})
+    private int items;
+
+    private Order order;
+
+    private BigDecimal[] unitPrices;
+    private int[] quantities;
+    private BigDecimal[] totalPrices;
+    private BigDecimal deliveryFee;
+    private BigDecimal discount;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(items);
+
+        List<OrderItem> orderItems = order.getItems();
+        unitPrices = orderItems.stream().map(item -> item.getUnitPrice().toBigDecimal()).toArray(BigDecimal[]::new);
+        quantities = orderItems.stream().mapToInt(OrderItem::getQuantity).toArray();
+        totalPrices = new BigDecimal[items];
+        deliveryFee = order.getDeliveryFee().toBigDecimal();
+        discount = order.getDiscount().toBigDecimal();
+    }
+
+    @Benchmark
+    public Money calculateTotals() {
+        order.getItems().forEach(item -> item.calculateTotalPrice());
+        order.calculateTotals();
+        return order.getTotal();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalBaseline() {
+        for (int i = 0; i < unitPrices.length; i++) {
+            totalPrices[i] = unitPrices[i].multiply(BigDecimal.valueOf(quantities[i]));
+        }
+        BigDecimal subtotal = Arrays.stream(totalPrices)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return subtotal
+                .add(deliveryFee != null ? deliveryFee : BigDecimal.ZERO)
+                .subtract(discount != null ? discount : BigDecimal.ZERO);
+    }
+}
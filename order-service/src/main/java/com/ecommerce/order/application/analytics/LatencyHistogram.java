@@ -0,0 +1,62 @@
+package com.ecommerce.order.application.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências com faixas exponenciais fixas (8 por potência de 2, a partir
+ * de 1s), gravado sem lock. Percentis saem com erro relativo de no máximo ~9%.
+ */
+public final class LatencyHistogram {
+
+    static final int BINS = 96;
+    private static final long MIN_MILLIS = 1_000;
+    private static final int STEPS_PER_DOUBLING = 8;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BINS);
+
+    public void record(long millis) {
+        counts.incrementAndGet(binOf(millis));
+    }
+
+    /**
+     * Soma este histograma no acumulador (mesmo tamanho, BINS)
+     */
+    void addTo(long[] totals) {
+        for (int i = 0; i < BINS; i++) {
+            totals[i] += counts.get(i);
+        }
+    }
+
+    static int binOf(long millis) {
+        if (millis <= MIN_MILLIS) {
+            return 0;
+        }
+        double doublings = Math.log((double) millis / MIN_MILLIS) / Math.log(2);
+        return (int) Math.min(BINS - 1, Math.ceil(doublings * STEPS_PER_DOUBLING));
+    }
+
+    /**
+     * Limite superior da faixa, usado como valor do percentil
+     */
+    static long upperBoundMillis(int bin) {
+        return Math.round(MIN_MILLIS * Math.pow(2, (double) bin / STEPS_PER_DOUBLING));
+    }
+
+    /**
+     * Percentil (0..1) sobre contagens acumuladas; null sem amostras
+     */
+    static Long percentile(long[] totals, long samples, double quantile) {
+        if (samples == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(quantile * samples);
+        long seen = 0;
+        for (int i = 0; i < BINS; i++) {
+            seen += totals[i];
+            if (seen >= rank) {
+                return upperBoundMillis(i);
+            }
+        }
+        return upperBoundMillis(BINS - 1);
+    }
+}
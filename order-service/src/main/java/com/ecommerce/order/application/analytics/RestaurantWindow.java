@@ -0,0 +1,103 @@
+package com.ecommerce.order.application.analytics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Janela deslizante de um restaurante: anel de buckets de tamanho fixo, cada um com
+ * contadores e histograma de preparo. Gravação sem lock: o bucket vencido é trocado
+ * por CAS; a leitura soma só os buckets ainda dentro da janela.
+ */
+public final class RestaurantWindow {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public RestaurantWindow(long bucketMillis, int bucketCount) {
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = bucketCount;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    public void recordCreated(long timestamp) {
+        bucketAt(timestamp).created.increment();
+    }
+
+    public void recordDelivered(long timestamp) {
+        bucketAt(timestamp).delivered.increment();
+    }
+
+    public void recordCancelled(long timestamp) {
+        bucketAt(timestamp).cancelled.increment();
+    }
+
+    public void recordPreparation(long timestamp, long millis) {
+        bucketAt(timestamp).preparation.record(millis);
+    }
+
+    public Snapshot snapshot(long now) {
+        long oldestEpoch = now / bucketMillis - bucketCount + 1;
+        long created = 0;
+        long delivered = 0;
+        long cancelled = 0;
+        long[] preparation = new long[LatencyHistogram.BINS];
+
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket == null || bucket.epoch < oldestEpoch) {
+                continue;
+            }
+            created += bucket.created.sum();
+            delivered += bucket.delivered.sum();
+            cancelled += bucket.cancelled.sum();
+            bucket.preparation.addTo(preparation);
+        }
+
+        long samples = 0;
+        for (long count : preparation) {
+            samples += count;
+        }
+        return new Snapshot(created, delivered, cancelled, samples,
+                LatencyHistogram.percentile(preparation, samples, 0.50),
+                LatencyHistogram.percentile(preparation, samples, 0.95));
+    }
+
+    /**
+     * Eventos mais velhos que a janela caem num bucket descartável, que nunca é lido
+     */
+    private Bucket bucketAt(long timestamp) {
+        long epoch = timestamp / bucketMillis;
+        int index = (int) Math.floorMod(epoch, (long) bucketCount);
+        while (true) {
+            Bucket current = buckets.get(index);
+            if (current != null && current.epoch == epoch) {
+                return current;
+            }
+            if (current != null && current.epoch > epoch) {
+                return new Bucket(epoch);
+            }
+            Bucket fresh = new Bucket(epoch);
+            if (buckets.compareAndSet(index, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    public record Snapshot(long created, long delivered, long cancelled, long preparationSamples,
+                           Long preparationP50Millis, Long preparationP95Millis) {
+    }
+
+    private static final class Bucket {
+
+        private final long epoch;
+        private final LongAdder created = new LongAdder();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LatencyHistogram preparation = new LatencyHistogram();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
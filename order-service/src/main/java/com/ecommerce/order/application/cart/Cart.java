@@ -0,0 +1,121 @@
+package com.ecommerce.order.application.cart;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Carrinho em rascunho, gravado inteiro no CartStore. Os itens já vêm com preço e
+ * nome do cardápio e os totais ficam calculados em centavos a cada alteração, então
+ * a leitura e o checkout não recalculam nada. A versão sobe a cada gravação e é
+ * usada como compare-and-set no store.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Cart {
+
+    private UUID id;
+    private UUID customerId;
+    private UUID restaurantId;
+
+    @Builder.Default
+    private List<CartItem> items = new ArrayList<>();
+
+    private long subtotalCents;
+    private int itemCount;
+
+    /** Pedido criado no checkout; o carrinho fica até vencer para repetir a resposta */
+    private UUID orderId;
+
+    private long version;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CartItem {
+        private UUID productId;
+        private String productName;
+        private int quantity;
+        private long unitPriceCents;
+        private String notes;
+
+        public long totalCents() {
+            return Math.multiplyExact(unitPriceCents, quantity);
+        }
+    }
+
+    @JsonIgnore
+    public boolean isCheckedOut() {
+        return orderId != null;
+    }
+
+    /**
+     * Mesmo produto com a mesma observação soma na quantidade; o preço passa a ser o mais recente
+     */
+    public void addItem(CartItem item) {
+        for (CartItem current : items) {
+            if (current.getProductId().equals(item.getProductId())
+                    && Objects.equals(current.getNotes(), item.getNotes())) {
+                current.setQuantity(Math.addExact(current.getQuantity(), item.getQuantity()));
+                current.setUnitPriceCents(item.getUnitPriceCents());
+                current.setProductName(item.getProductName());
+                recalculate();
+                return;
+            }
+        }
+        items.add(item);
+        recalculate();
+    }
+
+    /**
+     * Quantidade zero remove o item; devolve false se o produto não está no carrinho
+     */
+    public boolean updateItem(UUID productId, int quantity, String notes) {
+        Iterator<CartItem> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            CartItem current = iterator.next();
+            if (current.getProductId().equals(productId)) {
+                if (quantity == 0) {
+                    iterator.remove();
+                } else {
+                    current.setQuantity(quantity);
+                    current.setNotes(notes);
+                }
+                recalculate();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean removeItem(UUID productId) {
+        boolean removed = items.removeIf(item -> item.getProductId().equals(productId));
+        recalculate();
+        return removed;
+    }
+
+    private void recalculate() {
+        long subtotal = 0;
+        int count = 0;
+        for (CartItem item : items) {
+            subtotal = Math.addExact(subtotal, item.totalCents());
+            count += item.getQuantity();
+        }
+        this.subtotalCents = subtotal;
+        this.itemCount = count;
+    }
+}
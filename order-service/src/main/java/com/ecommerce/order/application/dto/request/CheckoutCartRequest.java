@@ -0,0 +1,50 @@
+package com.ecommerce.order.application.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Dados do pedido que não estão no carrinho; cliente, restaurante e itens vêm dele
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutCartRequest {
+
+    // Endereço de entrega
+    @NotBlank(message = "Street is required")
+    private String deliveryStreet;
+
+    @NotBlank(message = "Number is required")
+    private String deliveryNumber;
+
+    private String deliveryComplement;
+
+    @NotBlank(message = "Neighborhood is required")
+    private String deliveryNeighborhood;
+
+    @NotBlank(message = "City is required")
+    private String deliveryCity;
+
+    @NotBlank(message = "State is required")
+    @Size(min = 2, max = 2, message = "State must be 2 characters")
+    private String deliveryState;
+
+    @NotBlank(message = "ZIP code is required")
+    private String deliveryZipCode;
+
+    private BigDecimal deliveryLatitude;
+    private BigDecimal deliveryLongitude;
+
+    // Opcionais
+    private String notes;
+    private BigDecimal deliveryFee;
+    private String couponCode;
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.order.application.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateCartRequest {
+
+    @NotNull(message = "Customer ID is required")
+    private UUID customerId;
+
+    @NotNull(message = "Restaurant ID is required")
+    private UUID restaurantId;
+}
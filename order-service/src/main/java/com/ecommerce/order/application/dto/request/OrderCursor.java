@@ -0,0 +1,64 @@
+package com.ecommerce.order.application.dto.request;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Posição de paginação por keyset em (created_at, id).
+ * Trafega para o cliente como um token opaco em base64url.
+ */
+public record OrderCursor(LocalDateTime createdAt, UUID id) {
+
+    /** Mesma ordem do PostgreSQL: UUID comparado como bytes sem sinal */
+    public static final Comparator<OrderCursor> KEY_ORDER = Comparator
+            .comparing(OrderCursor::createdAt)
+            .thenComparing(OrderCursor::id, (a, b) -> {
+                int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+                return msb != 0 ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            });
+
+    private static final String SEPARATOR = "|";
+
+    private static final OrderCursor NEWEST =
+            new OrderCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1L, -1L));
+    private static final OrderCursor OLDEST =
+            new OrderCursor(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0L, 0L));
+
+    /**
+     * Cursor anterior ao pedido mais recente (primeira página em ordem decrescente)
+     */
+    public static OrderCursor newest() {
+        return NEWEST;
+    }
+
+    /**
+     * Cursor anterior ao pedido mais antigo (primeira página em ordem crescente)
+     */
+    public static OrderCursor oldest() {
+        return OLDEST;
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new OrderCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
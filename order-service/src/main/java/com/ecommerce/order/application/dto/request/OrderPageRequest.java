@@ -0,0 +1,38 @@
+package com.ecommerce.order.application.dto.request;
+
+/**
+ * Página de uma listagem de pedidos: cursor opcional + limite de linhas.
+ */
+public record OrderPageRequest(OrderCursor cursor, int limit) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    public static OrderPageRequest of(String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        return new OrderPageRequest(decode(cursor), size);
+    }
+
+    /**
+     * Leitura contínua a partir do cursor, sem limite de linhas (modo NDJSON)
+     */
+    public static OrderPageRequest stream(String cursor) {
+        return new OrderPageRequest(decode(cursor), Integer.MAX_VALUE);
+    }
+
+    public static OrderPageRequest first(int limit) {
+        return new OrderPageRequest(null, limit);
+    }
+
+    public OrderCursor cursorOrNewest() {
+        return cursor != null ? cursor : OrderCursor.newest();
+    }
+
+    public OrderCursor cursorOrOldest() {
+        return cursor != null ? cursor : OrderCursor.oldest();
+    }
+
+    private static OrderCursor decode(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+    }
+}
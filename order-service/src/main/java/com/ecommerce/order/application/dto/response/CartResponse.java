@@ -0,0 +1,31 @@
+package com.ecommerce.order.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartResponse {
+
+    private UUID id;
+    private UUID customerId;
+    private UUID restaurantId;
+    private List<CartItemResponse> items;
+    private Integer itemCount;
+    private BigDecimal subtotal;
+
+    // Preenchido depois do checkout
+    private UUID orderId;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
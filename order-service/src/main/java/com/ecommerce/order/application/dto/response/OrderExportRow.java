@@ -0,0 +1,33 @@
+package com.ecommerce.order.application.dto.response;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Linha do export contábil: só as colunas de orders, sem itens
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderExportRow {
+
+    private UUID id;
+    private UUID customerId;
+    private OrderStatus status;
+    private BigDecimal subtotal;
+    private BigDecimal deliveryFee;
+    private BigDecimal discount;
+    private BigDecimal total;
+    private LocalDateTime createdAt;
+    private LocalDateTime deliveredAt;
+    private LocalDateTime cancelledAt;
+    private String cancellationReason;
+}
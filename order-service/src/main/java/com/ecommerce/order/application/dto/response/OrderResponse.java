@@ -57,4 +57,7 @@ public class OrderResponse {
     private LocalDateTime cancelledAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /** Versão do pedido; cresce a cada mudança */
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.ecommerce.order.application.dto.response;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusChangeResponse {
+
+    private OrderStatus fromStatus;
+    private OrderStatus toStatus;
+    private String reason;
+    private LocalDateTime changedAt;
+
+    /** Tempo em fromStatus até esta transição; nulo na criação */
+    private Long dwellMillis;
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.order.application.dto.response;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Mudança de status enviada aos clientes conectados via SSE.
+ * Lida diretamente dos eventos publicados em order-events.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OrderStatusUpdate {
+
+    public static final String SNAPSHOT = "SNAPSHOT";
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_CANCELLED = "ORDER_CANCELLED";
+
+    private String eventType;
+    private UUID orderId;
+    private UUID customerId;
+    private UUID restaurantId;
+    private OrderStatus previousStatus;
+
+    @JsonAlias("newStatus")
+    private OrderStatus status;
+
+    private String reason;
+    private Long timestamp;
+
+    /** Tempo entre PREPARING e READY; só vem nos eventos de pedido pronto */
+    private Long preparationMillis;
+
+    /** Versão do pedido; nula em eventos de produtores anteriores ao campo */
+    private Long version;
+
+    public static OrderStatusUpdate snapshot(OrderResponse order) {
+        return OrderStatusUpdate.builder()
+                .eventType(SNAPSHOT)
+                .orderId(order.getId())
+                .customerId(order.getCustomerId())
+                .restaurantId(order.getRestaurantId())
+                .status(order.getStatus())
+                .reason(order.getCancellationReason())
+                .version(order.getVersion())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    /**
+     * O evento de cancelamento não carrega o status; ele é implícito
+     */
+    public OrderStatus getStatus() {
+        return status == null && ORDER_CANCELLED.equals(eventType) ? OrderStatus.CANCELLED : status;
+    }
+
+    public boolean isFinal() {
+        OrderStatus current = getStatus();
+        return current != null && current.isFinal();
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.order.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Métricas de um restaurante na janela deslizante mais recente.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantAnalyticsResponse {
+
+    private UUID restaurantId;
+    private Long windowSeconds;
+    private Long ordersCreated;
+    private Long ordersDelivered;
+    private Long ordersCancelled;
+    private Double ordersPerMinute;
+
+    /** Cancelados sobre finalizados (entregues + cancelados) na janela */
+    private Double cancellationRate;
+
+    private Long preparationSamples;
+    private Long preparationTimeP50Seconds;
+    private Long preparationTimeP95Seconds;
+}
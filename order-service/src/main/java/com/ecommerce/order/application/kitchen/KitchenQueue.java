@@ -0,0 +1,107 @@
+package com.ecommerce.order.application.kitchen;
+
+import com.ecommerce.order.application.dto.request.OrderCursor;
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.domain.entity.OrderStatus;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Pedidos ativos de um restaurante, agrupados por status e ordenados por (createdAt, id)
+ * como o keyset de order_views. Cada pedido guarda a versão do documento, então
+ * atualizações fora de ordem não voltam o pedido para um estado anterior.
+ */
+public class KitchenQueue {
+
+    public static final Set<OrderStatus> ACTIVE_STATUSES =
+            EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.READY);
+
+    /** Versões de pedidos que saíram da fila, para recusar documentos antigos que cheguem depois */
+    private static final int MAX_TOMBSTONES = 1024;
+
+    private record Entry(OrderCursor key, OrderStatus status, long version) {
+    }
+
+    private final Map<OrderStatus, TreeMap<OrderCursor, OrderResponse>> byStatus = new EnumMap<>(OrderStatus.class);
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<UUID, Long> tombstones = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+            return size() > MAX_TOMBSTONES;
+        }
+    };
+
+    public KitchenQueue() {
+        ACTIVE_STATUSES.forEach(status -> byStatus.put(status, new TreeMap<>(OrderCursor.KEY_ORDER)));
+    }
+
+    /**
+     * Insere, move de status ou remove o pedido; ignora versões mais antigas que a conhecida
+     */
+    public synchronized void apply(OrderResponse order, long version) {
+        UUID id = order.getId();
+        Entry current = entries.get(id);
+        Long removedAt = tombstones.get(id);
+        if ((current != null && current.version() >= version) || (removedAt != null && removedAt >= version)) {
+            return;
+        }
+        if (current != null) {
+            byStatus.get(current.status()).remove(current.key());
+        }
+
+        if (ACTIVE_STATUSES.contains(order.getStatus())) {
+            OrderCursor key = new OrderCursor(order.getCreatedAt(), id);
+            byStatus.get(order.getStatus()).put(key, order);
+            entries.put(id, new Entry(key, order.getStatus(), version));
+        } else {
+            entries.remove(id);
+            tombstones.put(id, version);
+        }
+    }
+
+    /**
+     * Até {@code limit} pedidos depois do cursor, do mais antigo para o mais novo,
+     * intercalando os grupos de status. Custa O(k) no número de pedidos devolvidos.
+     */
+    public synchronized List<OrderResponse> page(OrderCursor after, int limit) {
+        List<Iterator<Map.Entry<OrderCursor, OrderResponse>>> iterators = new ArrayList<>(byStatus.size());
+        List<Map.Entry<OrderCursor, OrderResponse>> heads = new ArrayList<>(byStatus.size());
+        for (TreeMap<OrderCursor, OrderResponse> orders : byStatus.values()) {
+            Iterator<Map.Entry<OrderCursor, OrderResponse>> iterator = orders.tailMap(after, false).entrySet().iterator();
+            iterators.add(iterator);
+            heads.add(iterator.hasNext() ? iterator.next() : null);
+        }
+
+        List<OrderResponse> page = new ArrayList<>(Math.min(limit, entries.size()));
+        while (page.size() < limit) {
+            int next = -1;
+            for (int i = 0; i < heads.size(); i++) {
+                if (heads.get(i) != null
+                        && (next < 0 || OrderCursor.KEY_ORDER.compare(heads.get(i).getKey(), heads.get(next).getKey()) < 0)) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            page.add(heads.get(next).getValue());
+            Iterator<Map.Entry<OrderCursor, OrderResponse>> iterator = iterators.get(next);
+            heads.set(next, iterator.hasNext() ? iterator.next() : null);
+        }
+        return page;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.order.application.mapper;
+
+import com.ecommerce.order.application.cart.Cart;
+import com.ecommerce.order.application.dto.request.CheckoutCartRequest;
+import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.application.dto.response.CartItemResponse;
+import com.ecommerce.order.application.dto.response.CartResponse;
+import com.ecommerce.order.domain.valueobject.Money;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CartMapper {
+
+    public Cart.CartItem toCartItem(OrderItemRequest pricedItem) {
+        return Cart.CartItem.builder()
+                .productId(pricedItem.getProductId())
+                .productName(pricedItem.getProductName())
+                .quantity(pricedItem.getQuantity())
+                .unitPriceCents(Money.of(pricedItem.getUnitPrice()).cents())
+                .notes(pricedItem.getNotes())
+                .build();
+    }
+
+    public CreateOrderRequest toCreateOrderRequest(Cart cart, CheckoutCartRequest checkout) {
+        return CreateOrderRequest.builder()
+                .customerId(cart.getCustomerId())
+                .restaurantId(cart.getRestaurantId())
+                .deliveryStreet(checkout.getDeliveryStreet())
+                .deliveryNumber(checkout.getDeliveryNumber())
+                .deliveryComplement(checkout.getDeliveryComplement())
+                .deliveryNeighborhood(checkout.getDeliveryNeighborhood())
+                .deliveryCity(checkout.getDeliveryCity())
+                .deliveryState(checkout.getDeliveryState())
+                .deliveryZipCode(checkout.getDeliveryZipCode())
+                .deliveryLatitude(checkout.getDeliveryLatitude())
+                .deliveryLongitude(checkout.getDeliveryLongitude())
+                .items(cart.getItems().stream().map(this::toOrderItemRequest).toList())
+                .notes(checkout.getNotes())
+                .deliveryFee(checkout.getDeliveryFee())
+                .couponCode(checkout.getCouponCode())
+                .build();
+    }
+
+    public CartResponse toResponse(Cart cart) {
+        return CartResponse.builder()
+                .id(cart.getId())
+                .customerId(cart.getCustomerId())
+                .restaurantId(cart.getRestaurantId())
+                .items(cart.getItems().stream().map(this::toItemResponse).toList())
+                .itemCount(cart.getItemCount())
+                .subtotal(Money.ofCents(cart.getSubtotalCents()).toBigDecimal())
+                .orderId(cart.getOrderId())
+                .createdAt(cart.getCreatedAt())
+                .updatedAt(cart.getUpdatedAt())
+                .build();
+    }
+
+    private OrderItemRequest toOrderItemRequest(Cart.CartItem item) {
+        return OrderItemRequest.builder()
+                .productId(item.getProductId())
+                .productName(item.getProductName())
+                .quantity(item.getQuantity())
+                .unitPrice(Money.ofCents(item.getUnitPriceCents()).toBigDecimal())
+                .notes(item.getNotes())
+                .build();
+    }
+
+    private CartItemResponse toItemResponse(Cart.CartItem item) {
+        return CartItemResponse.builder()
+                .productId(item.getProductId())
+                .productName(item.getProductName())
+                .quantity(item.getQuantity())
+                .unitPrice(Money.ofCents(item.getUnitPriceCents()).toBigDecimal())
+                .totalPrice(Money.ofCents(item.totalCents()).toBigDecimal())
+                .notes(item.getNotes())
+                .build();
+    }
+}
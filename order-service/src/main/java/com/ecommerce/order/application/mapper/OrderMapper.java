@@ -4,11 +4,15 @@ import com.ecommerce.order.application.dto.request.CreateOrderRequest;
 import com.ecommerce.order.application.dto.request.OrderItemRequest;
 import com.ecommerce.order.application.dto.response.OrderItemResponse;
 import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.dto.response.OrderStatusChangeResponse;
 import com.ecommerce.order.domain.entity.Order;
 import com.ecommerce.order.domain.entity.OrderItem;
+import com.ecommerce.order.domain.entity.OrderStatusChange;
+import com.ecommerce.order.domain.valueobject.Money;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,7 +32,7 @@ public class OrderMapper {
                 .deliveryZipCode(request.getDeliveryZipCode())
                 .deliveryLatitude(request.getDeliveryLatitude())
                 .deliveryLongitude(request.getDeliveryLongitude())
-                .deliveryFee(request.getDeliveryFee() != null ? request.getDeliveryFee() : BigDecimal.ZERO)
+                .deliveryFee(request.getDeliveryFee() != null ? Money.of(request.getDeliveryFee()) : Money.ZERO)
                 .notes(request.getNotes())
                 .build();
     }
@@ -40,7 +44,7 @@ public class OrderMapper {
                 .productId(request.getProductId())
                 .productName(request.getProductName())
                 .quantity(request.getQuantity())
-                .unitPrice(request.getUnitPrice())
+                .unitPrice(Money.of(request.getUnitPrice()))
                 .notes(request.getNotes())
                 .build();
         item.calculateTotalPrice();
@@ -73,10 +77,10 @@ public class OrderMapper {
                 .fullDeliveryAddress(order.getFullDeliveryAddress())
                 .deliveryLatitude(order.getDeliveryLatitude())
                 .deliveryLongitude(order.getDeliveryLongitude())
-                .subtotal(order.getSubtotal())
-                .deliveryFee(order.getDeliveryFee())
-                .discount(order.getDiscount())
-                .total(order.getTotal())
+                .subtotal(Money.toBigDecimal(order.getSubtotal()))
+                .deliveryFee(Money.toBigDecimal(order.getDeliveryFee()))
+                .discount(Money.toBigDecimal(order.getDiscount()))
+                .total(Money.toBigDecimal(order.getTotal()))
                 .items(itemResponses)
                 .notes(order.getNotes())
                 .cancellationReason(order.getCancellationReason())
@@ -89,6 +93,7 @@ public class OrderMapper {
                 .cancelledAt(order.getCancelledAt())
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
+                .version(order.getVersion())
                 .build();
     }
 
@@ -98,9 +103,21 @@ public class OrderMapper {
                 .productId(item.getProductId())
                 .productName(item.getProductName())
                 .quantity(item.getQuantity())
-                .unitPrice(item.getUnitPrice())
-                .totalPrice(item.getTotalPrice())
+                .unitPrice(Money.toBigDecimal(item.getUnitPrice()))
+                .totalPrice(Money.toBigDecimal(item.getTotalPrice()))
                 .notes(item.getNotes())
                 .build();
     }
-}
\ No newline at end of file
+
+    public OrderStatusChangeResponse toStatusChangeResponse(OrderStatusChange change, LocalDateTime previousChangeAt) {
+        return OrderStatusChangeResponse.builder()
+                .fromStatus(change.getFromStatus())
+                .toStatus(change.getToStatus())
+                .reason(change.getReason())
+                .changedAt(change.getChangedAt())
+                .dwellMillis(previousChangeAt != null
+                        ? Duration.between(previousChangeAt, change.getChangedAt()).toMillis()
+                        : null)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.order.application.mapper;
+
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.infrastructure.projection.OrderView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Converte OrderResponse de/para o documento JSON guardado em order_views
+ * (e nas respostas gravadas das chaves de idempotência).
+ */
+@Component
+public class OrderViewMapper {
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public OrderViewMapper(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(OrderResponse.class);
+        this.writer = objectMapper.writerFor(OrderResponse.class);
+    }
+
+    public OrderView toView(OrderResponse response, Long version) {
+        return OrderView.builder()
+                .id(response.getId())
+                .customerId(response.getCustomerId())
+                .restaurantId(response.getRestaurantId())
+                .status(response.getStatus())
+                .createdAt(response.getCreatedAt())
+                .version(version)
+                .document(toDocument(response))
+                .build();
+    }
+
+    /**
+     * A versão vem da coluna: documentos gravados antes do campo não a trazem
+     */
+    public OrderResponse toResponse(OrderView view) {
+        OrderResponse response = fromDocument(view.getDocument());
+        response.setVersion(view.getVersion());
+        return response;
+    }
+
+    public byte[] toDocument(OrderResponse response) {
+        try {
+            return writer.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to render order document " + response.getId(), e);
+        }
+    }
+
+    public OrderResponse fromDocument(byte[] document) {
+        try {
+            return reader.readValue(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read order document", e);
+        }
+    }
+}
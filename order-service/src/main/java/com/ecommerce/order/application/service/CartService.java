@@ -0,0 +1,174 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.cart.Cart;
+import com.ecommerce.order.application.dto.request.CheckoutCartRequest;
+import com.ecommerce.order.application.dto.request.CreateCartRequest;
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.application.dto.request.UpdateCartItemRequest;
+import com.ecommerce.order.application.dto.response.CartResponse;
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.mapper.CartMapper;
+import com.ecommerce.order.domain.exception.CartNotFoundException;
+import com.ecommerce.order.domain.exception.ConcurrentCartUpdateException;
+import com.ecommerce.order.domain.exception.InvalidOrderItemException;
+import com.ecommerce.order.domain.exception.InvalidOrderStateException;
+import com.ecommerce.order.domain.exception.RestaurantUnavailableException;
+import com.ecommerce.order.infrastructure.cart.CartStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Carrinhos em rascunho antes do checkout. Cada item é validado e precificado pelo
+ * índice de menu quando entra no carrinho, e os totais ficam gravados junto, então o
+ * checkout só promove o carrinho a pedido. A criação do pedido ainda confere preço e
+ * disponibilidade, mas contra o índice em memória, sem ida ao menu-service.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartService {
+
+    private static final int MAX_CONFLICT_RETRIES = 5;
+    private static final String CART_IDEMPOTENCY_PREFIX = "cart:";
+
+    private final CartStore cartStore;
+    private final CartMapper cartMapper;
+    private final MenuPriceService menuPriceService;
+    private final RestaurantAvailabilityService restaurantAvailability;
+    private final OrderService orderService;
+
+    public Mono<CartResponse> createCart(CreateCartRequest request) {
+        if (!restaurantAvailability.isAcceptingOrders(request.getRestaurantId())) {
+            return Mono.error(new RestaurantUnavailableException(request.getRestaurantId()));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Cart cart = Cart.builder()
+                .id(UUID.randomUUID())
+                .customerId(request.getCustomerId())
+                .restaurantId(request.getRestaurantId())
+                .version(1)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        // Versão 0 garante que o id ainda não existe; colisão não sobrescreve outro carrinho
+        return cartStore.save(cart, 0)
+                .flatMap(saved -> saved
+                        ? Mono.just(cart)
+                        : Mono.error(new ConcurrentCartUpdateException(cart.getId())))
+                .map(cartMapper::toResponse)
+                .doOnSuccess(c -> log.info("Cart created: {}", c.getId()));
+    }
+
+    public Mono<CartResponse> getCart(UUID id) {
+        return findCart(id).map(cartMapper::toResponse);
+    }
+
+    /**
+     * O item é precificado pelo restaurante do carrinho; se o carrinho mudou no meio,
+     * a operação inteira é refeita sobre a versão nova
+     */
+    public Mono<CartResponse> addItem(UUID id, OrderItemRequest item) {
+        return update(id, cart -> menuPriceService.reprice(cart.getRestaurantId(), List.of(item))
+                .map(priced -> {
+                    cart.addItem(cartMapper.toCartItem(priced.get(0)));
+                    return cart;
+                }));
+    }
+
+    public Mono<CartResponse> updateItem(UUID id, UUID productId, UpdateCartItemRequest request) {
+        return update(id, cart -> {
+            if (!cart.updateItem(productId, request.getQuantity(), request.getNotes())) {
+                return Mono.error(new InvalidOrderItemException(productId, "not in cart"));
+            }
+            return Mono.just(cart);
+        });
+    }
+
+    public Mono<CartResponse> removeItem(UUID id, UUID productId) {
+        return update(id, cart -> {
+            if (!cart.removeItem(productId)) {
+                return Mono.error(new InvalidOrderItemException(productId, "not in cart"));
+            }
+            return Mono.just(cart);
+        });
+    }
+
+    public Mono<Void> deleteCart(UUID id) {
+        return cartStore.delete(id);
+    }
+
+    /**
+     * Promove o carrinho a pedido. Sem Idempotency-Key, o id do carrinho serve de chave,
+     * então checkouts repetidos ou concorrentes do mesmo carrinho devolvem o mesmo pedido.
+     * O carrinho fica marcado com o pedido até vencer.
+     */
+    public Mono<OrderResponse> checkout(UUID id, CheckoutCartRequest request, String idempotencyKey) {
+        return findCart(id).flatMap(cart -> {
+            if (cart.isCheckedOut()) {
+                return orderService.getOrderById(cart.getOrderId());
+            }
+            if (cart.getItems().isEmpty()) {
+                return Mono.error(new IllegalArgumentException("Cart " + id + " is empty"));
+            }
+            String key = idempotencyKey != null && !idempotencyKey.isBlank()
+                    ? idempotencyKey
+                    : CART_IDEMPOTENCY_PREFIX + id;
+            return orderService.createOrder(cartMapper.toCreateOrderRequest(cart, request), key)
+                    .flatMap(order -> markCheckedOut(id, order.getId()).thenReturn(order));
+        });
+    }
+
+    private Mono<Cart> findCart(UUID id) {
+        return cartStore.find(id)
+                .switchIfEmpty(Mono.error(new CartNotFoundException(id)));
+    }
+
+    private Mono<CartResponse> update(UUID id, Function<Cart, Mono<Cart>> change) {
+        return compareAndSet(id, cart -> {
+            if (cart.isCheckedOut()) {
+                return Mono.error(new InvalidOrderStateException("Cart " + id + " was already checked out"));
+            }
+            return change.apply(cart);
+        }).map(cartMapper::toResponse);
+    }
+
+    private Mono<Void> markCheckedOut(UUID id, UUID orderId) {
+        return compareAndSet(id, cart -> {
+                    cart.setOrderId(orderId);
+                    return Mono.just(cart);
+                })
+                .doOnSuccess(c -> log.info("Cart {} checked out as order {}", id, orderId))
+                .then();
+    }
+
+    /**
+     * Lê, altera e grava só se ninguém gravou entre a leitura e a escrita; em conflito relê
+     */
+    private Mono<Cart> compareAndSet(UUID id, Function<Cart, Mono<Cart>> change) {
+        return Mono.defer(() -> findCart(id)
+                        .flatMap(cart -> {
+                            long expectedVersion = cart.getVersion();
+                            return change.apply(cart)
+                                    .flatMap(changed -> {
+                                        changed.setVersion(expectedVersion + 1);
+                                        changed.setUpdatedAt(LocalDateTime.now());
+                                        return cartStore.save(changed, expectedVersion)
+                                                .flatMap(saved -> saved
+                                                        ? Mono.just(changed)
+                                                        : Mono.error(new ConcurrentCartUpdateException(id)));
+                                    });
+                        }))
+                .retryWhen(Retry.max(MAX_CONFLICT_RETRIES)
+                        .filter(ConcurrentCartUpdateException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+}
@@ -0,0 +1,189 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.application.service.RestaurantAvailabilityService.Availability;
+import com.ecommerce.order.application.service.RestaurantAvailabilityService.DeliveryRules;
+import com.ecommerce.order.domain.exception.CheckoutRejectedException;
+import com.ecommerce.order.domain.valueobject.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Verificações do checkout antes da gravação do pedido: restaurante aberto, raio de
+ * entrega, limite por item e pedido mínimo. Aberto/pausado vem da visão local de
+ * restaurantes; as regras de entrega (raio e pedido mínimo) vão ao restaurant-service
+ * em cache miss, com check-timeout, e se a consulta demorar ou falhar valem as regras
+ * locais que houver. Restaurante fora da visão local usa o aberto/pausado dessa mesma
+ * consulta, e sem ela o pedido é recusado. Limite por item e pedido mínimo esperam o
+ * preço do menu, que o pedido precisa de qualquer forma, então nenhuma verificação é pulada.
+ */
+@Slf4j
+@Service
+public class CheckoutValidationService {
+
+    static final String RESTAURANT_OPEN = "restaurant-open";
+    static final String DELIVERY_RADIUS = "delivery-radius";
+    static final String MAX_QUANTITY = "max-quantity";
+    static final String MIN_ORDER_VALUE = "min-order-value";
+
+    private static final List<String> CHECKS = List.of(RESTAURANT_OPEN, DELIVERY_RADIUS, MAX_QUANTITY, MIN_ORDER_VALUE);
+    private static final double EARTH_RADIUS_KM = 6371;
+
+    private final RestaurantAvailabilityService restaurantAvailability;
+    private final MenuPriceService menuPriceService;
+    private final Duration checkTimeout;
+
+    public CheckoutValidationService(RestaurantAvailabilityService restaurantAvailability,
+                                     MenuPriceService menuPriceService,
+                                     @Value("${order.checkout.check-timeout:250ms}") Duration checkTimeout) {
+        this.restaurantAvailability = restaurantAvailability;
+        this.menuPriceService = menuPriceService;
+        this.checkTimeout = checkTimeout;
+    }
+
+    private record Failure(String check, String reason) {
+    }
+
+    /**
+     * Devolve os itens com preço e nome do cardápio, ou CheckoutRejectedException com
+     * todas as verificações que falharam
+     */
+    public Mono<List<OrderItemRequest>> validate(CreateOrderRequest request) {
+        UUID restaurantId = request.getRestaurantId();
+        Optional<Availability> local = restaurantAvailability.current(restaurantId);
+        Mono<Optional<Availability>> restaurant = restaurant(restaurantId, local);
+        Mono<Optional<DeliveryRules>> rules = restaurant.map(r -> r.map(Availability::rules));
+        Mono<List<OrderItemRequest>> priced = menuPriceService.reprice(restaurantId, request.getItems()).cache();
+
+        return Flux.merge(
+                        check(RESTAURANT_OPEN, local.isPresent()
+                                ? Mono.justOrEmpty(closedReason(local.get()))
+                                : restaurant.mapNotNull(this::unknownOrClosedReason)),
+                        check(DELIVERY_RADIUS, rules.mapNotNull(r -> r.map(d -> radiusReason(d, request)).orElse(null))),
+                        check(MAX_QUANTITY, priced.mapNotNull(this::quantityReason)),
+                        check(MIN_ORDER_VALUE, Mono.zip(rules, priced)
+                                .mapNotNull(t -> t.getT1().map(d -> minOrderReason(d, t.getT2())).orElse(null))))
+                .collectMap(Failure::check, Failure::reason)
+                .flatMap(failures -> failures.isEmpty()
+                        ? priced
+                        : Mono.error(new CheckoutRejectedException(restaurantId, inCheckOrder(failures))));
+    }
+
+    /**
+     * Estado completo do restaurante; em timeout ou erro da consulta remota, o da visão local
+     */
+    private Mono<Optional<Availability>> restaurant(UUID restaurantId, Optional<Availability> local) {
+        Mono<Optional<Availability>> fallback = Mono.just(local);
+        return restaurantAvailability.lookup(restaurantId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .timeout(checkTimeout, Mono.defer(() -> {
+                    log.warn("Restaurant {} lookup timed out after {}, using local state", restaurantId, checkTimeout);
+                    return fallback;
+                }))
+                .onErrorResume(error -> {
+                    log.warn("Restaurant {} lookup failed, using local state: {}", restaurantId, error.getMessage());
+                    return fallback;
+                })
+                .cache();
+    }
+
+    private static Mono<Failure> check(String name, Mono<String> reason) {
+        return reason.map(r -> new Failure(name, r));
+    }
+
+    private static String closedReason(Availability restaurant) {
+        return restaurant.isAcceptingOrders() ? null : "restaurant is not accepting orders";
+    }
+
+    /**
+     * Nem visão local nem resposta do restaurant-service: recusa. Sem consulta remota
+     * configurada a visão local é a única fonte, e restaurante desconhecido passa.
+     */
+    private String unknownOrClosedReason(Optional<Availability> restaurant) {
+        if (restaurant.isPresent()) {
+            return closedReason(restaurant.get());
+        }
+        return restaurantAvailability.hasRemoteFallback() ? "restaurant availability is unknown" : null;
+    }
+
+    private static String radiusReason(DeliveryRules rules, CreateOrderRequest request) {
+        if (rules == null || rules.deliveryRadiusKm() == null || rules.latitude() == null || rules.longitude() == null
+                || request.getDeliveryLatitude() == null || request.getDeliveryLongitude() == null) {
+            return null;
+        }
+        double distance = distanceKm(rules.latitude().doubleValue(), rules.longitude().doubleValue(),
+                request.getDeliveryLatitude().doubleValue(), request.getDeliveryLongitude().doubleValue());
+        if (distance <= rules.deliveryRadiusKm().doubleValue()) {
+            return null;
+        }
+        return String.format(Locale.ROOT, "address is %.1f km away, delivery radius is %s km",
+                distance, rules.deliveryRadiusKm().toPlainString());
+    }
+
+    /**
+     * O mesmo produto pode vir em mais de uma linha (observações diferentes): o limite vale para a soma
+     */
+    private String quantityReason(List<OrderItemRequest> items) {
+        Map<UUID, Integer> quantities = items.stream()
+                .collect(Collectors.toMap(OrderItemRequest::getProductId, OrderItemRequest::getQuantity,
+                        Integer::sum, LinkedHashMap::new));
+        String exceeded = quantities.entrySet().stream()
+                .filter(e -> {
+                    Integer max = menuPriceService.maxQuantityPerOrder(e.getKey());
+                    return max != null && e.getValue() > max;
+                })
+                .map(e -> e.getKey() + " quantity " + e.getValue() + " exceeds "
+                        + menuPriceService.maxQuantityPerOrder(e.getKey()))
+                .collect(Collectors.joining("; "));
+        return exceeded.isEmpty() ? null : exceeded;
+    }
+
+    private static String minOrderReason(DeliveryRules rules, List<OrderItemRequest> items) {
+        if (rules == null || rules.minOrderValue() == null) {
+            return null;
+        }
+        long subtotalCents = 0;
+        for (OrderItemRequest item : items) {
+            if (item.getUnitPrice() == null) {
+                continue;
+            }
+            subtotalCents = Math.addExact(subtotalCents, Money.of(item.getUnitPrice()).times(item.getQuantity()).cents());
+        }
+        Money subtotal = Money.ofCents(subtotalCents);
+        Money minimum = Money.of(rules.minOrderValue());
+        return minimum.isGreaterThan(subtotal) ? "subtotal " + subtotal + " is below minimum " + minimum : null;
+    }
+
+    private static Map<String, String> inCheckOrder(Map<String, String> failures) {
+        Map<String, String> ordered = new LinkedHashMap<>();
+        for (String check : CHECKS) {
+            if (failures.containsKey(check)) {
+                ordered.put(check, failures.get(check));
+            }
+        }
+        return ordered;
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
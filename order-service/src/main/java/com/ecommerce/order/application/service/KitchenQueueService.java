@@ -0,0 +1,107 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.request.OrderCursor;
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.dto.response.OrderStatusUpdate;
+import com.ecommerce.order.application.kitchen.KitchenQueue;
+import com.ecommerce.order.application.mapper.OrderViewMapper;
+import com.ecommerce.order.infrastructure.projection.OrderView;
+import com.ecommerce.order.infrastructure.repository.OrderViewRepository;
+import com.ecommerce.order.infrastructure.shard.OrderShards;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Filas de pedidos ativos dos restaurantes atendidos por esta instância. A fila é
+ * carregada de order_views na primeira leitura e depois mantida pelas escritas locais
+ * (após o commit) e pelos eventos de order-events; as leituras não vão ao banco.
+ * Restaurantes sem leitura por {@code idle} saem da memória.
+ */
+@Slf4j
+@Service
+public class KitchenQueueService {
+
+    private static final OrderCursor OLDEST = OrderCursor.oldest();
+
+    private final OrderViewRepository orderViewRepository;
+    private final OrderViewMapper orderViewMapper;
+    private final OrderShards orderShards;
+    private final Cache<UUID, Resident> queues;
+
+    /** A fila já existe durante a carga, para não perder eventos que cheguem nesse meio tempo */
+    private record Resident(KitchenQueue queue, Mono<KitchenQueue> loaded) {
+    }
+
+    public KitchenQueueService(OrderViewRepository orderViewRepository,
+                               OrderViewMapper orderViewMapper,
+                               OrderShards orderShards,
+                               @Value("${order.kitchen.max-restaurants:5000}") long maxRestaurants,
+                               @Value("${order.kitchen.idle:30m}") Duration idle) {
+        this.orderViewRepository = orderViewRepository;
+        this.orderViewMapper = orderViewMapper;
+        this.orderShards = orderShards;
+        this.queues = Caffeine.newBuilder()
+                .maximumSize(maxRestaurants)
+                .expireAfterAccess(idle)
+                .build();
+    }
+
+    public Flux<OrderResponse> getActiveOrders(UUID restaurantId, OrderCursor after, int limit) {
+        return queues.get(restaurantId, this::load).loaded()
+                .flatMapIterable(queue -> queue.page(after, limit));
+    }
+
+    /**
+     * Escrita local já confirmada; só atualiza restaurantes residentes
+     */
+    public void apply(OrderResponse order, Long version) {
+        Resident resident = queues.getIfPresent(order.getRestaurantId());
+        if (resident != null) {
+            resident.queue().apply(order, version != null ? version : 0L);
+        }
+    }
+
+    /**
+     * Evento de outra instância (ou da própria): relê o documento do pedido, que
+     * já reflete o commit, e aplica na fila se o restaurante for residente
+     */
+    public Mono<Void> refresh(OrderStatusUpdate update) {
+        if (update.getRestaurantId() == null || update.getOrderId() == null
+                || OrderStatusUpdate.SNAPSHOT.equals(update.getEventType())) {
+            return Mono.empty();
+        }
+        Resident resident = queues.getIfPresent(update.getRestaurantId());
+        if (resident == null) {
+            return Mono.empty();
+        }
+        return orderShards.on(orderShards.forOrder(update.getOrderId()), orderViewRepository.findById(update.getOrderId()))
+                .doOnNext(view -> apply(resident.queue(), view))
+                .then();
+    }
+
+    private Resident load(UUID restaurantId) {
+        KitchenQueue queue = new KitchenQueue();
+        Mono<KitchenQueue> loaded = orderShards.on(orderShards.forRestaurant(restaurantId), orderViewRepository
+                        .findActivePageByRestaurant(restaurantId, OLDEST.createdAt(), OLDEST.id(), Integer.MAX_VALUE))
+                .doOnNext(view -> apply(queue, view))
+                .then(Mono.fromSupplier(() -> {
+                    log.debug("Kitchen queue of restaurant {} loaded with {} orders", restaurantId, queue.size());
+                    return queue;
+                }))
+                .doOnError(error -> queues.invalidate(restaurantId))
+                .cache();
+        return new Resident(queue, loaded);
+    }
+
+    private void apply(KitchenQueue queue, OrderView view) {
+        queue.apply(orderViewMapper.toResponse(view), view.getVersion() != null ? view.getVersion() : 0L);
+    }
+}
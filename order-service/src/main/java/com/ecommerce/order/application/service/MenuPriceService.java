@@ -0,0 +1,155 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.domain.exception.InvalidOrderItemException;
+import com.ecommerce.order.domain.valueobject.Money;
+import com.ecommerce.order.infrastructure.client.MenuItemSummary;
+import com.ecommerce.order.infrastructure.client.MenuServiceClient;
+import com.ecommerce.order.infrastructure.messaging.event.MenuItemEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice local de preço e disponibilidade por item de menu, mantido pelos eventos de
+ * menu-events. O preço e o nome enviados pelo cliente são substituídos pelos do
+ * índice; o menu-service só é consultado para itens que ainda não estão nele.
+ */
+@Slf4j
+@Service
+public class MenuPriceService {
+
+    private static final int MAX_CONCURRENT_LOOKUPS = 8;
+
+    private final Map<UUID, MenuPrice> prices = new ConcurrentHashMap<>();
+    private final MenuServiceClient menuServiceClient;
+    private final boolean verificationEnabled;
+
+    public MenuPriceService(MenuServiceClient menuServiceClient,
+                            @Value("${order.pricing.verify:true}") boolean verificationEnabled) {
+        this.menuServiceClient = menuServiceClient;
+        this.verificationEnabled = verificationEnabled;
+    }
+
+    /**
+     * Preço em centavos; itens removidos ficam como indisponíveis para não gerar consulta remota
+     */
+    public record MenuPrice(UUID restaurantId, String name, long priceCents, boolean available,
+                            Integer maxQuantityPerOrder, LocalDateTime updatedAt) {
+    }
+
+    public void apply(MenuItemEvent event) {
+        if (event.getMenuItemId() == null || event.getEventType() == null) {
+            return;
+        }
+        MenuPrice current = prices.get(event.getMenuItemId());
+        if (event.getEventType() == MenuItemEvent.EventType.MENU_ITEM_DELETED) {
+            update(event.getMenuItemId(), new MenuPrice(event.getRestaurantId(),
+                    current != null ? current.name() : null,
+                    current != null ? current.priceCents() : 0, false,
+                    current != null ? current.maxQuantityPerOrder() : null, event.getTimestamp()));
+            return;
+        }
+        if (event.getPrice() == null) {
+            return;
+        }
+        // Eventos antigos não trazem o limite por pedido: mantém o que já se conhece
+        Integer maxQuantity = event.getMaxQuantityPerOrder() != null || current == null
+                ? event.getMaxQuantityPerOrder()
+                : current.maxQuantityPerOrder();
+        update(event.getMenuItemId(), new MenuPrice(event.getRestaurantId(), event.getName(),
+                Money.of(event.getPrice()).cents(), Boolean.TRUE.equals(event.getIsAvailable()),
+                maxQuantity, event.getTimestamp()));
+    }
+
+    /**
+     * Limite de unidades do item por pedido; null quando não há limite ou o item não está no índice
+     */
+    public Integer maxQuantityPerOrder(UUID menuItemId) {
+        MenuPrice price = prices.get(menuItemId);
+        return price != null ? price.maxQuantityPerOrder() : null;
+    }
+
+    /**
+     * Valida os itens contra o índice e devolve cópias com preço e nome do cardápio.
+     * Item desconhecido, indisponível ou de outro restaurante recusa o pedido inteiro.
+     */
+    public Mono<List<OrderItemRequest>> reprice(UUID restaurantId, List<OrderItemRequest> items) {
+        if (!verificationEnabled) {
+            return Mono.just(items);
+        }
+
+        List<UUID> misses = items.stream()
+                .map(OrderItemRequest::getProductId)
+                .filter(id -> !prices.containsKey(id))
+                .distinct()
+                .toList();
+
+        Mono<Void> lookups = misses.isEmpty()
+                ? Mono.empty()
+                : Flux.fromIterable(misses)
+                        .flatMap(menuServiceClient::findMenuItem, MAX_CONCURRENT_LOOKUPS)
+                        .doOnNext(this::load)
+                        .then();
+
+        return lookups.then(Mono.fromCallable(() -> {
+            List<OrderItemRequest> priced = new ArrayList<>(items.size());
+            for (OrderItemRequest item : items) {
+                priced.add(reprice(restaurantId, item));
+            }
+            return priced;
+        }));
+    }
+
+    private OrderItemRequest reprice(UUID restaurantId, OrderItemRequest item) {
+        MenuPrice price = prices.get(item.getProductId());
+        if (price == null) {
+            throw new InvalidOrderItemException(item.getProductId(), "not found in menu");
+        }
+        if (!price.available()) {
+            throw new InvalidOrderItemException(item.getProductId(), "not available");
+        }
+        if (!restaurantId.equals(price.restaurantId())) {
+            throw new InvalidOrderItemException(item.getProductId(), "belongs to another restaurant");
+        }
+
+        Money menuPrice = Money.ofCents(price.priceCents());
+        if (item.getUnitPrice() == null || Money.of(item.getUnitPrice()).cents() != price.priceCents()) {
+            log.debug("Repricing item {} from {} to {}", item.getProductId(), item.getUnitPrice(), menuPrice);
+        }
+        return OrderItemRequest.builder()
+                .productId(item.getProductId())
+                .productName(price.name() != null ? price.name() : item.getProductName())
+                .quantity(item.getQuantity())
+                .unitPrice(menuPrice.toBigDecimal())
+                .notes(item.getNotes())
+                .build();
+    }
+
+    private void load(MenuItemSummary item) {
+        if (item.getId() == null || item.getPrice() == null) {
+            return;
+        }
+        update(item.getId(), new MenuPrice(item.getRestaurantId(), item.getName(),
+                Money.of(item.getPrice()).cents(), Boolean.TRUE.equals(item.getIsAvailable()),
+                item.getMaxQuantityPerOrder(), item.getUpdatedAt()));
+    }
+
+    private void update(UUID menuItemId, MenuPrice candidate) {
+        prices.merge(menuItemId, candidate, (current, next) -> isStale(current, next) ? current : next);
+    }
+
+    private static boolean isStale(MenuPrice current, MenuPrice next) {
+        return current.updatedAt() != null && next.updatedAt() != null
+                && next.updatedAt().isBefore(current.updatedAt());
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.analytics.RestaurantWindow;
+import com.ecommerce.order.application.dto.response.OrderStatusUpdate;
+import com.ecommerce.order.application.dto.response.RestaurantAnalyticsResponse;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Métricas por restaurante calculadas em memória a partir dos eventos de order-events,
+ * sem consultas ao banco. Cada restaurante tem uma janela deslizante própria; a leitura
+ * custa o mesmo independentemente do volume de pedidos.
+ */
+@Service
+public class OrderAnalyticsService {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final Cache<UUID, RestaurantWindow> windows;
+
+    public OrderAnalyticsService(@Value("${order.analytics.window:10m}") Duration window,
+                                 @Value("${order.analytics.buckets:60}") int bucketCount,
+                                 @Value("${order.analytics.max-restaurants:10000}") long maxRestaurants) {
+        this.bucketCount = bucketCount;
+        this.bucketMillis = Math.max(1, window.toMillis() / bucketCount);
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxRestaurants)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+    }
+
+    public void record(OrderStatusUpdate update) {
+        if (update.getRestaurantId() == null || OrderStatusUpdate.SNAPSHOT.equals(update.getEventType())) {
+            return;
+        }
+        long timestamp = update.getTimestamp() != null ? update.getTimestamp() : System.currentTimeMillis();
+        RestaurantWindow window = windows.get(update.getRestaurantId(),
+                id -> new RestaurantWindow(bucketMillis, bucketCount));
+
+        if (OrderStatusUpdate.ORDER_CREATED.equals(update.getEventType())) {
+            window.recordCreated(timestamp);
+            return;
+        }
+
+        OrderStatus status = update.getStatus();
+        if (status == OrderStatus.CANCELLED) {
+            window.recordCancelled(timestamp);
+        } else if (status == OrderStatus.DELIVERED) {
+            window.recordDelivered(timestamp);
+        } else if (status == OrderStatus.READY && update.getPreparationMillis() != null) {
+            window.recordPreparation(timestamp, update.getPreparationMillis());
+        }
+    }
+
+    public RestaurantAnalyticsResponse getRestaurantAnalytics(UUID restaurantId) {
+        return getRestaurantAnalytics(restaurantId, System.currentTimeMillis());
+    }
+
+    RestaurantAnalyticsResponse getRestaurantAnalytics(UUID restaurantId, long now) {
+        RestaurantWindow window = windows.getIfPresent(restaurantId);
+        RestaurantWindow.Snapshot snapshot = window != null
+                ? window.snapshot(now)
+                : new RestaurantWindow.Snapshot(0, 0, 0, 0, null, null);
+
+        long windowMillis = bucketMillis * bucketCount;
+        long finished = snapshot.delivered() + snapshot.cancelled();
+
+        return RestaurantAnalyticsResponse.builder()
+                .restaurantId(restaurantId)
+                .windowSeconds(windowMillis / 1000)
+                .ordersCreated(snapshot.created())
+                .ordersDelivered(snapshot.delivered())
+                .ordersCancelled(snapshot.cancelled())
+                .ordersPerMinute(snapshot.created() * 60_000.0 / windowMillis)
+                .cancellationRate(finished == 0 ? 0.0 : (double) snapshot.cancelled() / finished)
+                .preparationSamples(snapshot.preparationSamples())
+                .preparationTimeP50Seconds(toSeconds(snapshot.preparationP50Millis()))
+                .preparationTimeP95Seconds(toSeconds(snapshot.preparationP95Millis()))
+                .build();
+    }
+
+    private static Long toSeconds(Long millis) {
+        return millis == null ? null : Math.round(millis / 1000.0);
+    }
+}
@@ -0,0 +1,141 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.request.OrderExportFormat;
+import com.ecommerce.order.application.dto.response.OrderExportRow;
+import com.ecommerce.order.infrastructure.repository.OrderRepository;
+import com.ecommerce.order.infrastructure.shard.OrderShards;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Export contábil dos pedidos de um restaurante. As linhas saem de um cursor no
+ * banco e são escritas direto em DataBuffers da resposta, em blocos de poucas
+ * linhas: a memória usada não depende de quantos pedidos o restaurante tem.
+ */
+@Slf4j
+@Service
+public class OrderExportService {
+
+    static final String CSV_HEADER = "id,customer_id,status,subtotal,delivery_fee,discount,total,"
+            + "created_at,delivered_at,cancelled_at,cancellation_reason\n";
+
+    private static final int ROWS_PER_BUFFER = 64;
+    private static final int BYTES_PER_ROW = 256;
+
+    private final OrderRepository orderRepository;
+    private final OrderShards orderShards;
+    private final ObjectWriter jsonWriter;
+    private final int fetchSize;
+
+    public OrderExportService(OrderRepository orderRepository,
+                              OrderShards orderShards,
+                              ObjectMapper objectMapper,
+                              @Value("${order.export.fetch-size:500}") int fetchSize) {
+        this.orderRepository = orderRepository;
+        this.orderShards = orderShards;
+        // O OutputStream é do DataBuffer, quem libera é a resposta
+        this.jsonWriter = objectMapper.writerFor(OrderExportRow.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Pedidos criados entre {@code from} e {@code to} (dias inclusivos). Período
+     * inválido falha aqui mesmo, antes de a resposta começar a ser escrita.
+     */
+    public Flux<DataBuffer> export(UUID restaurantId, LocalDate from, LocalDate to,
+                                   OrderExportFormat format, DataBufferFactory bufferFactory) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Export period must have from <= to");
+        }
+        log.info("Exporting orders of restaurant {} from {} to {} as {}", restaurantId, from, to, format);
+
+        Flux<DataBuffer> rows = orderShards.read(orderShards.forRestaurant(restaurantId),
+                        orderRepository.streamForExport(restaurantId, from.atStartOfDay(),
+                                to.plusDays(1).atStartOfDay(), fetchSize))
+                .buffer(ROWS_PER_BUFFER)
+                .map(chunk -> encode(chunk, format, bufferFactory));
+
+        if (format == OrderExportFormat.CSV) {
+            return Flux.concat(Mono.fromSupplier(() -> bufferFactory.wrap(CSV_HEADER.getBytes(StandardCharsets.UTF_8))), rows);
+        }
+        return rows;
+    }
+
+    private DataBuffer encode(List<OrderExportRow> chunk, OrderExportFormat format, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(chunk.size() * BYTES_PER_ROW);
+        try {
+            for (OrderExportRow row : chunk) {
+                if (format == OrderExportFormat.CSV) {
+                    buffer.write(toCsvLine(row), StandardCharsets.UTF_8);
+                } else {
+                    jsonWriter.writeValue(buffer.asOutputStream(), row);
+                    buffer.write((byte) '\n');
+                }
+            }
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+    }
+
+    static String toCsvLine(OrderExportRow row) {
+        return new StringBuilder(BYTES_PER_ROW)
+                .append(row.getId()).append(',')
+                .append(row.getCustomerId()).append(',')
+                .append(row.getStatus()).append(',')
+                .append(plain(row.getSubtotal())).append(',')
+                .append(plain(row.getDeliveryFee())).append(',')
+                .append(plain(row.getDiscount())).append(',')
+                .append(plain(row.getTotal())).append(',')
+                .append(timestamp(row.getCreatedAt())).append(',')
+                .append(timestamp(row.getDeliveredAt())).append(',')
+                .append(timestamp(row.getCancelledAt())).append(',')
+                .append(csvText(row.getCancellationReason()))
+                .append('\n')
+                .toString();
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.toPlainString() : "";
+    }
+
+    private static String timestamp(LocalDateTime value) {
+        return value != null ? value.toString() : "";
+    }
+
+    /**
+     * Texto livre: aspas quando necessário, e fórmulas de planilha neutralizadas com '
+     */
+    static String csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String text = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
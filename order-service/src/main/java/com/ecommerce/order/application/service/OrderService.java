@@ -1,98 +1,325 @@
 package com.ecommerce.order.application.service;
 
 import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.request.OrderCursor;
+import com.ecommerce.order.application.dto.request.OrderPageRequest;
 import com.ecommerce.order.application.dto.request.UpdateOrderStatusRequest;
 import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.dto.response.OrderStatusChangeResponse;
 import com.ecommerce.order.application.mapper.OrderMapper;
+import com.ecommerce.order.application.mapper.OrderViewMapper;
 import com.ecommerce.order.domain.entity.Order;
 import com.ecommerce.order.domain.entity.OrderItem;
 import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.domain.entity.OrderStatusChange;
+import com.ecommerce.order.domain.exception.ConcurrentOrderUpdateException;
+import com.ecommerce.order.domain.exception.IdempotencyKeyInProgressException;
 import com.ecommerce.order.domain.exception.OrderNotFoundException;
+import com.ecommerce.order.infrastructure.discovery.RestaurantShardResolver;
+import com.ecommerce.order.infrastructure.idempotency.IdempotencyStore;
 import com.ecommerce.order.infrastructure.messaging.producer.OrderEventProducer;
 import com.ecommerce.order.infrastructure.repository.OrderItemRepository;
 import com.ecommerce.order.infrastructure.repository.OrderRepository;
+import com.ecommerce.order.infrastructure.repository.OrderStatusHistoryRepository;
+import com.ecommerce.order.infrastructure.repository.OrderViewRepository;
+import com.ecommerce.order.infrastructure.shard.OrderShards;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final int ITEM_BATCH_SIZE = 100;
+    private static final Duration ITEM_BATCH_WINDOW = Duration.ofMillis(20);
+    private static final int MAX_CONFLICT_RETRIES = 3;
+    private static final int VIEW_BACKFILL_BATCH_SIZE = 500;
+    private static final Duration CONFLICT_RETRY_BACKOFF = Duration.ofMillis(10);
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final int MAX_IDEMPOTENCY_WAIT_RETRIES = 10;
+    private static final Duration IDEMPOTENCY_WAIT_BACKOFF = Duration.ofMillis(20);
+    private static final Duration IDEMPOTENCY_WAIT_MAX_BACKOFF = Duration.ofMillis(500);
+
+    /** Ordem das listagens por cliente e por status, a mesma do keyset em cada shard */
+    private static final Comparator<OrderResponse> NEWEST_FIRST = Comparator
+            .comparing((OrderResponse order) -> new OrderCursor(order.getCreatedAt(), order.getId()),
+                    OrderCursor.KEY_ORDER)
+            .reversed();
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderMapper orderMapper;
     private final OrderEventProducer eventProducer;
+    private final OrderViewRepository orderViewRepository;
+    private final OrderViewMapper orderViewMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final CheckoutValidationService checkoutValidation;
+    private final PendingOrderTimeoutService pendingTimeouts;
+    private final KitchenQueueService kitchenQueues;
+    private final RestaurantShardResolver restaurantShards;
+    private final OrderShards orderShards;
+    private final OrderStatusHistoryRepository statusHistoryRepository;
+
+    /** Listagens só leem de order_views depois que o backfill termina */
+    private final AtomicBoolean viewsReady = new AtomicBoolean(false);
 
-    @Transactional
+    /**
+     * As verificações do checkout (restaurante aberto, raio, limite por item, pedido
+     * mínimo) rodam sobre as visões locais antes de qualquer acesso ao banco. Preço e
+     * nome dos itens vêm do índice de menu, não do cliente. O pedido é gravado no shard
+     * do restaurante, e o id carrega esse shard.
+     */
     public Mono<OrderResponse> createOrder(CreateOrderRequest request) {
+        return createOrder(request, orderShards.newOrderId(request.getRestaurantId()));
+    }
+
+    private Mono<OrderResponse> createOrder(CreateOrderRequest request, UUID orderId) {
         log.info("Creating order for customer: {}", request.getCustomerId());
 
-        Order order = orderMapper.toEntity(request);
-        order.setId(UUID.randomUUID());
-        order.setStatus(OrderStatus.PENDING);
-        order.setCreatedAt(LocalDateTime.now());
+        int shard = orderShards.forOrder(orderId);
+        return orderShards.write(shard, checkoutValidation.validate(request)
+                .flatMap(pricedItems -> {
+                    Order order = orderMapper.toEntity(request);
+                    order.setId(orderId);
+                    order.setStatus(OrderStatus.PENDING);
 
-        List<OrderItem> items = orderMapper.toOrderItems(request.getItems(), order.getId());
-        order.setItems(items);
-        order.calculateTotals();
+                    List<OrderItem> items = orderMapper.toOrderItems(pricedItems, order.getId());
+                    order.setItems(items);
+                    order.calculateTotals();
 
-        return orderRepository.save(order)
-                .flatMap(savedOrder -> saveOrderItems(items, savedOrder))
-                .doOnSuccess(o -> {
-                    eventProducer.sendOrderCreated(o);
-                    log.info("Order created: {}", o.getId());
+                    return orderRepository.save(order)
+                            .flatMap(savedOrder -> saveOrderItems(items, savedOrder));
                 })
-                .map(orderMapper::toResponse);
+                .flatMap(o -> statusHistoryRepository.insertAll(List.of(OrderStatusChange.of(o, null, o.getCreatedAt())))
+                        .thenReturn(o))
+                .flatMap(o -> eventProducer.sendOrderCreated(o).thenReturn(o))
+                .flatMap(o -> afterCommit(() -> pendingTimeouts.schedule(o.getId(), o.getCreatedAt())).thenReturn(o))
+                .doOnSuccess(o -> log.info("Order created: {}", o.getId()))
+                .flatMap(this::project));
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Criação com Idempotency-Key: uma chave já vista devolve a resposta gravada sem
+     * criar outro pedido. A chave é do cliente e fica no shard dele, e repeti-la com
+     * outro corpo falha com IdempotencyKeyReuseException, seja qual for o restaurante.
+     * A chave é reservada com o id do pedido antes de criá-lo; a requisição concorrente
+     * que perde a reserva espera o pedido do vencedor e o devolve.
+     */
+    public Mono<OrderResponse> createOrder(CreateOrderRequest request, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return createOrder(request);
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return Mono.error(new IllegalArgumentException(
+                    "Idempotency-Key must have at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters"));
+        }
+
+        UUID customerId = request.getCustomerId();
+        byte[] requestHash = idempotencyStore.fingerprint(request);
+        int keyShard = orderShards.forCustomer(customerId);
+        return orderShards.on(keyShard, idempotencyStore.find(customerId, idempotencyKey, requestHash))
+                .flatMap(claim -> replay(claim, request, keyShard, idempotencyKey, requestHash))
+                .switchIfEmpty(Mono.defer(() -> claimAndCreate(request, keyShard, idempotencyKey, requestHash, null)))
+                .retryWhen(Retry.backoff(MAX_IDEMPOTENCY_WAIT_RETRIES, IDEMPOTENCY_WAIT_BACKOFF)
+                        .maxBackoff(IDEMPOTENCY_WAIT_MAX_BACKOFF)
+                        .filter(IdempotencyKeyInProgressException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    /**
+     * Resposta gravada, ou o pedido da reserva (o id diz o shard) se ele já foi criado.
+     * Sem pedido, a reserva ainda está em andamento, ou foi abandonada e é assumida.
+     */
+    private Mono<OrderResponse> replay(IdempotencyStore.Claim claim, CreateOrderRequest request,
+                                       int keyShard, String idempotencyKey, byte[] requestHash) {
+        if (claim.isCompleted()) {
+            log.info("Replaying order {} for idempotency key {}", claim.orderId(), idempotencyKey);
+            return Mono.just(claim.response());
+        }
+        return getOrderById(claim.orderId())
+                .doOnNext(o -> log.info("Replaying order {} for idempotency key {}", o.getId(), idempotencyKey))
+                .onErrorResume(OrderNotFoundException.class, e -> idempotencyStore.isAbandoned(claim)
+                        ? claimAndCreate(request, keyShard, idempotencyKey, requestHash, claim.orderId())
+                        : Mono.error(new IdempotencyKeyInProgressException(idempotencyKey)));
+    }
+
+    /**
+     * Reserva no shard do cliente e pedido no do restaurante não cabem numa transação:
+     * a reserva é gravada antes, o pedido na sua própria transação, e a reserva é
+     * desfeita se o pedido falhar
+     */
+    private Mono<OrderResponse> claimAndCreate(CreateOrderRequest request, int keyShard, String idempotencyKey,
+                                               byte[] requestHash, UUID abandonedOrderId) {
+        UUID customerId = request.getCustomerId();
+        UUID orderId = orderShards.newOrderId(request.getRestaurantId());
+        Mono<Void> claimed = abandonedOrderId == null
+                ? idempotencyStore.claim(customerId, idempotencyKey, requestHash, orderId)
+                : idempotencyStore.takeOver(customerId, idempotencyKey, abandonedOrderId, orderId);
+        return orderShards.write(keyShard, claimed)
+                .onErrorMap(DuplicateKeyException.class, e -> new IdempotencyKeyInProgressException(idempotencyKey))
+                .then(Mono.defer(() -> createOrder(request, orderId)))
+                .onErrorResume(error -> orderShards.write(keyShard, idempotencyStore.release(customerId, idempotencyKey, orderId))
+                        .then(Mono.error(error)))
+                .flatMap(created -> orderShards.write(keyShard, idempotencyStore.complete(customerId, idempotencyKey, created))
+                        .doOnSuccess(ignored -> idempotencyStore.remember(customerId, idempotencyKey, requestHash, created))
+                        .onErrorResume(error -> {
+                            // O pedido existe; a próxima repetição o encontra pelo id da reserva
+                            log.warn("Failed to store response of order {} for idempotency key {}: {}",
+                                    created.getId(), idempotencyKey, error.getMessage());
+                            return Mono.empty();
+                        })
+                        .thenReturn(created));
+    }
+
+    /**
+     * Lê o documento pronto de order_views; pedidos ainda sem projeção são montados
+     * das tabelas, e pedidos arquivados de orders_archive. O shard vem do id.
+     */
     public Mono<OrderResponse> getOrderById(UUID id) {
-        return findOrderWithItems(id)
-                .map(orderMapper::toResponse);
+        return orderShards.read(orderShards.forOrder(id), orderViewRepository.findById(id)
+                        .map(orderViewMapper::toResponse)
+                        .switchIfEmpty(Mono.defer(() -> orderRepository.findById(id)
+                                .map(Order::markAsNotNew)
+                                .flatMap(this::loadOrderItems)
+                                .switchIfEmpty(Mono.defer(() -> findArchivedOrder(id)))
+                                .map(orderMapper::toResponse))))
+                .switchIfEmpty(Mono.error(new OrderNotFoundException(id)));
     }
 
-    @Transactional(readOnly = true)
-    public Flux<OrderResponse> getOrdersByCustomer(UUID customerId) {
-        return orderRepository.findByCustomerIdOrderByCreatedAtDesc(customerId)
-                .flatMap(this::loadOrderItems)
-                .map(orderMapper::toResponse);
+    /**
+     * Transições do pedido em ordem, cada uma com o tempo que o pedido passou no status
+     * anterior. Pedido sem histórico (anterior à tabela) devolve vazio se existir.
+     */
+    public Flux<OrderStatusChangeResponse> getOrderTimeline(UUID id) {
+        return Flux.defer(() -> {
+                    AtomicReference<LocalDateTime> previous = new AtomicReference<>();
+                    return orderShards.read(orderShards.forOrder(id), statusHistoryRepository.findTimeline(id))
+                            .map(change -> orderMapper.toStatusChangeResponse(change,
+                                    previous.getAndSet(change.getChangedAt())));
+                })
+                .switchIfEmpty(Flux.defer(() -> getOrderById(id).thenMany(Flux.empty())));
     }
 
-    @Transactional(readOnly = true)
-    public Flux<OrderResponse> getOrdersByRestaurant(UUID restaurantId) {
-        return orderRepository.findByRestaurantIdOrderByCreatedAtDesc(restaurantId)
-                .flatMap(this::loadOrderItems)
-                .map(orderMapper::toResponse);
+    /**
+     * Os pedidos do cliente estão espalhados pelos shards: cada shard devolve sua
+     * página e as páginas são intercaladas por (createdAt, id)
+     */
+    public Flux<OrderResponse> getOrdersByCustomer(UUID customerId, OrderPageRequest page) {
+        OrderCursor cursor = page.cursorOrNewest();
+        return orderShards.gather(NEWEST_FIRST, shard -> customerPage(customerId, cursor, page.limit()))
+                .take(page.limit());
     }
 
-    @Transactional(readOnly = true)
-    public Flux<OrderResponse> getActiveOrdersByRestaurant(UUID restaurantId) {
-        return orderRepository.findActiveOrdersByRestaurant(restaurantId)
-                .flatMap(this::loadOrderItems)
-                .map(orderMapper::toResponse);
+    public Flux<OrderResponse> getOrdersByRestaurant(UUID restaurantId, OrderPageRequest page) {
+        OrderCursor cursor = page.cursorOrNewest();
+        return orderShards.read(orderShards.forRestaurant(restaurantId), restaurantPage(restaurantId, cursor, page.limit()));
+    }
+
+    /**
+     * Restaurantes do shard desta instância são servidos da fila em memória;
+     * os demais leem order_views
+     */
+    public Flux<OrderResponse> getActiveOrdersByRestaurant(UUID restaurantId, OrderPageRequest page) {
+        OrderCursor cursor = page.cursorOrOldest();
+        if (viewsReady.get() && restaurantShards.isLocal(restaurantId)) {
+            return kitchenQueues.getActiveOrders(restaurantId, cursor, page.limit());
+        }
+        return orderShards.read(orderShards.forRestaurant(restaurantId),
+                activeRestaurantPage(restaurantId, cursor, page.limit()));
+    }
+
+    public Flux<OrderResponse> getOrdersByStatus(OrderStatus status, OrderPageRequest page) {
+        OrderCursor cursor = page.cursorOrNewest();
+        return orderShards.gather(NEWEST_FIRST, shard -> statusPage(status, cursor, page.limit()))
+                .take(page.limit());
     }
 
-    @Transactional(readOnly = true)
-    public Flux<OrderResponse> getOrdersByStatus(OrderStatus status) {
-        return orderRepository.findByStatus(status)
-                .flatMap(this::loadOrderItems)
+    private Flux<OrderResponse> customerPage(UUID customerId, OrderCursor cursor, int limit) {
+        Flux<OrderResponse> live = viewsReady.get()
+                ? orderViewRepository.findPageByCustomer(customerId, cursor.createdAt(), cursor.id(), limit)
+                        .map(orderViewMapper::toResponse)
+                : loadOrderItems(orderRepository.findPageByCustomer(customerId, cursor.createdAt(), cursor.id(), limit))
+                        .map(orderMapper::toResponse);
+        return withArchived(live, orderRepository.findArchivedPageByCustomer(
+                customerId, cursor.createdAt(), cursor.id(), limit), limit);
+    }
+
+    private Flux<OrderResponse> restaurantPage(UUID restaurantId, OrderCursor cursor, int limit) {
+        Flux<OrderResponse> live = viewsReady.get()
+                ? orderViewRepository.findPageByRestaurant(restaurantId, cursor.createdAt(), cursor.id(), limit)
+                        .map(orderViewMapper::toResponse)
+                : loadOrderItems(orderRepository.findPageByRestaurant(restaurantId, cursor.createdAt(), cursor.id(), limit))
+                        .map(orderMapper::toResponse);
+        return withArchived(live, orderRepository.findArchivedPageByRestaurant(
+                restaurantId, cursor.createdAt(), cursor.id(), limit), limit);
+    }
+
+    /**
+     * Pedidos ativos nunca são arquivados, então a página vem só de orders/order_views
+     */
+    private Flux<OrderResponse> activeRestaurantPage(UUID restaurantId, OrderCursor cursor, int limit) {
+        if (viewsReady.get()) {
+            return orderViewRepository.findActivePageByRestaurant(
+                            restaurantId, cursor.createdAt(), cursor.id(), limit)
+                    .map(orderViewMapper::toResponse);
+        }
+        return loadOrderItems(orderRepository.findActivePageByRestaurant(
+                restaurantId, cursor.createdAt(), cursor.id(), limit))
                 .map(orderMapper::toResponse);
     }
 
-    @Transactional
+    private Flux<OrderResponse> statusPage(OrderStatus status, OrderCursor cursor, int limit) {
+        Flux<OrderResponse> live = viewsReady.get()
+                ? orderViewRepository.findPageByStatus(status, cursor.createdAt(), cursor.id(), limit)
+                        .map(orderViewMapper::toResponse)
+                : loadOrderItems(orderRepository.findPageByStatus(status, cursor.createdAt(), cursor.id(), limit))
+                        .map(orderMapper::toResponse);
+        if (!status.isFinal()) {
+            return live;
+        }
+        return withArchived(live, orderRepository.findArchivedPageByStatus(
+                status, cursor.createdAt(), cursor.id(), limit), limit);
+    }
+
+    /**
+     * O OrderArchiver tira os finalizados antigos de orders e de order_views: a página
+     * intercala as duas origens pelo mesmo keyset, como o export faz com UNION ALL. Um
+     * pedido arquivado entre as duas leituras aparece nas duas, lado a lado na ordem.
+     */
+    private Flux<OrderResponse> withArchived(Flux<OrderResponse> live, Flux<Order> archived, int limit) {
+        return Flux.mergeComparing(NEWEST_FIRST, live, loadArchivedItems(archived).map(orderMapper::toResponse))
+                .distinctUntilChanged(OrderResponse::getId)
+                .take(limit);
+    }
+
     public Mono<OrderResponse> updateOrderStatus(UUID id, UpdateOrderStatusRequest request) {
         log.info("Updating order {} status to {}", id, request.getStatus());
 
-        return findOrderWithItems(id)
+        return orderShards.write(orderShards.forOrder(id), findOrderWithItems(id)
                 .flatMap(order -> {
                     OrderStatus previousStatus = order.getStatus();
 
@@ -109,42 +336,201 @@ public class OrderService {
                     order.setUpdatedAt(LocalDateTime.now());
 
                     return orderRepository.save(order)
-                            .doOnSuccess(o -> {
-                                eventProducer.sendOrderStatusChanged(o, previousStatus);
-                                log.info("Order {} status changed from {} to {}",
-                                        id, previousStatus, o.getStatus());
-                            });
+                            .flatMap(o -> recordTransition(o, previousStatus))
+                            .flatMap(o -> eventProducer.sendOrderStatusChanged(o, previousStatus).thenReturn(o))
+                            .flatMap(o -> o.getStatus() != OrderStatus.PENDING
+                                    ? afterCommit(() -> pendingTimeouts.cancel(id)).thenReturn(o)
+                                    : Mono.just(o))
+                            .doOnSuccess(o -> log.info("Order {} status changed from {} to {}",
+                                    id, previousStatus, o.getStatus()));
                 })
-                .map(orderMapper::toResponse);
+                .retryWhen(retryOnConflict(id))
+                .flatMap(this::project));
     }
 
-    @Transactional
     public Mono<OrderResponse> cancelOrder(UUID id, String reason) {
         log.info("Cancelling order: {}", id);
 
-        return findOrderWithItems(id)
+        return orderShards.write(orderShards.forOrder(id), findOrderWithItems(id)
                 .flatMap(order -> {
                     OrderStatus previousStatus = order.getStatus();
                     order.cancel(reason);
                     order.setUpdatedAt(LocalDateTime.now());
 
                     return orderRepository.save(order)
-                            .doOnSuccess(o -> {
-                                eventProducer.sendOrderCancelled(o);
-                                log.info("Order cancelled: {}", id);
-                            });
+                            .flatMap(o -> recordTransition(o, previousStatus))
+                            .flatMap(o -> eventProducer.sendOrderCancelled(o).thenReturn(o))
+                            .flatMap(o -> afterCommit(() -> pendingTimeouts.cancel(id)).thenReturn(o))
+                            .doOnSuccess(o -> log.info("Order cancelled: {}", id));
                 })
-                .map(orderMapper::toResponse);
+                .retryWhen(retryOnConflict(id))
+                .flatMap(this::project));
+    }
+
+    /**
+     * Cancela em um único UPDATE os pedidos do restaurante nos status informados.
+     * Status que a regra de domínio não permite cancelar são ignorados.
+     */
+    public Mono<Long> cancelOrdersByRestaurant(UUID restaurantId, Set<OrderStatus> statuses, String reason) {
+        List<String> cancellable = statuses.stream()
+                .filter(OrderStatus::canBeCancelled)
+                .map(OrderStatus::name)
+                .toList();
+        if (cancellable.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        return orderShards.write(orderShards.forRestaurant(restaurantId),
+                orderRepository.cancelByRestaurant(restaurantId, cancellable, reason, LocalDateTime.now())
+                        .collectList()
+                        .flatMap(this::publishBulkCancellation));
+    }
+
+    /**
+     * Cancela em um único UPDATE por shard os pedidos cujo prazo em PENDING venceu. Pedidos
+     * que já saíram de PENDING (inclusive por outra instância) não são tocados.
+     */
+    public Mono<Long> expirePendingOrders(Collection<UUID> orderIds, String reason) {
+        if (orderIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        LocalDateTime cancelledAt = LocalDateTime.now();
+        Map<Integer, List<UUID>> idsByShard = orderIds.stream().collect(Collectors.groupingBy(orderShards::forOrder));
+        return Flux.fromIterable(idsByShard.entrySet())
+                .concatMap(shard -> orderShards.write(shard.getKey(),
+                        orderRepository.cancelPendingByIds(shard.getValue(), reason, cancelledAt)
+                                .collectList()
+                                .flatMap(this::publishBulkCancellation)))
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Cria a projeção dos pedidos que ainda não têm documento em order_views, em lotes.
+     * Ao terminar em todos os shards, as listagens passam a ler só da projeção.
+     */
+    public Mono<Long> backfillOrderViews() {
+        return orderShards.onEach(shard -> backfillBatch()
+                        .expand(count -> count == VIEW_BACKFILL_BATCH_SIZE ? backfillBatch() : Mono.empty()))
+                .reduce(0L, Long::sum)
+                .doOnSuccess(total -> {
+                    viewsReady.set(true);
+                    log.info("Order views ready ({} backfilled)", total);
+                });
     }
 
     // ========== MÉTODOS PRIVADOS ==========
 
+    /**
+     * Cancelamentos em massa já são um lote: o histórico vai num INSERT na mesma transação
+     */
+    private Mono<Long> publishBulkCancellation(List<Order> cancelled) {
+        return statusHistoryRepository.insertAll(cancelled.stream()
+                        .map(order -> OrderStatusChange.of(order, statusBeforeCancel(order), order.getCancelledAt()))
+                        .toList())
+                .then(eventProducer.sendOrdersCancelled(cancelled))
+                .then(afterCommit(() -> cancelled.forEach(order -> pendingTimeouts.cancel(order.getId()))))
+                .then(projectAll(cancelled))
+                .thenReturn((long) cancelled.size());
+    }
+
+    /**
+     * O UPDATE em massa devolve o pedido já cancelado; só PENDING e CONFIRMED são
+     * canceláveis, e confirmedAt diz qual dos dois era
+     */
+    private static OrderStatus statusBeforeCancel(Order order) {
+        return order.getConfirmedAt() != null ? OrderStatus.CONFIRMED : OrderStatus.PENDING;
+    }
+
+    /**
+     * A linha de histórico entra na mesma transação da mudança de status: ou as duas
+     * são gravadas, ou nenhuma
+     */
+    private Mono<Order> recordTransition(Order order, OrderStatus previousStatus) {
+        return statusHistoryRepository.insertAll(List.of(OrderStatusChange.of(order, previousStatus, order.getUpdatedAt())))
+                .thenReturn(order);
+    }
+
+    /**
+     * Renderiza a resposta uma vez e grava o documento na mesma transação da escrita
+     */
+    private Mono<OrderResponse> project(Order order) {
+        OrderResponse response = orderMapper.toResponse(order);
+        Long version = order.getVersion();
+        return orderViewRepository.upsertAll(List.of(orderViewMapper.toView(response, version)))
+                .then(afterCommit(() -> kitchenQueues.apply(response, version)))
+                .thenReturn(response);
+    }
+
+    private Mono<Void> projectAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return Mono.empty();
+        }
+        return loadItemsBatch(orders, orderItemRepository::findByOrderIdIn)
+                .map(order -> orderViewMapper.toView(orderMapper.toResponse(order), order.getVersion()))
+                .collectList()
+                .flatMap(views -> orderViewRepository.upsertAll(views)
+                        .then(afterCommit(() -> views.forEach(view ->
+                                kitchenQueues.apply(orderViewMapper.toResponse(view), view.getVersion())))))
+                .then();
+    }
+
+    /**
+     * Estado em memória (fila da cozinha, prazos de PENDING) só muda depois do commit;
+     * fora de transação, na hora
+     */
+    private Mono<Void> afterCommit(Runnable action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(synchronization -> {
+                    if (!synchronization.isSynchronizationActive()) {
+                        return Mono.fromRunnable(action);
+                    }
+                    synchronization.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(action);
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, e -> Mono.fromRunnable(action))
+                .then();
+    }
+
+    private Mono<Long> backfillBatch() {
+        return orderRepository.findWithoutView(VIEW_BACKFILL_BATCH_SIZE)
+                .collectList()
+                .flatMap(orders -> projectAll(orders).thenReturn((long) orders.size()));
+    }
+
+    /**
+     * Conflito de versão: relê o pedido e revalida a transição, até MAX_CONFLICT_RETRIES vezes
+     */
+    private Retry retryOnConflict(UUID id) {
+        return Retry.backoff(MAX_CONFLICT_RETRIES, CONFLICT_RETRY_BACKOFF)
+                .filter(OptimisticLockingFailureException.class::isInstance)
+                .doBeforeRetry(signal -> log.debug("Version conflict on order {}, retry #{}",
+                        id, signal.totalRetries() + 1))
+                .onRetryExhaustedThrow((spec, signal) -> new ConcurrentOrderUpdateException(id));
+    }
+
     private Mono<Order> findOrderWithItems(UUID id) {
         return orderRepository.findById(id)
                 .switchIfEmpty(Mono.error(new OrderNotFoundException(id)))
+                .map(Order::markAsNotNew)
                 .flatMap(this::loadOrderItems);
     }
 
+    private Mono<Order> findArchivedOrder(UUID id) {
+        return orderRepository.findArchivedById(id)
+                .map(Order::markAsNotNew)
+                .flatMap(order -> orderItemRepository.findArchivedByOrderId(id)
+                        .collectList()
+                        .map(items -> {
+                            order.setItems(items);
+                            return order;
+                        }));
+    }
+
     private Mono<Order> loadOrderItems(Order order) {
         return orderItemRepository.findByOrderId(order.getId())
                 .collectList()
@@ -154,12 +540,45 @@ public class OrderService {
                 });
     }
 
+    /**
+     * Carrega os itens de vários pedidos agrupando os ids em janelas, com uma
+     * única consulta a order_items por janela. Preserva a ordem do Flux de entrada.
+     */
+    private Flux<Order> loadOrderItems(Flux<Order> orders) {
+        return loadItems(orders, orderItemRepository::findByOrderIdIn);
+    }
+
+    private Flux<Order> loadArchivedItems(Flux<Order> orders) {
+        return loadItems(orders, orderItemRepository::findArchivedByOrderIdIn);
+    }
+
+    private Flux<Order> loadItems(Flux<Order> orders, Function<List<UUID>, Flux<OrderItem>> findItems) {
+        return orders
+                .map(Order::markAsNotNew)
+                .bufferTimeout(ITEM_BATCH_SIZE, ITEM_BATCH_WINDOW, true)
+                .concatMap(batch -> loadItemsBatch(batch, findItems));
+    }
+
+    private Flux<Order> loadItemsBatch(List<Order> orders, Function<List<UUID>, Flux<OrderItem>> findItems) {
+        List<UUID> orderIds = orders.stream().map(Order::getId).toList();
+
+        return findItems.apply(orderIds)
+                .collectMultimap(OrderItem::getOrderId)
+                .flatMapIterable(itemsByOrder -> {
+                    orders.forEach(order -> order.setItems(
+                            new ArrayList<>(itemsByOrder.getOrDefault(order.getId(), List.of()))));
+                    return orders;
+                });
+    }
+
+    /**
+     * Grava todos os itens do pedido em um único INSERT em lote (mesma transação do pedido)
+     */
     private Mono<Order> saveOrderItems(List<OrderItem> items, Order order) {
-        return Flux.fromIterable(items)
-                .flatMap(orderItemRepository::save)
-                .collectList()
-                .map(savedItems -> {
-                    order.setItems(savedItems);
+        return orderItemRepository.insertAll(items)
+                .map(inserted -> {
+                    items.forEach(OrderItem::markAsNotNew);
+                    order.setItems(items);
                     return order;
                 });
     }
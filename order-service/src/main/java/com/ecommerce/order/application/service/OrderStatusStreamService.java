@@ -0,0 +1,123 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.response.OrderStatusUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out em memória das mudanças de status para as conexões SSE deste nó.
+ * Um sink por pedido/restaurante com inscritos; cada inscrito tem buffer próprio
+ * e limitado, descartando os eventos mais antigos quando o cliente é lento.
+ */
+@Slf4j
+@Service
+public class OrderStatusStreamService {
+
+    private static final Duration EMIT_RETRY = Duration.ofMillis(50);
+
+    private final Map<UUID, Channel> orderChannels = new ConcurrentHashMap<>();
+    private final Map<UUID, Channel> restaurantChannels = new ConcurrentHashMap<>();
+    private final OrderService orderService;
+    private final int bufferSize;
+
+    public OrderStatusStreamService(OrderService orderService,
+                                    @Value("${order.stream.buffer-size:256}") int bufferSize) {
+        this.orderService = orderService;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Estado atual do pedido seguido das mudanças ao vivo; termina no status final.
+     * A inscrição ao vivo vem antes da leitura do snapshot, para não perder eventos, e
+     * o que chegar com versão igual ou anterior à última enviada (o snapshot lido antes
+     * de um evento já enviado, ou um evento atrasado) é descartado.
+     */
+    public Flux<OrderStatusUpdate> streamOrder(UUID orderId) {
+        Flux<OrderStatusUpdate> snapshot = orderService.getOrderById(orderId)
+                .map(OrderStatusUpdate::snapshot)
+                .flux();
+        return Flux.defer(() -> {
+            AtomicLong lastVersion = new AtomicLong(Long.MIN_VALUE);
+            return Flux.merge(subscribe(orderChannels, orderId), snapshot)
+                    .filter(update -> isNewer(update, lastVersion))
+                    .takeUntil(OrderStatusUpdate::isFinal);
+        });
+    }
+
+    public Flux<OrderStatusUpdate> subscribeToRestaurant(UUID restaurantId) {
+        return subscribe(restaurantChannels, restaurantId);
+    }
+
+    public void publish(OrderStatusUpdate update) {
+        emit(orderChannels, update.getOrderId(), update);
+        emit(restaurantChannels, update.getRestaurantId(), update);
+    }
+
+    int activeChannels() {
+        return orderChannels.size() + restaurantChannels.size();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private Flux<OrderStatusUpdate> subscribe(Map<UUID, Channel> channels, UUID key) {
+        return Flux.defer(() -> {
+            Channel channel = channels.compute(key, (k, current) -> {
+                Channel target = current != null ? current : new Channel();
+                target.subscribers++;
+                return target;
+            });
+            return channel.sink.asFlux()
+                    .onBackpressureBuffer(bufferSize,
+                            dropped -> log.debug("Slow subscriber on {}, dropped update for order {}",
+                                    key, dropped.getOrderId()),
+                            BufferOverflowStrategy.DROP_OLDEST)
+                    .doFinally(signal -> channels.computeIfPresent(key,
+                            (k, current) -> --current.subscribers == 0 ? null : current));
+        });
+    }
+
+    /**
+     * Eventos sem versão (produtores anteriores ao campo) passam sempre
+     */
+    private static boolean isNewer(OrderStatusUpdate update, AtomicLong lastVersion) {
+        Long version = update.getVersion();
+        if (version == null) {
+            return true;
+        }
+        long previous = lastVersion.get();
+        if (version <= previous) {
+            log.debug("Dropping stale update v{} for order {} (last sent v{})", version, update.getOrderId(), previous);
+            return false;
+        }
+        lastVersion.set(version);
+        return true;
+    }
+
+    private void emit(Map<UUID, Channel> channels, UUID key, OrderStatusUpdate update) {
+        if (key == null) {
+            return;
+        }
+        Channel channel = channels.get(key);
+        if (channel != null) {
+            channel.sink.emitNext(update, Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY));
+        }
+    }
+
+    /**
+     * Sink multicast sem buffer próprio; o contador só é alterado dentro de compute()
+     */
+    private static final class Channel {
+        private final Sinks.Many<OrderStatusUpdate> sink = Sinks.many().multicast().directBestEffort();
+        private int subscribers;
+    }
+}
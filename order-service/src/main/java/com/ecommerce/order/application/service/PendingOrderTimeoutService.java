@@ -0,0 +1,62 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.timeout.HashedTimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Prazo de cancelamento automático dos pedidos PENDING, mantido em memória numa
+ * roda de temporização. O pedido entra na criação e sai ao deixar PENDING; o
+ * PendingOrderExpirer avança a roda e cancela os vencidos em lote.
+ */
+@Service
+public class PendingOrderTimeoutService {
+
+    private final Duration timeout;
+    private final HashedTimingWheel<UUID> wheel;
+
+    public PendingOrderTimeoutService(@Value("${order.pending-timeout.after:15m}") Duration timeout,
+                                      @Value("${order.pending-timeout.tick:1s}") Duration tick,
+                                      @Value("${order.pending-timeout.wheel-size:1024}") int wheelSize) {
+        this.timeout = timeout;
+        this.wheel = new HashedTimingWheel<>(tick.toMillis(), wheelSize, System.currentTimeMillis());
+    }
+
+    public void schedule(UUID orderId, LocalDateTime createdAt) {
+        LocalDateTime deadline = createdAt.plus(timeout);
+        wheel.schedule(orderId, deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * Volta o pedido para a roda com prazo já vencido: dispara no próximo tick
+     */
+    public void retry(UUID orderId) {
+        wheel.schedule(orderId, System.currentTimeMillis());
+    }
+
+    public void cancel(UUID orderId) {
+        wheel.cancel(orderId);
+    }
+
+    public List<UUID> expire(long nowMillis) {
+        return wheel.advance(nowMillis);
+    }
+
+    public boolean isScheduled(UUID orderId) {
+        return wheel.contains(orderId);
+    }
+
+    public int size() {
+        return wheel.size();
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,157 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.infrastructure.client.RestaurantServiceClient;
+import com.ecommerce.order.infrastructure.client.RestaurantSummary;
+import com.ecommerce.order.infrastructure.messaging.event.RestaurantEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Visão local de isOpen/isAcceptingOrders/status e das regras de entrega de cada
+ * restaurante, mantida pelos eventos de restaurant-events e carregada do
+ * restaurant-service na subida. A admissão de pedidos consulta só este mapa; o
+ * restaurant-service só é chamado na validação do checkout, em cache miss.
+ * Restaurante desconhecido é aceito: o restaurant-service continua sendo a fonte da verdade.
+ */
+@Slf4j
+@Service
+public class RestaurantAvailabilityService {
+
+    static final String ACTIVE = "ACTIVE";
+    static final String DELETED = "DELETED";
+
+    private final Map<UUID, Availability> restaurants = new ConcurrentHashMap<>();
+    private final RestaurantServiceClient restaurantServiceClient;
+    private final boolean remoteFallback;
+
+    public RestaurantAvailabilityService(RestaurantServiceClient restaurantServiceClient,
+                                         @Value("${order.checkout.remote-fallback:true}") boolean remoteFallback) {
+        this.restaurantServiceClient = restaurantServiceClient;
+        this.remoteFallback = remoteFallback;
+    }
+
+    /**
+     * Regras de entrega; campos nulos significam que o restaurante não configurou a regra
+     */
+    public record DeliveryRules(BigDecimal latitude, BigDecimal longitude, BigDecimal deliveryRadiusKm,
+                                BigDecimal minOrderValue) {
+    }
+
+    /**
+     * rules é null enquanto só eventos sem as regras de entrega foram recebidos
+     */
+    public record Availability(String status, boolean open, boolean acceptingOrders, DeliveryRules rules,
+                               LocalDateTime updatedAt) {
+
+        public boolean isAcceptingOrders() {
+            return ACTIVE.equals(status) && open && acceptingOrders;
+        }
+
+        Availability withRules(DeliveryRules rules) {
+            return new Availability(status, open, acceptingOrders, rules, updatedAt);
+        }
+    }
+
+    public boolean isAcceptingOrders(UUID restaurantId) {
+        Availability availability = restaurants.get(restaurantId);
+        return availability == null || availability.isAcceptingOrders();
+    }
+
+    /**
+     * Se lookup vai ao restaurant-service quando a visão local não basta
+     */
+    public boolean hasRemoteFallback() {
+        return remoteFallback;
+    }
+
+    /**
+     * Estado local, sem consulta remota; vazio quando o restaurante não é conhecido
+     */
+    public Optional<Availability> current(UUID restaurantId) {
+        return Optional.ofNullable(restaurants.get(restaurantId));
+    }
+
+    /**
+     * Estado completo do restaurante: da visão local quando já tem as regras de entrega,
+     * senão do restaurant-service. Vazio quando o restaurante não é conhecido; se a
+     * consulta remota falhar, devolve o estado parcial local quando houver.
+     */
+    public Mono<Availability> lookup(UUID restaurantId) {
+        Availability local = restaurants.get(restaurantId);
+        if ((local != null && local.rules() != null) || !remoteFallback) {
+            return Mono.justOrEmpty(local);
+        }
+        return restaurantServiceClient.findRestaurant(restaurantId)
+                .doOnNext(this::load)
+                .map(summary -> restaurants.get(restaurantId))
+                .onErrorResume(error -> {
+                    if (local == null) {
+                        return Mono.error(error);
+                    }
+                    log.warn("Restaurant {} lookup failed, using partial local state: {}", restaurantId, error.getMessage());
+                    return Mono.just(local);
+                });
+    }
+
+    public void apply(RestaurantEvent event) {
+        if (event.getRestaurantId() == null || event.getEventType() == null) {
+            return;
+        }
+        Availability availability = event.getEventType() == RestaurantEvent.EventType.RESTAURANT_DELETED
+                ? new Availability(DELETED, false, false, null, event.getTimestamp())
+                : new Availability(event.getStatus(),
+                        Boolean.TRUE.equals(event.getIsOpen()),
+                        Boolean.TRUE.equals(event.getIsAcceptingOrders()),
+                        rulesOf(event),
+                        event.getTimestamp());
+        update(event.getRestaurantId(), availability);
+    }
+
+    /**
+     * Estado vindo da carga inicial ou da consulta remota; perde para eventos mais novos já aplicados
+     */
+    public void load(RestaurantSummary restaurant) {
+        update(restaurant.getId(), new Availability(restaurant.getStatus(),
+                Boolean.TRUE.equals(restaurant.getIsOpen()),
+                Boolean.TRUE.equals(restaurant.getIsAcceptingOrders()),
+                new DeliveryRules(restaurant.getLatitude(), restaurant.getLongitude(),
+                        restaurant.getDeliveryRadiusKm(), restaurant.getMinOrderValue()),
+                restaurant.getUpdatedAt()));
+    }
+
+    /**
+     * Eventos publicados antes das regras de entrega não trazem nenhum desses campos
+     */
+    private static DeliveryRules rulesOf(RestaurantEvent event) {
+        if (event.getLatitude() == null && event.getLongitude() == null
+                && event.getDeliveryRadiusKm() == null && event.getMinOrderValue() == null) {
+            return null;
+        }
+        return new DeliveryRules(event.getLatitude(), event.getLongitude(),
+                event.getDeliveryRadiusKm(), event.getMinOrderValue());
+    }
+
+    private void update(UUID restaurantId, Availability candidate) {
+        restaurants.merge(restaurantId, candidate, (current, next) -> {
+            if (isStale(current, next)) {
+                return current.rules() == null && next.rules() != null ? current.withRules(next.rules()) : current;
+            }
+            return next.rules() == null && current.rules() != null ? next.withRules(current.rules()) : next;
+        });
+        log.debug("Restaurant {} availability: {}", restaurantId, restaurants.get(restaurantId));
+    }
+
+    private static boolean isStale(Availability current, Availability next) {
+        return current.updatedAt() != null && next.updatedAt() != null
+                && next.updatedAt().isBefore(current.updatedAt());
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.order.application.timeout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roda de temporização com hash (Varghese & Lauck): cada prazo cai no slot
+ * {@code tick % wheelSize} e guarda o tick absoluto, então prazos além de uma volta
+ * ficam no slot até a volta certa. Agendar e cancelar são O(1); avançar um tick
+ * percorre só um slot. Os slots são listas duplamente encadeadas intrusivas.
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Timeout<K>[] slots;
+    private final Map<K, Timeout<K>> timeouts = new HashMap<>();
+
+    /** Último tick já processado */
+    private long currentTick;
+
+    private static final class Timeout<K> {
+        private final K key;
+        private final long deadlineTick;
+        private Timeout<K> prev;
+        private Timeout<K> next;
+
+        private Timeout(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    /**
+     * @param wheelSize arredondado para a próxima potência de dois
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        int size = Integer.bitCount(wheelSize) == 1 ? wheelSize : Integer.highestOneBit(wheelSize) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.slots = (Timeout<K>[]) new Timeout[size];
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Agenda (ou reagenda) a chave; prazos já vencidos disparam no próximo tick
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Timeout<K> previous = timeouts.remove(key);
+        if (previous != null) {
+            unlink(previous);
+        }
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Timeout<K> timeout = new Timeout<>(key, deadlineTick);
+        timeouts.put(key, timeout);
+        link(timeout);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Timeout<K> timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    /**
+     * Avança até {@code nowMillis} e devolve as chaves vencidas, já removidas da roda.
+     * Um atraso maior que uma volta percorre cada slot uma única vez.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (targetTick <= currentTick) {
+            return List.of();
+        }
+
+        List<K> expired = new ArrayList<>();
+        long lastTick = Math.min(targetTick, currentTick + slots.length);
+        for (long tick = currentTick + 1; tick <= lastTick; tick++) {
+            Timeout<K> timeout = slots[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout<K> next = timeout.next;
+                if (timeout.deadlineTick <= targetTick) {
+                    unlink(timeout);
+                    timeouts.remove(timeout.key);
+                    expired.add(timeout.key);
+                }
+                timeout = next;
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    public synchronized boolean contains(K key) {
+        return timeouts.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    private void link(Timeout<K> timeout) {
+        int slot = (int) (timeout.deadlineTick & mask);
+        Timeout<K> head = slots[slot];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        slots[slot] = timeout;
+    }
+
+    private void unlink(Timeout<K> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[(int) (timeout.deadlineTick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+    }
+}
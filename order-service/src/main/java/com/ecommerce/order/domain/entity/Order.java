@@ -1,6 +1,7 @@
 package com.ecommerce.order.domain.entity;
 
 import com.ecommerce.order.domain.exception.InvalidOrderStateException;
+import com.ecommerce.order.domain.valueobject.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,6 +10,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 import org.springframework.data.domain.Persistable;
@@ -70,19 +72,19 @@ public class Order implements Persistable<UUID> {
     // ========== VALORES ==========
     @Column("subtotal")
     @Builder.Default
-    private BigDecimal subtotal = BigDecimal.ZERO;
+    private Money subtotal = Money.ZERO;
 
     @Column("delivery_fee")
     @Builder.Default
-    private BigDecimal deliveryFee = BigDecimal.ZERO;
+    private Money deliveryFee = Money.ZERO;
 
     @Column("discount")
     @Builder.Default
-    private BigDecimal discount = BigDecimal.ZERO;
+    private Money discount = Money.ZERO;
 
     @Column("total")
     @Builder.Default
-    private BigDecimal total = BigDecimal.ZERO;
+    private Money total = Money.ZERO;
 
     // ========== INFORMAÇÕES ADICIONAIS ==========
     @Column("notes")
@@ -121,6 +123,12 @@ public class Order implements Persistable<UUID> {
     @Column("updated_at")
     private LocalDateTime updatedAt;
 
+    // ========== CONTROLE DE CONCORRÊNCIA ==========
+    /** UPDATE só é aplicado se a versão lida ainda for a do banco (compare-and-set) */
+    @Version
+    @Column("version")
+    private Long version;
+
     // ========== RELACIONAMENTOS (Transient - não persiste diretamente) ==========
     @Transient
     @Builder.Default
@@ -186,22 +194,25 @@ public class Order implements Persistable<UUID> {
     }
 
     public void calculateTotals() {
-        this.subtotal = items.stream()
-                .map(OrderItem::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Soma em centavos, sem objeto intermediário por item
+        long subtotalCents = 0;
+        for (OrderItem item : items) {
+            subtotalCents = Math.addExact(subtotalCents, item.getTotalPrice().cents());
+        }
+        this.subtotal = Money.ofCents(subtotalCents);
 
         this.total = subtotal
-                .add(deliveryFee != null ? deliveryFee : BigDecimal.ZERO)
-                .subtract(discount != null ? discount : BigDecimal.ZERO);
+                .plus(deliveryFee != null ? deliveryFee : Money.ZERO)
+                .minus(discount != null ? discount : Money.ZERO);
     }
 
-    public void applyDiscount(BigDecimal discountAmount) {
+    public void applyDiscount(Money discountAmount) {
         if (status != OrderStatus.PENDING) {
             throw new InvalidOrderStateException(
                     "Cannot apply discount to order in status: " + status
             );
         }
-        if (discountAmount.compareTo(subtotal) > 0) {
+        if (discountAmount.isGreaterThan(subtotal)) {
             throw new IllegalArgumentException("Discount cannot be greater than subtotal");
         }
         this.discount = discountAmount;
@@ -1,5 +1,6 @@
 package com.ecommerce.order.domain.entity;
 
+import com.ecommerce.order.domain.valueobject.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,7 +11,6 @@ import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 import org.springframework.data.domain.Persistable;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -37,10 +37,10 @@ public class OrderItem implements Persistable<UUID> {
     private Integer quantity;
 
     @Column("unit_price")
-    private BigDecimal unitPrice;
+    private Money unitPrice;
 
     @Column("total_price")
-    private BigDecimal totalPrice;
+    private Money totalPrice;
 
     @Column("notes")
     private String notes;
@@ -66,12 +66,12 @@ public class OrderItem implements Persistable<UUID> {
 
     public void calculateTotalPrice() {
         if (unitPrice != null && quantity != null) {
-            this.totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            this.totalPrice = unitPrice.times(quantity);
         }
     }
 
     public static OrderItem create(UUID productId, String productName,
-                                   Integer quantity, BigDecimal unitPrice, String notes) {
+                                   Integer quantity, Money unitPrice, String notes) {
         OrderItem item = OrderItem.builder()
                 .id(UUID.randomUUID())
                 .productId(productId)
@@ -0,0 +1,52 @@
+package com.ecommerce.order.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Uma transição de status do pedido. Linhas nunca são alteradas; a criação do pedido
+ * entra com fromStatus nulo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("order_status_history")
+public class OrderStatusChange {
+
+    @Id
+    private Long id;
+
+    @Column("order_id")
+    private UUID orderId;
+
+    @Column("from_status")
+    private OrderStatus fromStatus;
+
+    @Column("to_status")
+    private OrderStatus toStatus;
+
+    @Column("reason")
+    private String reason;
+
+    @Column("changed_at")
+    private LocalDateTime changedAt;
+
+    public static OrderStatusChange of(Order order, OrderStatus fromStatus, LocalDateTime changedAt) {
+        return OrderStatusChange.builder()
+                .orderId(order.getId())
+                .fromStatus(fromStatus)
+                .toStatus(order.getStatus())
+                .reason(order.getStatus() == OrderStatus.CANCELLED ? order.getCancellationReason() : null)
+                .changedAt(changedAt)
+                .build();
+    }
+}
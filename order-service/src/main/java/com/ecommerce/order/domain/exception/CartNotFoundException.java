@@ -0,0 +1,10 @@
+package com.ecommerce.order.domain.exception;
+
+import java.util.UUID;
+
+public class CartNotFoundException extends DomainException {
+
+    public CartNotFoundException(UUID id) {
+        super("Cart not found with id: " + id);
+    }
+}
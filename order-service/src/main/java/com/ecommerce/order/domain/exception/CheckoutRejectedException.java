@@ -0,0 +1,26 @@
+package com.ecommerce.order.domain.exception;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class CheckoutRejectedException extends DomainException {
+
+    private final Map<String, String> failedChecks;
+
+    /**
+     * failedChecks: nome da verificação -> motivo, na ordem em que devem ser exibidos
+     */
+    public CheckoutRejectedException(UUID restaurantId, Map<String, String> failedChecks) {
+        super("Order for restaurant " + restaurantId + " rejected: " + failedChecks.entrySet().stream()
+                .map(e -> e.getKey() + " (" + e.getValue() + ")")
+                .collect(Collectors.joining(", ")));
+        this.failedChecks = Collections.unmodifiableMap(new LinkedHashMap<>(failedChecks));
+    }
+
+    public Map<String, String> getFailedChecks() {
+        return failedChecks;
+    }
+}
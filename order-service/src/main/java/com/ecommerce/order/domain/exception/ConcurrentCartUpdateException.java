@@ -0,0 +1,10 @@
+package com.ecommerce.order.domain.exception;
+
+import java.util.UUID;
+
+public class ConcurrentCartUpdateException extends DomainException {
+
+    public ConcurrentCartUpdateException(UUID id) {
+        super("Cart " + id + " was modified concurrently, please retry");
+    }
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.order.domain.exception;
+
+import java.util.UUID;
+
+public class ConcurrentOrderUpdateException extends DomainException {
+
+    public ConcurrentOrderUpdateException(UUID id) {
+        super("Order " + id + " was modified concurrently, please retry");
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.order.domain.exception;
+
+public class IdempotencyKeyInProgressException extends DomainException {
+
+    public IdempotencyKeyInProgressException(String key) {
+        super("Idempotency-Key " + key + " is still being processed by another request");
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.order.domain.exception;
+
+public class IdempotencyKeyReuseException extends DomainException {
+
+    public IdempotencyKeyReuseException(String key) {
+        super("Idempotency-Key " + key + " was already used with a different request");
+    }
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.order.domain.exception;
+
+import java.util.UUID;
+
+public class InvalidOrderItemException extends DomainException {
+
+    public InvalidOrderItemException(UUID productId, String reason) {
+        super("Invalid order item " + productId + ": " + reason);
+    }
+}
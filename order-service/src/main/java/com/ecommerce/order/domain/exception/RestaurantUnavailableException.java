@@ -0,0 +1,10 @@
+package com.ecommerce.order.domain.exception;
+
+import java.util.UUID;
+
+public class RestaurantUnavailableException extends DomainException {
+
+    public RestaurantUnavailableException(UUID restaurantId) {
+        super("Restaurant " + restaurantId + " is not accepting orders");
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.order.domain.valueobject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Valor monetário em ponto fixo: centavos em um long mais a moeda.
+ * As contas do domínio não alocam BigDecimal; a conversão acontece só nas bordas
+ * (R2DBC e DTOs JSON). Estouro de long lança ArithmeticException.
+ */
+public record Money(long cents, Currency currency) implements Comparable<Money> {
+
+    public static final Currency BRL = Currency.getInstance("BRL");
+    public static final Money ZERO = new Money(0, BRL);
+
+    private static final int SCALE = 2;
+
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents, BRL);
+    }
+
+    /**
+     * Arredonda para centavos (HALF_UP, como o DECIMAL(10,2) do banco)
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        return ofCents(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public static BigDecimal toBigDecimal(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        if (other.cents == 0) {
+            return this;
+        }
+        return new Money(Math.addExact(cents, other.cents), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        if (other.cents == 0) {
+            return this;
+        }
+        return new Money(Math.subtractExact(cents, other.cents), currency);
+    }
+
+    public Money times(int quantity) {
+        return new Money(Math.multiplyExact(cents, quantity), currency);
+    }
+
+    public boolean isGreaterThan(Money other) {
+        requireSameCurrency(other);
+        return cents > other.cents;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + " " + toBigDecimal().toPlainString();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException(
+                    "Currency mismatch: " + currency.getCurrencyCode() + " and " + other.currency.getCurrencyCode());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.order.infrastructure.cart;
+
+import com.ecommerce.order.application.cart.Cart;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Armazenamento dos carrinhos em rascunho. As gravações são compare-and-set pela
+ * versão: só gravam se a versão guardada ainda for a esperada (0 para carrinho novo).
+ */
+public interface CartStore {
+
+    Mono<Cart> find(UUID id);
+
+    /**
+     * Grava o carrinho se a versão guardada for expectedVersion; devolve false se outra
+     * gravação chegou antes
+     */
+    Mono<Boolean> save(Cart cart, long expectedVersion);
+
+    Mono<Void> delete(UUID id);
+}
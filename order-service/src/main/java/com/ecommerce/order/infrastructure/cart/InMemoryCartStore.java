@@ -0,0 +1,77 @@
+package com.ecommerce.order.infrastructure.cart;
+
+import com.ecommerce.order.application.cart.Cart;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Carrinhos num cache local com o mesmo TTL do Redis, para testes e execução sem
+ * Redis. Guarda o documento serializado, como o RedisCartStore, para que quem lê
+ * nunca altere a cópia guardada.
+ */
+@Component
+@ConditionalOnProperty(name = "order.cart.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCartStore implements CartStore {
+
+    private record Stored(long version, byte[] document) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, Stored> carts;
+
+    public InMemoryCartStore(ObjectMapper objectMapper,
+                             @Value("${order.cart.ttl:24h}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.carts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Mono<Cart> find(UUID id) {
+        return Mono.fromCallable(() -> {
+            Stored stored = carts.getIfPresent(id);
+            return stored != null ? objectMapper.readValue(stored.document(), Cart.class) : null;
+        });
+    }
+
+    @Override
+    public Mono<Boolean> save(Cart cart, long expectedVersion) {
+        return Mono.fromCallable(() -> {
+            Stored next = new Stored(cart.getVersion(), serialize(cart));
+            boolean[] saved = {false};
+            carts.asMap().compute(cart.getId(), (id, current) -> {
+                long currentVersion = current != null ? current.version() : 0;
+                if (currentVersion != expectedVersion) {
+                    return current;
+                }
+                saved[0] = true;
+                return next;
+            });
+            return saved[0];
+        });
+    }
+
+    @Override
+    public Mono<Void> delete(UUID id) {
+        return Mono.fromRunnable(() -> carts.invalidate(id));
+    }
+
+    private byte[] serialize(Cart cart) {
+        try {
+            return objectMapper.writeValueAsBytes(cart);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.order.infrastructure.cart;
+
+import com.ecommerce.order.application.cart.Cart;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Carrinhos no Redis do docker-compose, um hash por carrinho (versão e documento
+ * JSON) com TTL renovado a cada gravação. O compare-and-set roda num script Lua,
+ * então leitura da versão e gravação são atômicas no servidor.
+ */
+@Component
+@ConditionalOnProperty(name = "order.cart.store", havingValue = "redis")
+public class RedisCartStore implements CartStore {
+
+    private static final String KEY_PREFIX = "order:cart:";
+    private static final String DOCUMENT_FIELD = "doc";
+
+    private static final RedisScript<Long> SAVE_SCRIPT = RedisScript.of("""
+            local current = redis.call('HGET', KEYS[1], 'v') or '0'
+            if current ~= ARGV[1] then
+              return 0
+            end
+            redis.call('HSET', KEYS[1], 'v', ARGV[2], 'doc', ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return 1
+            """, Long.class);
+
+    private final ObjectMapper objectMapper;
+    private final ReactiveStringRedisTemplate redis;
+    private final Duration ttl;
+
+    public RedisCartStore(ObjectMapper objectMapper,
+                          ReactiveStringRedisTemplate redis,
+                          @Value("${order.cart.ttl:24h}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.redis = redis;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Mono<Cart> find(UUID id) {
+        return redis.<String, String>opsForHash().get(key(id), DOCUMENT_FIELD)
+                .map(this::read);
+    }
+
+    @Override
+    public Mono<Boolean> save(Cart cart, long expectedVersion) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(cart))
+                .flatMap(document -> redis.execute(SAVE_SCRIPT, List.of(key(cart.getId())), List.of(
+                                Long.toString(expectedVersion), Long.toString(cart.getVersion()), document,
+                                Long.toString(ttl.toMillis())))
+                        .next())
+                .map(result -> result == 1L);
+    }
+
+    @Override
+    public Mono<Void> delete(UUID id) {
+        return redis.delete(key(id)).then();
+    }
+
+    private static String key(UUID id) {
+        return KEY_PREFIX + id;
+    }
+
+    private Cart read(String document) {
+        try {
+            return objectMapper.readValue(document, Cart.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
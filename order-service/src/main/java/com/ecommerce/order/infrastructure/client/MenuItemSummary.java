@@ -0,0 +1,28 @@
+package com.ecommerce.order.infrastructure.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Campos de MenuItemResponse (menu-service) usados na verificação de preços
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemSummary {
+
+    private UUID id;
+    private UUID restaurantId;
+    private String name;
+    private BigDecimal price;
+    private Boolean isAvailable;
+    private Integer maxQuantityPerOrder;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.order.infrastructure.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Consulta pontual ao menu-service, usada só quando o item não está no índice local
+ */
+@Component
+public class MenuServiceClient {
+
+    private static final String MENU_ITEM_PATH = "/api/v1/menu-items/{id}";
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public MenuServiceClient(WebClient.Builder webClientBuilder,
+                             @Value("${order.pricing.menu-service-url:http://menu-service}") String baseUrl,
+                             @Value("${order.pricing.lookup-timeout:2s}") Duration timeout) {
+        this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+        this.timeout = timeout;
+    }
+
+    /**
+     * Vazio quando o item não existe no menu-service
+     */
+    public Mono<MenuItemSummary> findMenuItem(UUID menuItemId) {
+        return webClient.get()
+                .uri(MENU_ITEM_PATH, menuItemId)
+                .retrieve()
+                .bodyToMono(MenuItemSummary.class)
+                .timeout(timeout)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty());
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.order.infrastructure.client;
+
+import com.ecommerce.order.application.service.RestaurantAvailabilityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Carrega a disponibilidade de todos os restaurantes uma vez na subida. Os listeners
+ * já estão rodando nesse momento, então eventos recebidos durante a carga não se
+ * perdem; o mais novo de cada restaurante prevalece.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.restaurant-availability.bootstrap.enabled", havingValue = "true", matchIfMissing = true)
+public class RestaurantAvailabilityLoader {
+
+    private static final String RESTAURANTS_PATH = "/api/v1/restaurants";
+
+    private final WebClient webClient;
+    private final RestaurantAvailabilityService availabilityService;
+    private final int maxRetries;
+
+    public RestaurantAvailabilityLoader(WebClient.Builder webClientBuilder,
+                                        RestaurantAvailabilityService availabilityService,
+                                        @Value("${order.restaurant-availability.bootstrap.url:http://restaurant-service}") String baseUrl,
+                                        @Value("${order.restaurant-availability.bootstrap.max-retries:10}") int maxRetries) {
+        this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+        this.availabilityService = availabilityService;
+        this.maxRetries = maxRetries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        load().subscribe();
+    }
+
+    public Mono<Long> load() {
+        return webClient.get()
+                .uri(RESTAURANTS_PATH)
+                .retrieve()
+                .bodyToFlux(RestaurantSummary.class)
+                .doOnNext(availabilityService::load)
+                .count()
+                .retryWhen(Retry.backoff(maxRetries, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .doOnSuccess(count -> log.info("Loaded availability of {} restaurants", count))
+                .onErrorResume(error -> {
+                    log.error("Failed to load restaurant availability: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.order.infrastructure.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Consulta pontual ao restaurant-service, usada só quando o restaurante não está na visão local
+ */
+@Component
+public class RestaurantServiceClient {
+
+    private static final String RESTAURANT_PATH = "/api/v1/restaurants/{id}";
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public RestaurantServiceClient(WebClient.Builder webClientBuilder,
+                                   @Value("${order.checkout.restaurant-service-url:http://restaurant-service}") String baseUrl,
+                                   @Value("${order.checkout.lookup-timeout:2s}") Duration timeout) {
+        this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+        this.timeout = timeout;
+    }
+
+    /**
+     * Vazio quando o restaurante não existe no restaurant-service
+     */
+    public Mono<RestaurantSummary> findRestaurant(UUID restaurantId) {
+        return webClient.get()
+                .uri(RESTAURANT_PATH, restaurantId)
+                .retrieve()
+                .bodyToMono(RestaurantSummary.class)
+                .timeout(timeout)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty());
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.order.infrastructure.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Campos de RestaurantResponse (restaurant-service) usados na admissão e validação de pedidos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantSummary {
+
+    private UUID id;
+    private String status;
+    private Boolean isOpen;
+    private Boolean isAcceptingOrders;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private BigDecimal deliveryRadiusKm;
+    private BigDecimal minOrderValue;
+    private LocalDateTime updatedAt;
+}
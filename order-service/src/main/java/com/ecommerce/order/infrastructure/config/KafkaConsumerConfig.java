@@ -1,8 +1,10 @@
 // order-service/src/main/java/com/ecommerce/order/infrastructure/config/KafkaConsumerConfig.java
 package com.ecommerce.order.infrastructure.config;
 
+import com.ecommerce.order.infrastructure.messaging.event.MenuItemEvent;
 import com.ecommerce.order.infrastructure.messaging.event.RestaurantEvent;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -69,4 +71,69 @@ public class KafkaConsumerConfig {
 
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * restaurant-events em paralelo por restaurante dentro da partição: o listener só
+     * despacha, e cada registro é confirmado quando termina. Com async acks o container
+     * guarda as confirmações fora de ordem e só commita o maior offset contíguo.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, RestaurantEvent> restaurantEventsListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, RestaurantEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(3);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+
+        // Só erros de desserialização chegam aqui; falhas de processamento são tratadas no consumer
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(0L, 0L)));
+
+        return factory;
+    }
+
+    /**
+     * Consumo de order-events para o push SSE e as filas de cozinha: valor lido como
+     * bytes e decodificado conforme o header content-type. Falhas ao atualizar a fila
+     * são reentregues 3 vezes com 1s de intervalo, depois o evento é registrado e descartado
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> orderEventsListenerContainerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setConcurrency(1);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1000L, 3)));
+        return factory;
+    }
+
+    /**
+     * Consumo de menu-events para o índice local de preços: sem retry, o próximo
+     * evento do item ou a consulta remota corrigem um evento perdido
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, MenuItemEvent> menuEventsListenerContainerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.ecommerce.*");
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, MenuItemEvent.class.getName());
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, MenuItemEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setConcurrency(1);
+        return factory;
+    }
+}
@@ -1,21 +1,73 @@
 // order-service/src/main/java/com/ecommerce/order/infrastructure/config/R2dbcConfig.java
 package com.ecommerce.order.infrastructure.config;
 
+import com.ecommerce.order.domain.valueobject.Money;
+import com.ecommerce.order.infrastructure.replica.ReadOnlyRoutingTransactionManager;
 import io.r2dbc.spi.ConnectionFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
 import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
-import org.springframework.r2dbc.connection.R2dbcTransactionManager;
 import org.springframework.transaction.ReactiveTransactionManager;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
 @Configuration
-@EnableR2dbcAuditing
+@EnableR2dbcAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
 @EnableR2dbcRepositories(basePackages = "com.ecommerce.order.infrastructure.repository")
 public class R2dbcConfig {
 
+    /**
+     * Transações somente leitura vão para uma réplica quando o roteamento está ligado
+     */
     @Bean
     public ReactiveTransactionManager transactionManager(ConnectionFactory connectionFactory) {
-        return new R2dbcTransactionManager(connectionFactory);
+        return new ReadOnlyRoutingTransactionManager(connectionFactory);
+    }
+
+    /**
+     * Datas de auditoria na precisão do TIMESTAMP do banco (microssegundos), para que
+     * cursores e documentos de order_views carreguem o mesmo valor gravado na coluna
+     */
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    /**
+     * Colunas DECIMAL(10,2) de valores viram Money no domínio
+     */
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(ConnectionFactory connectionFactory) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(connectionFactory),
+                List.of(new MoneyWritingConverter(), new MoneyReadingConverter()));
+    }
+
+    @WritingConverter
+    static class MoneyWritingConverter implements Converter<Money, BigDecimal> {
+
+        @Override
+        public BigDecimal convert(Money source) {
+            return source.toBigDecimal();
+        }
+    }
+
+    @ReadingConverter
+    static class MoneyReadingConverter implements Converter<BigDecimal, Money> {
+
+        @Override
+        public Money convert(BigDecimal source) {
+            return Money.of(source);
+        }
     }
-}
\ No newline at end of file
+}
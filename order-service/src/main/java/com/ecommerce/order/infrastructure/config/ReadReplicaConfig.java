@@ -0,0 +1,41 @@
+package com.ecommerce.order.infrastructure.config;
+
+import com.ecommerce.order.infrastructure.replica.ReplicaRoutingConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Substitui o ConnectionFactory do Spring Boot por um roteador entre o primário
+ * (spring.r2dbc) e as réplicas de leitura, cada uma com seu pool. Réplicas usam as
+ * mesmas credenciais e tamanhos de pool do primário. Com sharding ligado as réplicas
+ * não são usadas.
+ */
+@Configuration
+@ConditionalOnExpression("${order.read-replicas.enabled:false} and !${order.sharding.enabled:false}")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ReplicaRoutingConnectionFactory connectionFactory(R2dbcProperties properties,
+                                                            @Value("${order.read-replicas.urls}") List<String> urls,
+                                                            @Value("${order.read-replicas.max-lag:2s}") Duration maxLag,
+                                                            @Value("${order.read-replicas.probe-timeout:1s}") Duration probeTimeout,
+                                                            @Value("${order.read-replicas.lag-query:}") String lagQuery) {
+        Map<String, ConnectionFactory> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            replicas.put("replica-" + i, R2dbcPools.pool(urls.get(i), properties));
+        }
+        return new ReplicaRoutingConnectionFactory(R2dbcPools.pool(properties.getUrl(), properties), replicas,
+                StringUtils.hasText(lagQuery) ? lagQuery : ReplicaRoutingConnectionFactory.DEFAULT_LAG_QUERY,
+                maxLag, probeTimeout);
+    }
+}
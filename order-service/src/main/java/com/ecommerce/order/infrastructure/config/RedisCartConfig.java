@@ -0,0 +1,18 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * O Redis só guarda carrinhos: a autoconfiguração (excluída em OrderServiceApplication)
+ * entra apenas com order.cart.store=redis. Sem a conexão também não há health
+ * indicator do Redis, e /actuator/health não fica DOWN com carrinhos em memória.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.cart.store", havingValue = "redis")
+@Import({RedisAutoConfiguration.class, RedisReactiveAutoConfiguration.class})
+public class RedisCartConfig {
+}
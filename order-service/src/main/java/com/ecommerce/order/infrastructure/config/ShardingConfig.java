@@ -0,0 +1,27 @@
+package com.ecommerce.order.infrastructure.config;
+
+import com.ecommerce.order.infrastructure.shard.ShardRoutingConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Substitui o ConnectionFactory do Spring Boot por um pool por shard de order_db,
+ * na ordem de order.sharding.urls (a posição na lista é o índice do shard).
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ShardRoutingConnectionFactory connectionFactory(R2dbcProperties properties,
+                                                          @Value("${order.sharding.urls}") List<String> urls) {
+        return new ShardRoutingConnectionFactory(urls.stream()
+                .map(url -> R2dbcPools.pool(url, properties))
+                .toList());
+    }
+}
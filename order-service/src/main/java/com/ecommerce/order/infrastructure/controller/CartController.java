@@ -0,0 +1,80 @@
+package com.ecommerce.order.infrastructure.controller;
+
+import com.ecommerce.order.application.dto.request.CheckoutCartRequest;
+import com.ecommerce.order.application.dto.request.CreateCartRequest;
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.application.dto.request.UpdateCartItemRequest;
+import com.ecommerce.order.application.dto.response.CartResponse;
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.service.CartService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/carts")
+@RequiredArgsConstructor
+@Tag(name = "Carts", description = "Draft cart APIs")
+public class CartController {
+
+    private final CartService cartService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Create an empty cart")
+    public Mono<CartResponse> createCart(@Valid @RequestBody CreateCartRequest request) {
+        return cartService.createCart(request);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get cart by ID")
+    public Mono<CartResponse> getCart(@PathVariable UUID id) {
+        return cartService.getCart(id);
+    }
+
+    @PostMapping("/{id}/items")
+    @Operation(summary = "Add an item to the cart (priced from the menu)")
+    public Mono<CartResponse> addItem(
+            @PathVariable UUID id,
+            @Valid @RequestBody OrderItemRequest request) {
+        return cartService.addItem(id, request);
+    }
+
+    @PutMapping("/{id}/items/{productId}")
+    @Operation(summary = "Update quantity and notes of a cart item")
+    public Mono<CartResponse> updateItem(
+            @PathVariable UUID id,
+            @PathVariable UUID productId,
+            @Valid @RequestBody UpdateCartItemRequest request) {
+        return cartService.updateItem(id, productId, request);
+    }
+
+    @DeleteMapping("/{id}/items/{productId}")
+    @Operation(summary = "Remove an item from the cart")
+    public Mono<CartResponse> removeItem(@PathVariable UUID id, @PathVariable UUID productId) {
+        return cartService.removeItem(id, productId);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Discard the cart")
+    public Mono<Void> deleteCart(@PathVariable UUID id) {
+        return cartService.deleteCart(id);
+    }
+
+    @PostMapping("/{id}/checkout")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Turn the cart into an order")
+    public Mono<OrderResponse> checkout(
+            @PathVariable UUID id,
+            @RequestHeader(value = OrderController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CheckoutCartRequest request) {
+        return cartService.checkout(id, request, idempotencyKey);
+    }
+}
@@ -1,19 +1,38 @@
 package com.ecommerce.order.infrastructure.controller;
 
 import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.request.OrderCursor;
+import com.ecommerce.order.application.dto.request.OrderExportFormat;
+import com.ecommerce.order.application.dto.request.OrderPageRequest;
 import com.ecommerce.order.application.dto.request.UpdateOrderStatusRequest;
 import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.dto.response.OrderStatusChangeResponse;
+import com.ecommerce.order.application.dto.response.OrderStatusUpdate;
+import com.ecommerce.order.application.dto.response.RestaurantAnalyticsResponse;
+import com.ecommerce.order.application.service.OrderAnalyticsService;
+import com.ecommerce.order.application.service.OrderExportService;
 import com.ecommerce.order.application.service.OrderService;
+import com.ecommerce.order.application.service.OrderStatusStreamService;
 import com.ecommerce.order.domain.entity.OrderStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -22,13 +41,23 @@ import java.util.UUID;
 @Tag(name = "Orders", description = "Order management APIs")
 public class OrderController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final Duration SSE_HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
     private final OrderService orderService;
+    private final OrderStatusStreamService orderStatusStreamService;
+    private final OrderAnalyticsService orderAnalyticsService;
+    private final OrderExportService orderExportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create a new order")
-    public Mono<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        return orderService.createOrder(request);
+    public Mono<OrderResponse> createOrder(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateOrderRequest request) {
+        return orderService.createOrder(request, idempotencyKey);
     }
 
     @GetMapping("/{id}")
@@ -37,28 +66,123 @@ public class OrderController {
         return orderService.getOrderById(id);
     }
 
-    @GetMapping("/customer/{customerId}")
-    @Operation(summary = "Get orders by customer")
-    public Flux<OrderResponse> getOrdersByCustomer(@PathVariable UUID customerId) {
-        return orderService.getOrdersByCustomer(customerId);
+    @GetMapping(value = "/customer/{customerId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get orders by customer (cursor paginated)")
+    public Mono<ResponseEntity<List<OrderResponse>>> getOrdersByCustomer(
+            @PathVariable UUID customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageRequest page = OrderPageRequest.of(cursor, limit);
+        return toPage(orderService.getOrdersByCustomer(customerId, page), page);
+    }
+
+    @GetMapping(value = "/customer/{customerId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream orders by customer as NDJSON")
+    public Flux<OrderResponse> streamOrdersByCustomer(
+            @PathVariable UUID customerId,
+            @RequestParam(required = false) String cursor) {
+        return orderService.getOrdersByCustomer(customerId, OrderPageRequest.stream(cursor));
     }
 
-    @GetMapping("/restaurant/{restaurantId}")
-    @Operation(summary = "Get orders by restaurant")
-    public Flux<OrderResponse> getOrdersByRestaurant(@PathVariable UUID restaurantId) {
-        return orderService.getOrdersByRestaurant(restaurantId);
+    @GetMapping(value = "/restaurant/{restaurantId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get orders by restaurant (cursor paginated)")
+    public Mono<ResponseEntity<List<OrderResponse>>> getOrdersByRestaurant(
+            @PathVariable UUID restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageRequest page = OrderPageRequest.of(cursor, limit);
+        return toPage(orderService.getOrdersByRestaurant(restaurantId, page), page);
     }
 
-    @GetMapping("/restaurant/{restaurantId}/active")
-    @Operation(summary = "Get active orders by restaurant")
-    public Flux<OrderResponse> getActiveOrdersByRestaurant(@PathVariable UUID restaurantId) {
-        return orderService.getActiveOrdersByRestaurant(restaurantId);
+    @GetMapping(value = "/restaurant/{restaurantId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream orders by restaurant as NDJSON")
+    public Flux<OrderResponse> streamOrdersByRestaurant(
+            @PathVariable UUID restaurantId,
+            @RequestParam(required = false) String cursor) {
+        return orderService.getOrdersByRestaurant(restaurantId, OrderPageRequest.stream(cursor));
     }
 
-    @GetMapping("/status/{status}")
-    @Operation(summary = "Get orders by status")
-    public Flux<OrderResponse> getOrdersByStatus(@PathVariable OrderStatus status) {
-        return orderService.getOrdersByStatus(status);
+    /**
+     * Download do período [from, to] em CSV ou NDJSON, escrito direto na resposta
+     */
+    @GetMapping("/restaurant/{restaurantId}/export")
+    @Operation(summary = "Export orders of a restaurant for a date range (CSV or NDJSON)")
+    public Mono<Void> exportOrdersByRestaurant(
+            @PathVariable UUID restaurantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String format,
+            ServerHttpResponse response) {
+        return Mono.defer(() -> {
+            OrderExportFormat exportFormat = OrderExportFormat.of(format);
+            Flux<DataBuffer> body = orderExportService.export(
+                    restaurantId, from, to, exportFormat, response.bufferFactory());
+            response.getHeaders().setContentType(exportFormat.mediaType());
+            response.getHeaders().setContentDisposition(ContentDisposition.attachment()
+                    .filename("orders-" + restaurantId + "-" + from + "-" + to + "." + exportFormat.extension())
+                    .build());
+            return response.writeWith(body);
+        });
+    }
+
+    @GetMapping(value = "/restaurant/{restaurantId}/active", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get active orders by restaurant (cursor paginated, oldest first)")
+    public Mono<ResponseEntity<List<OrderResponse>>> getActiveOrdersByRestaurant(
+            @PathVariable UUID restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageRequest page = OrderPageRequest.of(cursor, limit);
+        return toPage(orderService.getActiveOrdersByRestaurant(restaurantId, page), page);
+    }
+
+    @GetMapping(value = "/restaurant/{restaurantId}/active", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream active orders by restaurant as NDJSON")
+    public Flux<OrderResponse> streamActiveOrdersByRestaurant(
+            @PathVariable UUID restaurantId,
+            @RequestParam(required = false) String cursor) {
+        return orderService.getActiveOrdersByRestaurant(restaurantId, OrderPageRequest.stream(cursor));
+    }
+
+    @GetMapping(value = "/status/{status}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get orders by status (cursor paginated)")
+    public Mono<ResponseEntity<List<OrderResponse>>> getOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageRequest page = OrderPageRequest.of(cursor, limit);
+        return toPage(orderService.getOrdersByStatus(status, page), page);
+    }
+
+    @GetMapping(value = "/status/{status}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream orders by status as NDJSON")
+    public Flux<OrderResponse> streamOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) String cursor) {
+        return orderService.getOrdersByStatus(status, OrderPageRequest.stream(cursor));
+    }
+
+    @GetMapping(value = "/{id}/history", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream the status timeline of an order")
+    public Flux<OrderStatusChangeResponse> getOrderTimeline(@PathVariable UUID id) {
+        return orderService.getOrderTimeline(id);
+    }
+
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream status changes of an order (SSE)")
+    public Flux<ServerSentEvent<OrderStatusUpdate>> streamOrderStatus(@PathVariable UUID id) {
+        return toEventStream(orderStatusStreamService.streamOrder(id));
+    }
+
+    @GetMapping(value = "/restaurant/{restaurantId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream order changes of a restaurant (SSE)")
+    public Flux<ServerSentEvent<OrderStatusUpdate>> streamRestaurantOrders(@PathVariable UUID restaurantId) {
+        return toEventStream(orderStatusStreamService.subscribeToRestaurant(restaurantId));
+    }
+
+    @GetMapping("/restaurant/{restaurantId}/analytics")
+    @Operation(summary = "Sliding-window order metrics of a restaurant")
+    public Mono<RestaurantAnalyticsResponse> getRestaurantAnalytics(@PathVariable UUID restaurantId) {
+        return Mono.fromSupplier(() -> orderAnalyticsService.getRestaurantAnalytics(restaurantId));
     }
 
     @PatchMapping("/{id}/status")
@@ -76,4 +200,34 @@ public class OrderController {
             @RequestParam(required = false) String reason) {
         return orderService.cancelOrder(id, reason);
     }
+
+    /**
+     * Eventos nomeados pelo tipo, com heartbeat para manter a conexão aberta em proxies
+     */
+    private Flux<ServerSentEvent<OrderStatusUpdate>> toEventStream(Flux<OrderStatusUpdate> updates) {
+        Flux<ServerSentEvent<OrderStatusUpdate>> events = updates
+                .map(update -> ServerSentEvent.<OrderStatusUpdate>builder(update)
+                        .event(update.getEventType())
+                        .build());
+        Flux<ServerSentEvent<OrderStatusUpdate>> heartbeat = Flux.interval(SSE_HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<OrderStatusUpdate>builder().comment("heartbeat").build());
+
+        return events.publish(shared -> Flux.merge(shared, heartbeat.takeUntilOther(shared.ignoreElements())));
+    }
+
+    /**
+     * Página cheia devolve o cursor da próxima página no header X-Next-Cursor
+     */
+    private Mono<ResponseEntity<List<OrderResponse>>> toPage(Flux<OrderResponse> orders, OrderPageRequest page) {
+        return orders.collectList()
+                .map(list -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (list.size() == page.limit()) {
+                        OrderResponse last = list.get(list.size() - 1);
+                        response.header(NEXT_CURSOR_HEADER,
+                                new OrderCursor(last.getCreatedAt(), last.getId()).encode());
+                    }
+                    return response.body(list);
+                });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.ecommerce.order.infrastructure.discovery;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Divide os restaurantes entre as instâncias registradas no Eureka por rendezvous
+ * hashing: cada restaurante pertence à instância de maior peso, e a entrada ou saída
+ * de uma instância só move os restaurantes dela. Sem registro (testes, execução local)
+ * a instância é dona de todos.
+ */
+@Component
+public class RestaurantShardResolver {
+
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final String serviceId;
+
+    public RestaurantShardResolver(ObjectProvider<DiscoveryClient> discoveryClient,
+                                   ObjectProvider<Registration> registration,
+                                   @Value("${spring.application.name}") String serviceId) {
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.serviceId = serviceId;
+    }
+
+    public boolean isLocal(UUID restaurantId) {
+        Registration self = registration.getIfAvailable();
+        DiscoveryClient client = discoveryClient.getIfAvailable();
+        if (self == null || client == null) {
+            return true;
+        }
+        List<ServiceInstance> instances = client.getInstances(serviceId);
+        return instances.isEmpty() || owner(restaurantId, self.getInstanceId(), instances).equals(self.getInstanceId());
+    }
+
+    /**
+     * A própria instância sempre concorre, mesmo antes de aparecer no registro
+     */
+    static String owner(UUID restaurantId, String selfId, List<ServiceInstance> instances) {
+        String owner = selfId;
+        long best = weight(restaurantId, selfId);
+        for (ServiceInstance instance : instances) {
+            String id = instance.getInstanceId();
+            if (id == null || id.equals(selfId)) {
+                continue;
+            }
+            long w = weight(restaurantId, id);
+            if (w > best || (w == best && id.compareTo(owner) < 0)) {
+                best = w;
+                owner = id;
+            }
+        }
+        return owner;
+    }
+
+    static long weight(UUID restaurantId, String instanceId) {
+        long h = restaurantId.getMostSignificantBits() ^ Long.rotateLeft(restaurantId.getLeastSignificantBits(), 17);
+        h ^= instanceId.hashCode() * 0x9E3779B97F4A7C15L;
+        // Finalizador do SplitMix64
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
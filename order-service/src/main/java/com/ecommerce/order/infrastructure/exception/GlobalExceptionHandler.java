@@ -1,7 +1,15 @@
 package com.ecommerce.order.infrastructure.exception;
 
+import com.ecommerce.order.domain.exception.CartNotFoundException;
+import com.ecommerce.order.domain.exception.CheckoutRejectedException;
+import com.ecommerce.order.domain.exception.ConcurrentCartUpdateException;
+import com.ecommerce.order.domain.exception.ConcurrentOrderUpdateException;
+import com.ecommerce.order.domain.exception.IdempotencyKeyInProgressException;
+import com.ecommerce.order.domain.exception.IdempotencyKeyReuseException;
+import com.ecommerce.order.domain.exception.InvalidOrderItemException;
 import com.ecommerce.order.domain.exception.InvalidOrderStateException;
 import com.ecommerce.order.domain.exception.OrderNotFoundException;
+import com.ecommerce.order.domain.exception.RestaurantUnavailableException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +34,14 @@ public class GlobalExceptionHandler {
                 .body(buildError(HttpStatus.NOT_FOUND, ex.getMessage())));
     }
 
+    @ExceptionHandler(CartNotFoundException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleCartNotFound(CartNotFoundException ex) {
+        log.warn("Cart not found: {}", ex.getMessage());
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(buildError(HttpStatus.NOT_FOUND, ex.getMessage())));
+    }
+
     @ExceptionHandler(InvalidOrderStateException.class)
     public Mono<ResponseEntity<Map<String, Object>>> handleInvalidState(InvalidOrderStateException ex) {
         log.warn("Invalid order state: {}", ex.getMessage());
@@ -34,6 +50,64 @@ public class GlobalExceptionHandler {
                 .body(buildError(HttpStatus.CONFLICT, ex.getMessage())));
     }
 
+    @ExceptionHandler(ConcurrentOrderUpdateException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleConcurrentUpdate(ConcurrentOrderUpdateException ex) {
+        log.warn("Concurrent order update: {}", ex.getMessage());
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(buildError(HttpStatus.CONFLICT, ex.getMessage())));
+    }
+
+    @ExceptionHandler(ConcurrentCartUpdateException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleConcurrentCartUpdate(ConcurrentCartUpdateException ex) {
+        log.warn("Concurrent cart update: {}", ex.getMessage());
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(buildError(HttpStatus.CONFLICT, ex.getMessage())));
+    }
+
+    @ExceptionHandler(RestaurantUnavailableException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleRestaurantUnavailable(RestaurantUnavailableException ex) {
+        log.warn("Restaurant unavailable: {}", ex.getMessage());
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(buildError(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage())));
+    }
+
+    @ExceptionHandler(CheckoutRejectedException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleCheckoutRejected(CheckoutRejectedException ex) {
+        log.warn("Checkout rejected: {}", ex.getMessage());
+        Map<String, Object> error = buildError(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+        error.put("failedChecks", ex.getFailedChecks());
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(error));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleIdempotencyKeyReuse(IdempotencyKeyReuseException ex) {
+        log.warn("Idempotency key reuse: {}", ex.getMessage());
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(buildError(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage())));
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        log.warn("Idempotency key in progress: {}", ex.getMessage());
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(buildError(HttpStatus.CONFLICT, ex.getMessage())));
+    }
+
+    @ExceptionHandler(InvalidOrderItemException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleInvalidItem(InvalidOrderItemException ex) {
+        log.warn("Invalid order item: {}", ex.getMessage());
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(buildError(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage())));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public Mono<ResponseEntity<Map<String, Object>>> handleIllegalArgument(IllegalArgumentException ex) {
         log.warn("Invalid argument: {}", ex.getMessage());
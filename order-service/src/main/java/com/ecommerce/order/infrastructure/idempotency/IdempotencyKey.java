@@ -0,0 +1,47 @@
+package com.ecommerce.order.infrastructure.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Chave Idempotency-Key já processada por um cliente, com o hash da requisição e o
+ * OrderResponse devolvido na primeira chamada (JSON em bytes), nulo enquanto a chave
+ * só reserva order_id. A PK é (customer_id, idempotency_key). Vale até expires_at.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("idempotency_keys")
+public class IdempotencyKey {
+
+    @Column("customer_id")
+    private UUID customerId;
+
+    @Id
+    @Column("idempotency_key")
+    private String key;
+
+    @Column("request_hash")
+    private byte[] requestHash;
+
+    @Column("order_id")
+    private UUID orderId;
+
+    @Column("response")
+    private byte[] response;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+}
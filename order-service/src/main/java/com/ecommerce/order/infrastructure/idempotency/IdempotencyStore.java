@@ -0,0 +1,184 @@
+package com.ecommerce.order.infrastructure.idempotency;
+
+import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.mapper.OrderViewMapper;
+import com.ecommerce.order.domain.exception.IdempotencyKeyReuseException;
+import com.ecommerce.order.infrastructure.repository.IdempotencyKeyRepository;
+import com.ecommerce.order.infrastructure.shard.OrderShards;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Respostas já devolvidas por Idempotency-Key: um LRU limitado em memória na frente
+ * da tabela idempotency_keys (lookup pela PK). A chave vale só para o cliente que a
+ * usou, e uma chave repetida com outro corpo de requisição é recusada. As chaves
+ * vencem após o TTL. A tabela usada é a do shard corrente, o do cliente: a chave é
+ * reservada com o id do pedido antes de ele ser criado no shard do restaurante e
+ * recebe a resposta depois. Reserva sem resposta há mais de claim-timeout é de uma
+ * requisição que não terminou e pode ser assumida por outra.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyKeyRepository repository;
+    private final OrderViewMapper orderViewMapper;
+    private final OrderShards orderShards;
+    private final ObjectWriter requestWriter;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final Cache<Scope, Recorded> cache;
+
+    public IdempotencyStore(IdempotencyKeyRepository repository,
+                            OrderViewMapper orderViewMapper,
+                            OrderShards orderShards,
+                            ObjectMapper objectMapper,
+                            @Value("${order.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${order.idempotency.claim-timeout:1m}") Duration claimTimeout,
+                            @Value("${order.idempotency.cache-size:10000}") long cacheSize) {
+        this.repository = repository;
+        this.orderViewMapper = orderViewMapper;
+        this.orderShards = orderShards;
+        this.requestWriter = objectMapper.writerFor(CreateOrderRequest.class);
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    private record Scope(UUID customerId, String key) {
+    }
+
+    private record Recorded(byte[] requestHash, OrderResponse response) {
+    }
+
+    /**
+     * Chave já usada pelo cliente: o pedido reservado e, depois que ele foi criado, a resposta
+     */
+    public record Claim(UUID orderId, OrderResponse response, LocalDateTime claimedAt) {
+
+        public boolean isCompleted() {
+            return response != null;
+        }
+    }
+
+    /**
+     * SHA-256 do corpo da requisição como o serviço o recebeu
+     */
+    public byte[] fingerprint(CreateOrderRequest request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(requestWriter.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint order request", e);
+        }
+    }
+
+    /**
+     * Reserva ou resposta gravada para a chave do cliente; IdempotencyKeyReuseException
+     * se a chave foi usada com outra requisição
+     */
+    public Mono<Claim> find(UUID customerId, String key, byte[] requestHash) {
+        return Mono.defer(() -> {
+            Scope scope = new Scope(customerId, key);
+            Recorded cached = cache.getIfPresent(scope);
+            if (cached != null) {
+                return verified(cached.requestHash(), requestHash, key)
+                        .thenReturn(new Claim(cached.response().getId(), cached.response(), null));
+            }
+            return repository.findActive(customerId, key, LocalDateTime.now())
+                    .flatMap(stored -> verified(stored.getRequestHash(), requestHash, key).thenReturn(stored))
+                    .map(stored -> new Claim(stored.getOrderId(),
+                            stored.getResponse() != null ? orderViewMapper.fromDocument(stored.getResponse()) : null,
+                            stored.getCreatedAt()))
+                    .doOnNext(claim -> {
+                        if (claim.isCompleted()) {
+                            cache.put(scope, new Recorded(requestHash, claim.response()));
+                        }
+                    });
+        });
+    }
+
+    private static Mono<Void> verified(byte[] stored, byte[] requestHash, String key) {
+        return MessageDigest.isEqual(stored, requestHash)
+                ? Mono.empty()
+                : Mono.error(new IdempotencyKeyReuseException(key));
+    }
+
+    /**
+     * Reserva a chave para o pedido que vai ser criado; falha com DuplicateKeyException
+     * se outra requisição do cliente com a mesma chave reservou primeiro
+     */
+    public Mono<Void> claim(UUID customerId, String key, byte[] requestHash, UUID orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        return repository.deleteExpired(customerId, key, now)
+                .then(repository.insertClaim(customerId, key, requestHash, orderId, now, now.plus(ttl)))
+                .then();
+    }
+
+    /**
+     * Assume a reserva abandonada de staleOrderId; DuplicateKeyException se outra
+     * requisição chegou antes
+     */
+    public Mono<Void> takeOver(UUID customerId, String key, UUID staleOrderId, UUID orderId) {
+        return repository.takeOverClaim(customerId, key, staleOrderId, orderId, LocalDateTime.now())
+                .flatMap(updated -> updated == 1
+                        ? Mono.<Void>empty()
+                        : Mono.error(new DuplicateKeyException("Idempotency-Key " + key + " was claimed again")));
+    }
+
+    public boolean isAbandoned(Claim claim) {
+        return !claim.isCompleted() && claim.claimedAt() != null
+                && claim.claimedAt().isBefore(LocalDateTime.now().minus(claimTimeout));
+    }
+
+    /**
+     * Grava a resposta do pedido criado na reserva
+     */
+    public Mono<Void> complete(UUID customerId, String key, OrderResponse response) {
+        return repository.complete(customerId, key, response.getId(), orderViewMapper.toDocument(response)).then();
+    }
+
+    /**
+     * Desfaz a reserva de um pedido que não chegou a ser criado, para a chave poder ser repetida
+     */
+    public Mono<Void> release(UUID customerId, String key, UUID orderId) {
+        return repository.release(customerId, key, orderId).then();
+    }
+
+    /**
+     * Só depois de complete, para o cache nunca apontar para um pedido desfeito
+     */
+    public void remember(UUID customerId, String key, byte[] requestHash, OrderResponse response) {
+        cache.put(new Scope(customerId, key), new Recorded(requestHash, response));
+    }
+
+    @Scheduled(cron = "${order.idempotency.purge-cron:0 15 * * * *}")
+    public Mono<Integer> purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        return orderShards.onEach(shard -> repository.deleteAllExpired(now))
+                .reduce(0, Integer::sum)
+                .doOnNext(purged -> log.debug("Purged {} expired idempotency keys", purged))
+                .onErrorResume(error -> {
+                    log.error("Failed to purge idempotency keys: {}", error.getMessage());
+                    return Mono.just(0);
+                });
+    }
+}
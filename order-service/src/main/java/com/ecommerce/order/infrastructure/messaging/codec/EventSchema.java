@@ -0,0 +1,89 @@
+package com.ecommerce.order.infrastructure.messaging.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema de um evento binário: campos na ordem de escrita. O id é derivado do
+ * conteúdo, então instâncias diferentes chegam ao mesmo id sem coordenação.
+ */
+public record EventSchema(String subject, int version, List<Field> fields) {
+
+    public enum Type {
+        STRING, LONG, UUID, ENUM,
+        /** Valor monetário: centavos como LONG */
+        DECIMAL2
+    }
+
+    public record Field(String name, Type type, boolean nullable, List<String> symbols) {
+
+        public static Field of(String name, Type type) {
+            return new Field(name, type, false, List.of());
+        }
+
+        public static Field optional(String name, Type type) {
+            return new Field(name, type, true, List.of());
+        }
+
+        public static Field enumOf(String name, boolean nullable, List<String> symbols) {
+            return new Field(name, Type.ENUM, nullable, List.copyOf(symbols));
+        }
+    }
+
+    public int id() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical().getBytes(StandardCharsets.UTF_8));
+            return ((digest[0] & 0x7F) << 24) | ((digest[1] & 0xFF) << 16) | ((digest[2] & 0xFF) << 8) | (digest[3] & 0xFF);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Forma canônica (sem a versão) usada no id
+     */
+    String canonical() {
+        StringBuilder canonical = new StringBuilder(subject);
+        for (Field field : fields) {
+            canonical.append('|').append(field.name()).append(':').append(field.type())
+                    .append(field.nullable() ? "?" : "").append(field.symbols());
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * Problemas que impedem leitores deste schema de ler dados do anterior e vice-versa:
+     * campo existente não pode mudar de tipo nem deixar de ser opcional, só campos
+     * opcionais podem ser removidos ou adicionados, e símbolos de enum só podem ser acrescentados
+     */
+    public List<String> incompatibilitiesWith(EventSchema previous) {
+        List<String> problems = new ArrayList<>();
+        Map<String, Field> current = new HashMap<>();
+        fields.forEach(field -> current.put(field.name(), field));
+
+        for (Field old : previous.fields()) {
+            Field field = current.remove(old.name());
+            if (field == null) {
+                if (!old.nullable()) {
+                    problems.add("required field " + old.name() + " removed");
+                }
+            } else if (field.type() != old.type()) {
+                problems.add("field " + old.name() + " changed from " + old.type() + " to " + field.type());
+            } else if (field.nullable() != old.nullable()) {
+                problems.add("field " + old.name() + " changed nullability");
+            } else if (field.symbols().size() < old.symbols().size()
+                    || !field.symbols().subList(0, old.symbols().size()).equals(old.symbols())) {
+                problems.add("symbols of " + old.name() + " can only be appended");
+            }
+        }
+        current.values().stream()
+                .filter(field -> !field.nullable())
+                .forEach(field -> problems.add("new field " + field.name() + " must be optional"));
+        return problems;
+    }
+}
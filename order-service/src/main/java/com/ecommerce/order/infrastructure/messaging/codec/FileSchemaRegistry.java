@@ -0,0 +1,118 @@
+package com.ecommerce.order.infrastructure.messaging.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Registro de schemas local, um arquivo JSON por schema em {@code <dir>/<subject>/<id>.json}.
+ * Faz o papel de um schema registry em desenvolvimento: um diretório compartilhado
+ * entre produtores e consumidores basta. Novas versões passam pela checagem de
+ * compatibilidade contra a última versão do subject.
+ */
+@Slf4j
+@Component
+public class FileSchemaRegistry {
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final Map<Integer, EventSchema> byId = new ConcurrentHashMap<>();
+
+    public FileSchemaRegistry(@Value("${order.events.schema-registry.dir:schema-registry}") Path directory,
+                              ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Registra o schema (idempotente) e devolve o id
+     */
+    public synchronized int register(EventSchema schema) {
+        int id = schema.id();
+        Path file = directory.resolve(schema.subject()).resolve(id + ".json");
+        if (Files.exists(file)) {
+            byId.putIfAbsent(id, schema);
+            return id;
+        }
+
+        latest(schema.subject()).ifPresent(previous -> {
+            if (previous.version() >= schema.version()) {
+                throw new IllegalStateException("Schema " + schema.subject() + " v" + schema.version()
+                        + " is not newer than registered v" + previous.version());
+            }
+            var problems = schema.incompatibilitiesWith(previous);
+            if (!problems.isEmpty()) {
+                throw new IllegalStateException("Schema " + schema.subject() + " v" + schema.version()
+                        + " is incompatible with v" + previous.version() + ": " + problems);
+            }
+        });
+
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "schema", ".tmp");
+            objectMapper.writeValue(temp.toFile(), schema);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to register schema " + schema.subject(), e);
+        }
+        byId.put(id, schema);
+        log.info("Registered schema {} v{} with id {}", schema.subject(), schema.version(), id);
+        return id;
+    }
+
+    /**
+     * Schema de escrita de uma mensagem; vazio se nenhum subject conhece o id
+     */
+    public Optional<EventSchema> findById(int id) {
+        EventSchema cached = byId.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try (Stream<Path> subjects = Files.list(directory)) {
+            return subjects.map(subject -> subject.resolve(id + ".json"))
+                    .filter(Files::exists)
+                    .findFirst()
+                    .map(this::read)
+                    .map(schema -> {
+                        byId.put(id, schema);
+                        return schema;
+                    });
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Optional<EventSchema> latest(String subject) {
+        Path subjectDir = directory.resolve(subject);
+        if (!Files.isDirectory(subjectDir)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(subjectDir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".json"))
+                    .map(this::read)
+                    .max(Comparator.comparingInt(EventSchema::version));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list schemas of " + subject, e);
+        }
+    }
+
+    private EventSchema read(Path file) {
+        try {
+            return objectMapper.readValue(file.toFile(), EventSchema.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable schema " + file, e);
+        }
+    }
+}
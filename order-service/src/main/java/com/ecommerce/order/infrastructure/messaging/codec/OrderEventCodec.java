@@ -0,0 +1,264 @@
+package com.ecommerce.order.infrastructure.messaging.codec;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.infrastructure.messaging.event.OrderEventMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static com.ecommerce.order.infrastructure.messaging.codec.EventSchema.Field;
+import static com.ecommerce.order.infrastructure.messaging.codec.EventSchema.Type;
+
+/**
+ * Codifica os eventos de order-events em JSON (padrão, lido por qualquer consumidor)
+ * ou em binário compacto: byte mágico 0, id do schema (int32) e os campos na ordem do
+ * schema, com inteiros em varint zigzag, UUIDs em 16 bytes e enums pelo índice do
+ * símbolo. O header content-type diz ao consumidor qual dos dois veio; a leitura
+ * binária usa o schema do produtor e associa os campos por nome, então campos novos
+ * ou removidos não quebram nenhum dos lados. Se o schema não puder ser registrado,
+ * o produtor volta para JSON.
+ */
+@Slf4j
+@Component
+public class OrderEventCodec {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String JSON = "application/json";
+    public static final String BINARY = "application/vnd.ecommerce.order-event.v1+binary";
+
+    private static final byte MAGIC = 0;
+    private static final List<String> STATUSES = Arrays.stream(OrderStatus.values()).map(Enum::name).toList();
+
+    static final EventSchema SCHEMA = new EventSchema("order-events", 2, List.of(
+            Field.enumOf("eventType", false, List.of(OrderEventMessage.ORDER_CREATED,
+                    OrderEventMessage.ORDER_STATUS_CHANGED, OrderEventMessage.ORDER_CANCELLED)),
+            Field.of("orderId", Type.UUID),
+            Field.of("customerId", Type.UUID),
+            Field.of("restaurantId", Type.UUID),
+            Field.enumOf("status", true, STATUSES),
+            Field.enumOf("previousStatus", true, STATUSES),
+            Field.enumOf("newStatus", true, STATUSES),
+            Field.optional("total", Type.DECIMAL2),
+            Field.optional("reason", Type.STRING),
+            Field.optional("preparationMillis", Type.LONG),
+            Field.optional("version", Type.LONG),
+            Field.of("timestamp", Type.LONG)));
+
+    /** Acesso aos campos sem reflexão; enums trafegam pelo nome */
+    private static final Map<String, Function<OrderEventMessage, Object>> GETTERS = new LinkedHashMap<>();
+    private static final Map<String, BiConsumer<OrderEventMessage, Object>> SETTERS = new LinkedHashMap<>();
+
+    static {
+        field("eventType", OrderEventMessage::getEventType, (m, v) -> m.setEventType((String) v));
+        field("orderId", OrderEventMessage::getOrderId, (m, v) -> m.setOrderId((UUID) v));
+        field("customerId", OrderEventMessage::getCustomerId, (m, v) -> m.setCustomerId((UUID) v));
+        field("restaurantId", OrderEventMessage::getRestaurantId, (m, v) -> m.setRestaurantId((UUID) v));
+        field("status", m -> name(m.getStatus()), (m, v) -> m.setStatus(status(v)));
+        field("previousStatus", m -> name(m.getPreviousStatus()), (m, v) -> m.setPreviousStatus(status(v)));
+        field("newStatus", m -> name(m.getNewStatus()), (m, v) -> m.setNewStatus(status(v)));
+        field("total", OrderEventMessage::getTotal, (m, v) -> m.setTotal((BigDecimal) v));
+        field("reason", OrderEventMessage::getReason, (m, v) -> m.setReason((String) v));
+        field("preparationMillis", OrderEventMessage::getPreparationMillis, (m, v) -> m.setPreparationMillis((Long) v));
+        field("version", OrderEventMessage::getVersion, (m, v) -> m.setVersion((Long) v));
+        field("timestamp", OrderEventMessage::getTimestamp, (m, v) -> m.setTimestamp((Long) v));
+    }
+
+    public record Encoded(String contentType, byte[] body) {
+    }
+
+    private final FileSchemaRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final int schemaId;
+
+    public OrderEventCodec(FileSchemaRegistry registry,
+                           ObjectMapper objectMapper,
+                           @Value("${order.events.format:json}") String format) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+        this.schemaId = "binary".equalsIgnoreCase(format) ? registerSchema() : -1;
+    }
+
+    public boolean isBinary() {
+        return schemaId >= 0;
+    }
+
+    public Encoded encode(OrderEventMessage message) {
+        if (!isBinary()) {
+            return new Encoded(JSON, toJson(message));
+        }
+        Writer writer = new Writer();
+        writer.out.write(MAGIC);
+        writer.writeInt(schemaId);
+        for (Field field : SCHEMA.fields()) {
+            writer.write(field, GETTERS.get(field.name()).apply(message));
+        }
+        return new Encoded(BINARY, writer.out.toByteArray());
+    }
+
+    /**
+     * Sem header (produtores antigos) o payload é JSON
+     */
+    public OrderEventMessage decode(byte[] body, String contentType) throws IOException {
+        if (!BINARY.equals(contentType)) {
+            return objectMapper.readValue(body, OrderEventMessage.class);
+        }
+        ByteBuffer in = ByteBuffer.wrap(body);
+        if (in.get() != MAGIC) {
+            throw new IOException("Unknown binary event format");
+        }
+        int id = in.getInt();
+        EventSchema writerSchema = registry.findById(id)
+                .orElseThrow(() -> new IOException("Unknown schema id " + id));
+
+        OrderEventMessage message = new OrderEventMessage();
+        for (Field field : writerSchema.fields()) {
+            Object value = read(in, field);
+            BiConsumer<OrderEventMessage, Object> setter = SETTERS.get(field.name());
+            if (setter != null) {
+                setter.accept(message, value);
+            }
+        }
+        return message;
+    }
+
+    private int registerSchema() {
+        try {
+            return registry.register(SCHEMA);
+        } catch (RuntimeException e) {
+            log.warn("Could not register order event schema, publishing JSON instead: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private byte[] toJson(OrderEventMessage message) {
+        try {
+            return objectMapper.writeValueAsBytes(message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Object read(ByteBuffer in, Field field) {
+        if (field.nullable() && in.get() == 0) {
+            return null;
+        }
+        return switch (field.type()) {
+            case STRING -> {
+                byte[] bytes = new byte[(int) readLong(in)];
+                in.get(bytes);
+                yield new String(bytes, StandardCharsets.UTF_8);
+            }
+            case LONG -> readLong(in);
+            case UUID -> new UUID(in.getLong(), in.getLong());
+            case ENUM -> field.symbols().get((int) readLong(in));
+            case DECIMAL2 -> BigDecimal.valueOf(readLong(in), 2);
+        };
+    }
+
+    private static long readLong(ByteBuffer in) {
+        long raw = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            raw |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private static final class Writer {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(96);
+
+        void write(Field field, Object value) {
+            if (field.nullable()) {
+                out.write(value == null ? 0 : 1);
+                if (value == null) {
+                    return;
+                }
+            } else if (value == null) {
+                throw new IllegalArgumentException("Field " + field.name() + " is required");
+            }
+            switch (field.type()) {
+                case STRING -> {
+                    byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    writeLong(bytes.length);
+                    out.writeBytes(bytes);
+                }
+                case LONG -> writeLong((Long) value);
+                case UUID -> {
+                    writeRawLong(((UUID) value).getMostSignificantBits());
+                    writeRawLong(((UUID) value).getLeastSignificantBits());
+                }
+                case ENUM -> {
+                    int index = field.symbols().indexOf((String) value);
+                    if (index < 0) {
+                        throw new IllegalArgumentException("Unknown symbol " + value + " for " + field.name());
+                    }
+                    writeLong(index);
+                }
+                case DECIMAL2 -> writeLong(((BigDecimal) value).movePointRight(2).longValueExact());
+            }
+        }
+
+        void writeInt(int value) {
+            out.write(value >>> 24);
+            out.write(value >>> 16);
+            out.write(value >>> 8);
+            out.write(value);
+        }
+
+        void writeLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                out.write((int) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            out.write((int) zigzag);
+        }
+
+        void writeRawLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+    }
+
+    private static void field(String name,
+                              Function<OrderEventMessage, Object> getter,
+                              BiConsumer<OrderEventMessage, Object> setter) {
+        GETTERS.put(name, getter);
+        SETTERS.put(name, setter);
+    }
+
+    private static String name(OrderStatus status) {
+        return status != null ? status.name() : null;
+    }
+
+    /** Símbolo desconhecido (schema mais novo do produtor) vira nulo */
+    private static OrderStatus status(Object symbol) {
+        if (symbol == null) {
+            return null;
+        }
+        try {
+            return OrderStatus.valueOf((String) symbol);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
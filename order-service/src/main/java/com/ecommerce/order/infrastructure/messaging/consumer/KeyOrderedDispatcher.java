@@ -0,0 +1,64 @@
+package com.ecommerce.order.infrastructure.messaging.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Processa registros de chaves diferentes em paralelo e os da mesma chave em ordem:
+ * cada chave tem uma fila (cadeia de futures) que só existe enquanto há trabalho
+ * pendente. No máximo {@code maxInFlight} registros ficam em andamento; acima disso
+ * a thread do consumer espera, segurando o próximo poll.
+ */
+@Slf4j
+@Component
+public class KeyOrderedDispatcher {
+
+    private static final CompletableFuture<Void> IDLE = CompletableFuture.completedFuture(null);
+
+    private final Map<String, CompletableFuture<Void>> lanes = new ConcurrentHashMap<>();
+    private final Semaphore inFlight;
+
+    public KeyOrderedDispatcher(@Value("${order.restaurant-events.max-in-flight:256}") int maxInFlight) {
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Agenda a tarefa depois das anteriores da mesma chave. {@code onDone} roda quando
+     * ela termina, com sucesso ou não (falhas ficam a cargo da tarefa).
+     */
+    public void dispatch(String key, Supplier<Mono<Void>> task, Runnable onDone) {
+        inFlight.acquireUninterruptibly();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> previous = lanes.put(key, done);
+
+        (previous != null ? previous : IDLE)
+                .thenCompose(ignored -> Mono.defer(task)
+                        .onErrorResume(error -> {
+                            log.error("Task for key {} failed: {}", key, error.getMessage());
+                            return Mono.empty();
+                        })
+                        .toFuture())
+                .whenComplete((ignored, error) -> {
+                    inFlight.release();
+                    try {
+                        onDone.run();
+                    } finally {
+                        lanes.remove(key, done);
+                        done.complete(null);
+                    }
+                });
+    }
+
+    /** Chaves com trabalho pendente */
+    public int activeKeys() {
+        return lanes.size();
+    }
+}
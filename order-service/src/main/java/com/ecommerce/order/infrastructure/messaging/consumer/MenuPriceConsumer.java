@@ -0,0 +1,28 @@
+package com.ecommerce.order.infrastructure.messaging.consumer;
+
+import com.ecommerce.order.application.service.MenuPriceService;
+import com.ecommerce.order.infrastructure.messaging.event.MenuItemEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lê menu-events com um group id exclusivo por instância, para que o índice de
+ * preços de cada nó receba as mudanças de todos os itens
+ */
+@Component
+@RequiredArgsConstructor
+public class MenuPriceConsumer {
+
+    private final MenuPriceService menuPriceService;
+
+    @KafkaListener(
+            topics = "${spring.kafka.topics.menu-events:menu-events}",
+            groupId = "${spring.application.name}-menu-prices-${random.uuid}",
+            containerFactory = "menuEventsListenerContainerFactory",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void handleMenuItemEvent(MenuItemEvent event) {
+        menuPriceService.apply(event);
+    }
+}
@@ -0,0 +1,81 @@
+package com.ecommerce.order.infrastructure.messaging.consumer;
+
+import com.ecommerce.order.application.dto.response.OrderStatusUpdate;
+import com.ecommerce.order.application.service.KitchenQueueService;
+import com.ecommerce.order.application.service.OrderAnalyticsService;
+import com.ecommerce.order.application.service.OrderStatusStreamService;
+import com.ecommerce.order.infrastructure.messaging.codec.OrderEventCodec;
+import com.ecommerce.order.infrastructure.messaging.event.OrderEventMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lê order-events com um group id exclusivo por instância, para que todo nó
+ * receba todas as mudanças de status e as repasse às suas conexões SSE,
+ * às métricas em memória e às filas de cozinha por restaurante. A fila de cozinha é
+ * atualizada antes do push e dentro do processamento do registro: se a releitura
+ * falhar, o erro vai para o error handler do container, que reentrega o registro.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderStatusStreamConsumer {
+
+    private final OrderStatusStreamService streamService;
+    private final OrderAnalyticsService analyticsService;
+    private final KitchenQueueService kitchenQueueService;
+    private final OrderEventCodec orderEventCodec;
+
+    @KafkaListener(
+            topics = "${spring.kafka.topics.order-events:order-events}",
+            groupId = "${spring.application.name}-stream-${random.uuid}",
+            containerFactory = "orderEventsListenerContainerFactory",
+            properties = "auto.offset.reset=latest"
+    )
+    public void handleOrderEvent(ConsumerRecord<String, byte[]> record) {
+        Header contentType = record.headers().lastHeader(OrderEventCodec.CONTENT_TYPE_HEADER);
+        OrderEventMessage event;
+        try {
+            event = orderEventCodec.decode(record.value(),
+                    contentType != null ? new String(contentType.value(), StandardCharsets.UTF_8) : null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable order event at offset {}: {}", record.offset(), e.getMessage());
+            return;
+        }
+        publish(toUpdate(event));
+    }
+
+    /**
+     * A fila vem primeiro para que uma reentrega não repita o push SSE nem a métrica
+     */
+    void publish(OrderStatusUpdate update) {
+        kitchenQueueService.refresh(update).block();
+        streamService.publish(update);
+        analyticsService.record(update);
+    }
+
+    /**
+     * Na criação o status vem em status; nas mudanças, em newStatus
+     */
+    static OrderStatusUpdate toUpdate(OrderEventMessage event) {
+        return OrderStatusUpdate.builder()
+                .eventType(event.getEventType())
+                .orderId(event.getOrderId())
+                .customerId(event.getCustomerId())
+                .restaurantId(event.getRestaurantId())
+                .previousStatus(event.getPreviousStatus())
+                .status(event.getNewStatus() != null ? event.getNewStatus() : event.getStatus())
+                .reason(event.getReason())
+                .timestamp(event.getTimestamp())
+                .preparationMillis(event.getPreparationMillis())
+                .version(event.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.order.infrastructure.messaging.consumer;
+
+import com.ecommerce.order.application.service.RestaurantAvailabilityService;
+import com.ecommerce.order.infrastructure.messaging.event.RestaurantEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lê restaurant-events com um group id exclusivo por instância: cada nó precisa de
+ * todos os eventos para manter a sua visão de disponibilidade, enquanto o
+ * RestaurantEventConsumer divide as partições para cancelar pedidos uma vez só.
+ */
+@Component
+@RequiredArgsConstructor
+public class RestaurantAvailabilityConsumer {
+
+    private final RestaurantAvailabilityService availabilityService;
+
+    @KafkaListener(
+            topics = "${spring.kafka.topics.restaurant-events:restaurant-events}",
+            groupId = "${spring.application.name}-availability-${random.uuid}",
+            containerFactory = "kafkaListenerContainerFactory",
+            properties = "auto.offset.reset=latest"
+    )
+    public void handleRestaurantEvent(RestaurantEvent event) {
+        availabilityService.apply(event);
+    }
+}
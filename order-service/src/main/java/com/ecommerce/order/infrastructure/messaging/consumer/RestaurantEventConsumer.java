@@ -1,133 +1,151 @@
 // order-service/src/main/java/com/ecommerce/order/infrastructure/messaging/consumer/RestaurantEventConsumer.java
 package com.ecommerce.order.infrastructure.messaging.consumer;
 
+import com.ecommerce.order.application.service.OrderService;
 import com.ecommerce.order.domain.entity.OrderStatus;
 import com.ecommerce.order.infrastructure.messaging.event.RestaurantEvent;
-import com.ecommerce.order.infrastructure.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
 
+/**
+ * Eventos do mesmo restaurante são processados em ordem, e os de restaurantes diferentes
+ * em paralelo, mesmo na mesma partição. O registro só é confirmado no Kafka quando o
+ * cancelamento termina; o container commita apenas offsets contíguos já confirmados.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class RestaurantEventConsumer {
 
-    private final OrderRepository orderRepository;
+    private static final Set<OrderStatus> CANCELLABLE_STATUSES =
+            EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+
+    private static final int MAX_RETRIES = 3;
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(1);
+
+    private final OrderService orderService;
+    private final KeyOrderedDispatcher dispatcher;
 
     @KafkaListener(
             topics = "${spring.kafka.topics.restaurant-events:restaurant-events}",
             groupId = "${spring.kafka.consumer.group-id:order-service-group}",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "restaurantEventsListenerContainerFactory"
     )
-    public void handleRestaurantEvent(RestaurantEvent event) {
+    public void onRestaurantEvent(ConsumerRecord<String, RestaurantEvent> record, Acknowledgment ack) {
+        RestaurantEvent event = record.value();
+        String key = event.getRestaurantId() != null ? event.getRestaurantId().toString() : record.key();
+        dispatcher.dispatch(String.valueOf(key), () -> process(event, record.offset()), ack::acknowledge);
+    }
+
+    /**
+     * Mesma política do error handler anterior: 3 tentativas com 1s de intervalo,
+     * depois o evento é registrado e descartado
+     */
+    Mono<Void> process(RestaurantEvent event, long offset) {
+        return handleRestaurantEvent(event)
+                .retryWhen(Retry.fixedDelay(MAX_RETRIES, RETRY_INTERVAL))
+                .onErrorResume(error -> {
+                    log.error("Skipping restaurant event {} at offset {} after {} retries: {}",
+                            event.getEventType(), offset, MAX_RETRIES, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Void> handleRestaurantEvent(RestaurantEvent event) {
         log.info("Received restaurant event: {} for restaurant: {}",
                 event.getEventType(), event.getRestaurantId());
 
-        switch (event.getEventType()) {
+        return switch (event.getEventType()) {
             case RESTAURANT_CLOSED -> handleRestaurantClosed(event);
             case RESTAURANT_SUSPENDED -> handleRestaurantSuspended(event);
             case RESTAURANT_DELETED -> handleRestaurantDeleted(event);
             case RESTAURANT_ORDERS_PAUSED -> handleOrdersPaused(event);
             case RESTAURANT_OPENED -> handleRestaurantOpened(event);
             case RESTAURANT_ORDERS_RESUMED -> handleOrdersResumed(event);
-            default -> log.debug("Event type {} ignored", event.getEventType());
-        }
+            default -> {
+                log.debug("Event type {} ignored", event.getEventType());
+                yield Mono.empty();
+            }
+        };
     }
 
     /**
      * Quando restaurante fecha, cancela pedidos PENDING
      */
-    private void handleRestaurantClosed(RestaurantEvent event) {
+    private Mono<Void> handleRestaurantClosed(RestaurantEvent event) {
         log.info("Restaurant closed: {}. Cancelling pending orders...", event.getRestaurantId());
 
-        cancelPendingOrders(event, "Restaurante fechou")
-                .subscribe(
-                        count -> log.info("Cancelled {} pending orders for restaurant {}",
-                                count, event.getRestaurantId()),
-                        error -> log.error("Error cancelling orders: {}", error.getMessage())
-                );
+        return orderService.cancelOrdersByRestaurant(
+                        event.getRestaurantId(), EnumSet.of(OrderStatus.PENDING), "Restaurante fechou")
+                .doOnNext(count -> log.info("Cancelled {} pending orders for restaurant {}",
+                        count, event.getRestaurantId()))
+                .doOnError(error -> log.error("Error cancelling orders: {}", error.getMessage()))
+                .then();
     }
 
     /**
      * Quando restaurante é suspenso, cancela pedidos PENDING e CONFIRMED
      */
-    private void handleRestaurantSuspended(RestaurantEvent event) {
+    private Mono<Void> handleRestaurantSuspended(RestaurantEvent event) {
         log.warn("Restaurant suspended: {}. Cancelling pending and confirmed orders...",
                 event.getRestaurantId());
 
-        orderRepository.findActiveOrdersByRestaurant(event.getRestaurantId())
-                .filter(order -> order.getStatus() == OrderStatus.PENDING ||
-                        order.getStatus() == OrderStatus.CONFIRMED)
-                .flatMap(order -> {
-                    order.cancel("Restaurante suspenso");
-                    order.setUpdatedAt(LocalDateTime.now());
-                    return orderRepository.save(order);
-                })
-                .count()
-                .subscribe(
-                        count -> log.info("Cancelled {} orders due to restaurant suspension: {}",
-                                count, event.getRestaurantId()),
-                        error -> log.error("Error handling restaurant suspension: {}", error.getMessage())
-                );
+        return orderService.cancelOrdersByRestaurant(
+                        event.getRestaurantId(), CANCELLABLE_STATUSES, "Restaurante suspenso")
+                .doOnNext(count -> log.info("Cancelled {} orders due to restaurant suspension: {}",
+                        count, event.getRestaurantId()))
+                .doOnError(error -> log.error("Error handling restaurant suspension: {}", error.getMessage()))
+                .then();
     }
 
     /**
-     * Quando restaurante é deletado, cancela todos os pedidos ativos
+     * Quando restaurante é deletado, cancela todos os pedidos ativos que ainda podem ser cancelados
      */
-    private void handleRestaurantDeleted(RestaurantEvent event) {
+    private Mono<Void> handleRestaurantDeleted(RestaurantEvent event) {
         log.warn("Restaurant deleted: {}. Cancelling all active orders...", event.getRestaurantId());
 
-        orderRepository.findActiveOrdersByRestaurant(event.getRestaurantId())
-                .flatMap(order -> {
-                    order.cancel("Restaurante não está mais disponível");
-                    order.setUpdatedAt(LocalDateTime.now());
-                    return orderRepository.save(order);
-                })
-                .count()
-                .subscribe(
-                        count -> log.info("Cancelled {} orders due to restaurant deletion: {}",
-                                count, event.getRestaurantId()),
-                        error -> log.error("Error handling restaurant deletion: {}", error.getMessage())
-                );
+        return orderService.cancelOrdersByRestaurant(
+                        event.getRestaurantId(), CANCELLABLE_STATUSES, "Restaurante não está mais disponível")
+                .doOnNext(count -> log.info("Cancelled {} orders due to restaurant deletion: {}",
+                        count, event.getRestaurantId()))
+                .doOnError(error -> log.error("Error handling restaurant deletion: {}", error.getMessage()))
+                .then();
     }
 
     /**
      * Quando pedidos são pausados, apenas loga (não cancela pedidos existentes)
      */
-    private void handleOrdersPaused(RestaurantEvent event) {
+    private Mono<Void> handleOrdersPaused(RestaurantEvent event) {
         log.info("Restaurant {} paused new orders. Existing orders will continue.",
                 event.getRestaurantId());
-        // Não cancela pedidos existentes, apenas impede novos
-        // A validação de novos pedidos deve ser feita no OrderService.createOrder()
+        // Não cancela pedidos existentes; novos pedidos são recusados pelo
+        // RestaurantAvailabilityService, alimentado pelo RestaurantAvailabilityConsumer
+        return Mono.empty();
     }
 
     /**
      * Quando restaurante abre, apenas loga
      */
-    private void handleRestaurantOpened(RestaurantEvent event) {
+    private Mono<Void> handleRestaurantOpened(RestaurantEvent event) {
         log.info("Restaurant {} is now open", event.getRestaurantId());
+        return Mono.empty();
     }
 
     /**
      * Quando pedidos são retomados, apenas loga
      */
-    private void handleOrdersResumed(RestaurantEvent event) {
+    private Mono<Void> handleOrdersResumed(RestaurantEvent event) {
         log.info("Restaurant {} resumed accepting orders", event.getRestaurantId());
+        return Mono.empty();
     }
-
-    private Mono<Long> cancelPendingOrders(RestaurantEvent event, String reason) {
-        return orderRepository.findActiveOrdersByRestaurant(event.getRestaurantId())
-                .filter(order -> order.getStatus() == OrderStatus.PENDING)
-                .flatMap(order -> {
-                    order.cancel(reason);
-                    order.setUpdatedAt(LocalDateTime.now());
-                    return orderRepository.save(order);
-                })
-                .count();
-    }
-}
\ No newline at end of file
+}
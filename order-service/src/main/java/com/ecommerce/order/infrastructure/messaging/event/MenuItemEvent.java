@@ -0,0 +1,41 @@
+package com.ecommerce.order.infrastructure.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento recebido do Menu Service via Kafka.
+ * Espelha a estrutura do evento enviado pelo producer.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemEvent {
+
+    private UUID eventId;
+    private EventType eventType;
+    private UUID menuItemId;
+    private UUID restaurantId;
+    private String name;
+    private BigDecimal price;
+    private Boolean isAvailable;
+    private Integer maxQuantityPerOrder;
+    private LocalDateTime timestamp;
+
+    public enum EventType {
+        MENU_ITEM_CREATED,
+        MENU_ITEM_UPDATED,
+        MENU_ITEM_DELETED,
+        MENU_ITEM_AVAILABLE,
+        MENU_ITEM_UNAVAILABLE,
+        MENU_ITEM_FEATURED,
+        MENU_ITEM_UNFEATURED
+    }
+}
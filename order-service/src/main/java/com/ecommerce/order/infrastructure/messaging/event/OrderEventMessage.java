@@ -0,0 +1,50 @@
+package com.ecommerce.order.infrastructure.messaging.event;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Evento publicado em order-events. Em JSON mantém os mesmos nomes de campo do
+ * formato anterior; em binário segue o schema registrado (OrderEventCodec).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OrderEventMessage {
+
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+    public static final String ORDER_CANCELLED = "ORDER_CANCELLED";
+
+    private String eventType;
+    private UUID orderId;
+    private UUID customerId;
+    private UUID restaurantId;
+
+    /** Status na criação */
+    private OrderStatus status;
+
+    private OrderStatus previousStatus;
+    private OrderStatus newStatus;
+    private BigDecimal total;
+    private String reason;
+
+    /** Tempo entre PREPARING e READY; só vem nos eventos de pedido pronto */
+    private Long preparationMillis;
+
+    /** Versão do pedido depois da mudança; ordena eventos e snapshots do mesmo pedido */
+    private Long version;
+
+    private Long timestamp;
+}
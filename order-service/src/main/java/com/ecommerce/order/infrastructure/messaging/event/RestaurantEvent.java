@@ -29,6 +29,10 @@ public class RestaurantEvent {
     private Boolean isOpen;
     private Boolean isAcceptingOrders;
     private BigDecimal rating;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private BigDecimal deliveryRadiusKm;
+    private BigDecimal minOrderValue;
     private LocalDateTime timestamp;
 
     public enum EventType {
@@ -0,0 +1,105 @@
+package com.ecommerce.order.infrastructure.messaging.outbox;
+
+import com.ecommerce.order.infrastructure.config.KafkaConfig;
+import com.ecommerce.order.infrastructure.messaging.codec.OrderEventCodec;
+import com.ecommerce.order.infrastructure.repository.OutboxEventRepository;
+import com.ecommerce.order.infrastructure.shard.OrderShards;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Drena o order_outbox em lotes ordenados por id para o tópico order-events.
+ * Um lote só é removido depois que todos os envios foram confirmados pelo broker
+ * (entrega at-least-once). Cada shard tem seu outbox, drenado em sequência.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final TransactionalOperator transactionalOperator;
+    private final OrderShards orderShards;
+    private final int batchSize;
+
+    public OrderOutboxRelay(OutboxEventRepository outboxEventRepository,
+                            @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, byte[]> kafkaTemplate,
+                            TransactionalOperator transactionalOperator,
+                            OrderShards orderShards,
+                            @Value("${order.outbox.relay.batch-size:500}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionalOperator = transactionalOperator;
+        this.orderShards = orderShards;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Repete lotes até o outbox esvaziar (lote incompleto)
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.relay.interval-ms:200}")
+    public Mono<Long> drain() {
+        return orderShards.onEach(shard -> relayBatch()
+                        .expand(sent -> sent == batchSize ? relayBatch() : Mono.empty()))
+                .reduce(0L, Long::sum)
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.debug("Relayed {} outbox events", total);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.error("Outbox relay failed, batch will be retried: {}", error.getMessage());
+                    return Mono.just(0L);
+                });
+    }
+
+    Mono<Long> relayBatch() {
+        return outboxEventRepository.findNextBatch(batchSize)
+                .collectList()
+                .flatMap(this::publishAndDelete)
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Long> publishAndDelete(List<OutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        // Envia tudo de uma vez (em ordem) e deixa o producer agrupar; aguarda todos os acks
+        CompletableFuture<?>[] acks = batch.stream()
+                .map(event -> kafkaTemplate.send(toRecord(event)))
+                .toArray(CompletableFuture[]::new);
+
+        return Mono.fromFuture(CompletableFuture.allOf(acks))
+                .then(Mono.defer(() -> outboxEventRepository.deleteByIdIn(
+                        batch.stream().map(OutboxEvent::getId).toList())))
+                .thenReturn((long) batch.size());
+    }
+
+    /**
+     * O header content-type diz ao consumidor como decodificar; linhas gravadas
+     * antes da coluna existir são JSON
+     */
+    static ProducerRecord<String, byte[]> toRecord(OutboxEvent event) {
+        boolean binary = event.getPayloadBytes() != null;
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(KafkaConfig.ORDER_EVENTS_TOPIC,
+                event.getAggregateId().toString(),
+                binary ? event.getPayloadBytes() : event.getPayload().getBytes(StandardCharsets.UTF_8));
+        String contentType = event.getContentType() != null ? event.getContentType() : OrderEventCodec.JSON;
+        record.headers().add(OrderEventCodec.CONTENT_TYPE_HEADER, contentType.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
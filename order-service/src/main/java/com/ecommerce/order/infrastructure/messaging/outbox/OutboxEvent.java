@@ -0,0 +1,46 @@
+package com.ecommerce.order.infrastructure.messaging.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento pendente de publicação, gravado na mesma transação da alteração do pedido.
+ * O id sequencial define a ordem de envio para o Kafka.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("order_outbox")
+public class OutboxEvent {
+
+    @Id
+    private Long id;
+
+    @Column("aggregate_id")
+    private UUID aggregateId;
+
+    @Column("event_type")
+    private String eventType;
+
+    /** Payload JSON; nulo quando o evento foi codificado em binário */
+    @Column("payload")
+    private String payload;
+
+    @Column("content_type")
+    private String contentType;
+
+    @Column("payload_bytes")
+    private byte[] payloadBytes;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+}
@@ -2,69 +2,113 @@ package com.ecommerce.order.infrastructure.messaging.producer;
 
 import com.ecommerce.order.domain.entity.Order;
 import com.ecommerce.order.domain.entity.OrderStatus;
-import com.ecommerce.order.infrastructure.config.KafkaConfig;
+import com.ecommerce.order.domain.valueobject.Money;
+import com.ecommerce.order.infrastructure.messaging.codec.OrderEventCodec;
+import com.ecommerce.order.infrastructure.messaging.event.OrderEventMessage;
+import com.ecommerce.order.infrastructure.messaging.outbox.OutboxEvent;
+import com.ecommerce.order.infrastructure.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Grava os eventos de pedido no outbox (order_outbox). Deve ser encadeado na
+ * transação que altera o pedido; a publicação no Kafka fica com o OrderOutboxRelay.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderEventProducer {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderEventCodec orderEventCodec;
 
-    public void sendOrderCreated(Order order) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "ORDER_CREATED");
-        event.put("orderId", order.getId().toString());
-        event.put("customerId", order.getCustomerId().toString());
-        event.put("restaurantId", order.getRestaurantId().toString());
-        event.put("total", order.getTotal());
-        event.put("status", order.getStatus().name());
-        event.put("timestamp", System.currentTimeMillis());
+    public Mono<Void> sendOrderCreated(Order order) {
+        OrderEventMessage event = baseEvent(order, OrderEventMessage.ORDER_CREATED)
+                .total(Money.toBigDecimal(order.getTotal()))
+                .status(order.getStatus())
+                .build();
 
-        sendEvent(order.getId().toString(), event);
-        log.info("Order created event sent: {}", order.getId());
+        return sendEvent(order, event)
+                .doOnSuccess(v -> log.info("Order created event stored: {}", order.getId()));
     }
 
-    public void sendOrderStatusChanged(Order order, OrderStatus previousStatus) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "ORDER_STATUS_CHANGED");
-        event.put("orderId", order.getId().toString());
-        event.put("customerId", order.getCustomerId().toString());
-        event.put("restaurantId", order.getRestaurantId().toString());
-        event.put("previousStatus", previousStatus.name());
-        event.put("newStatus", order.getStatus().name());
-        event.put("timestamp", System.currentTimeMillis());
+    public Mono<Void> sendOrderStatusChanged(Order order, OrderStatus previousStatus) {
+        OrderEventMessage.OrderEventMessageBuilder event = baseEvent(order, OrderEventMessage.ORDER_STATUS_CHANGED)
+                .previousStatus(previousStatus)
+                .newStatus(order.getStatus());
+        if (order.getStatus() == OrderStatus.READY && order.getPreparingAt() != null && order.getReadyAt() != null) {
+            event.preparationMillis(Duration.between(order.getPreparingAt(), order.getReadyAt()).toMillis());
+        }
 
-        sendEvent(order.getId().toString(), event);
-        log.info("Order status changed event sent: {} -> {}", previousStatus, order.getStatus());
+        return sendEvent(order, event.build())
+                .doOnSuccess(v -> log.info("Order status changed event stored: {} -> {}",
+                        previousStatus, order.getStatus()));
     }
 
-    public void sendOrderCancelled(Order order) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "ORDER_CANCELLED");
-        event.put("orderId", order.getId().toString());
-        event.put("customerId", order.getCustomerId().toString());
-        event.put("restaurantId", order.getRestaurantId().toString());
-        event.put("reason", order.getCancellationReason());
-        event.put("timestamp", System.currentTimeMillis());
-
-        sendEvent(order.getId().toString(), event);
-        log.info("Order cancelled event sent: {}", order.getId());
+    public Mono<Void> sendOrderCancelled(Order order) {
+        return sendEvent(order, orderCancelledEvent(order))
+                .doOnSuccess(v -> log.info("Order cancelled event stored: {}", order.getId()));
     }
 
-    private void sendEvent(String key, Map<String, Object> event) {
-        kafkaTemplate.send(KafkaConfig.ORDER_EVENTS_TOPIC, key, event)
-                .whenComplete((result, ex) -> {
-                    if (ex != null) {
-                        log.error("Failed to send event: {}", ex.getMessage());
+    /**
+     * Grava os eventos de cancelamento de vários pedidos num único INSERT em lote
+     */
+    public Mono<Void> sendOrdersCancelled(List<Order> orders) {
+        return Mono.fromCallable(() -> {
+                    List<OutboxEvent> events = new ArrayList<>(orders.size());
+                    for (Order order : orders) {
+                        events.add(toOutboxEvent(order, orderCancelledEvent(order)));
                     }
-                });
+                    return events;
+                })
+                .flatMap(outboxEventRepository::insertAll)
+                .doOnSuccess(count -> log.info("{} order cancelled events stored", count))
+                .then();
+    }
+
+    private OrderEventMessage orderCancelledEvent(Order order) {
+        return baseEvent(order, OrderEventMessage.ORDER_CANCELLED)
+                .reason(order.getCancellationReason())
+                .build();
+    }
+
+    private OrderEventMessage.OrderEventMessageBuilder baseEvent(Order order, String eventType) {
+        return OrderEventMessage.builder()
+                .eventType(eventType)
+                .orderId(order.getId())
+                .customerId(order.getCustomerId())
+                .restaurantId(order.getRestaurantId())
+                .version(order.getVersion())
+                .timestamp(System.currentTimeMillis());
+    }
+
+    private Mono<Void> sendEvent(Order order, OrderEventMessage event) {
+        return Mono.fromCallable(() -> toOutboxEvent(order, event))
+                .flatMap(outboxEventRepository::save)
+                .then();
+    }
+
+    /**
+     * JSON vai na coluna de texto, como antes; o binário vai em payload_bytes
+     */
+    private OutboxEvent toOutboxEvent(Order order, OrderEventMessage event) {
+        OrderEventCodec.Encoded encoded = orderEventCodec.encode(event);
+        boolean json = OrderEventCodec.JSON.equals(encoded.contentType());
+        return OutboxEvent.builder()
+                .aggregateId(order.getId())
+                .eventType(event.getEventType())
+                .contentType(encoded.contentType())
+                .payload(json ? new String(encoded.body(), StandardCharsets.UTF_8) : null)
+                .payloadBytes(json ? null : encoded.body())
+                .createdAt(LocalDateTime.now())
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.order.infrastructure.partition;
+
+import com.ecommerce.order.infrastructure.repository.OrderRepository;
+import com.ecommerce.order.infrastructure.shard.OrderShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Move pedidos DELIVERED/CANCELLED mais antigos que a janela de retenção para
+ * orders_archive, mantendo a tabela quente pequena. Cada lote roda em uma transação,
+ * um shard depois do outro.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderArchiver {
+
+    private final OrderRepository orderRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final OrderShards orderShards;
+    private final int afterDays;
+    private final int batchSize;
+
+    public OrderArchiver(OrderRepository orderRepository,
+                         TransactionalOperator transactionalOperator,
+                         OrderShards orderShards,
+                         @Value("${order.archive.after-days:90}") int afterDays,
+                         @Value("${order.archive.batch-size:1000}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.orderShards = orderShards;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Repete lotes até não restar pedido elegível (lote incompleto)
+     */
+    @Scheduled(cron = "${order.archive.cron:0 30 3 * * *}")
+    public Mono<Long> archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        return orderShards.onEach(shard -> archiveBatch(cutoff)
+                        .expand(moved -> moved == batchSize ? archiveBatch(cutoff) : Mono.empty()))
+                .reduce(0L, Long::sum)
+                .doOnNext(total -> log.info("Archived {} orders finished before {}", total, cutoff))
+                .onErrorResume(error -> {
+                    log.error("Order archiving failed, will retry on next run: {}", error.getMessage());
+                    return Mono.just(0L);
+                });
+    }
+
+    private Mono<Long> archiveBatch(LocalDateTime cutoff) {
+        return orderRepository.archiveFinishedBefore(cutoff, batchSize)
+                .as(transactionalOperator::transactional);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.order.infrastructure.partition;
+
+import com.ecommerce.order.infrastructure.shard.OrderShards;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.YearMonth;
+
+/**
+ * Mantém as partições mensais de orders criadas com antecedência, para que
+ * novos pedidos nunca caiam na partição DEFAULT, em todos os shards. Só atua no PostgreSQL.
+ * Cada mês é criado na sua própria transação: um mês que falha é só logado e tentado
+ * de novo na próxima execução, sem impedir os seguintes.
+ */
+@Slf4j
+@Component
+public class OrderPartitionManager {
+
+    private static final String LOCK_DEFAULT = "LOCK TABLE orders_default IN ACCESS EXCLUSIVE MODE";
+
+    private final DatabaseClient databaseClient;
+    private final OrderShards orderShards;
+    private final boolean postgres;
+    private final int monthsAhead;
+
+    public OrderPartitionManager(DatabaseClient databaseClient,
+                                 ConnectionFactory connectionFactory,
+                                 OrderShards orderShards,
+                                 @Value("${order.partition.months-ahead:3}") int monthsAhead) {
+        this.databaseClient = databaseClient;
+        this.orderShards = orderShards;
+        this.postgres = connectionFactory.getMetadata().getName().toLowerCase().contains("postgres");
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions().subscribe();
+    }
+
+    @Scheduled(cron = "${order.partition.cron:0 0 3 * * *}")
+    public Mono<Void> ensurePartitions() {
+        if (!postgres) {
+            return Mono.empty();
+        }
+
+        YearMonth current = YearMonth.now();
+        return orderShards.onEach(shard -> Flux.range(0, monthsAhead + 1)
+                        .map(current::plusMonths)
+                        .concatMap(month -> orderShards.write(shard, ensurePartition(month))
+                                .onErrorResume(error -> {
+                                    log.error("Failed to create order partition {} on shard {}: {}",
+                                            partitionName(month), shard, error.getMessage());
+                                    return Mono.empty();
+                                })))
+                .then()
+                .doOnSuccess(ignored -> log.debug("Order partitions ensured up to {}", current.plusMonths(monthsAhead)));
+    }
+
+    /**
+     * Partição que já existe não é tocada. O PostgreSQL recusa criar a partição de um
+     * mês que já tem linhas na DEFAULT, então a tabela é criada avulsa, recebe as linhas
+     * do mês tiradas da DEFAULT e só então é anexada. Deve rodar numa transação; a
+     * DEFAULT fica bloqueada até o commit para que nenhuma linha do mês chegue no meio.
+     */
+    Mono<Void> ensurePartition(YearMonth month) {
+        return databaseClient.sql("SELECT to_regclass(:name) IS NOT NULL AS present")
+                .bind("name", partitionName(month))
+                .map(row -> Boolean.TRUE.equals(row.get("present", Boolean.class)))
+                .one()
+                .flatMap(present -> present ? Mono.empty() : createPartition(month));
+    }
+
+    private Mono<Void> createPartition(YearMonth month) {
+        return databaseClient.sql(LOCK_DEFAULT).then()
+                .then(databaseClient.sql(createTableSql(month)).then())
+                .then(databaseClient.sql(moveFromDefaultSql(month)).fetch().rowsUpdated())
+                .flatMap(moved -> databaseClient.sql(attachSql(month)).then().thenReturn(moved))
+                .doOnNext(moved -> log.info("Created order partition {} ({} rows moved from DEFAULT)",
+                        partitionName(month), moved))
+                .then();
+    }
+
+    static String partitionName(YearMonth month) {
+        return "orders_y%dm%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    /** Mesmas colunas, na mesma ordem, de orders; PK e índices vêm no ATTACH */
+    static String createTableSql(YearMonth month) {
+        return "CREATE TABLE %s (LIKE orders INCLUDING DEFAULTS)".formatted(partitionName(month));
+    }
+
+    static String moveFromDefaultSql(YearMonth month) {
+        return ("WITH moved AS (DELETE FROM orders_default WHERE created_at >= '%s' AND created_at < '%s' RETURNING *) "
+                + "INSERT INTO %s SELECT * FROM moved").formatted(month.atDay(1), month.plusMonths(1).atDay(1),
+                partitionName(month));
+    }
+
+    static String attachSql(YearMonth month) {
+        return "ALTER TABLE orders ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.order.infrastructure.projection;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Modelo de leitura: o OrderResponse já renderizado (JSON em bytes), com as
+ * colunas usadas nos filtros e na paginação por keyset.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("order_views")
+public class OrderView {
+
+    @Id
+    private UUID id;
+
+    @Column("customer_id")
+    private UUID customerId;
+
+    @Column("restaurant_id")
+    private UUID restaurantId;
+
+    @Column("status")
+    private OrderStatus status;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    /** Versão do pedido que gerou o documento */
+    @Column("version")
+    private Long version;
+
+    @Column("document")
+    private byte[] document;
+}
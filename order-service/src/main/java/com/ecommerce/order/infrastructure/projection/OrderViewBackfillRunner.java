@@ -0,0 +1,30 @@
+package com.ecommerce.order.infrastructure.projection;
+
+import com.ecommerce.order.application.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ao subir, projeta os pedidos gravados antes de existir order_views
+ * (ou por instâncias que ainda não escreviam a projeção).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderViewBackfillRunner {
+
+    private final OrderService orderService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        orderService.backfillOrderViews()
+                .subscribe(
+                        total -> log.debug("Order view backfill finished: {}", total),
+                        error -> log.error("Order view backfill failed, lists keep reading orders table: {}",
+                                error.getMessage())
+                );
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.order.infrastructure.replica;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Publica no contexto se a transação é somente leitura antes de a conexão ser aberta,
+ * para o {@link ReplicaRoutingConnectionFactory} escolher o destino. Transações
+ * aninhadas reaproveitam a conexão da externa, então leituras dentro de uma escrita
+ * continuam no primário.
+ */
+public class ReadOnlyRoutingTransactionManager extends R2dbcTransactionManager {
+
+    public ReadOnlyRoutingTransactionManager(ConnectionFactory connectionFactory) {
+        super(connectionFactory);
+    }
+
+    @Override
+    protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager,
+                                 Object transaction,
+                                 TransactionDefinition definition) {
+        return super.doBegin(synchronizationManager, transaction, definition)
+                .contextWrite(context -> context.put(ReplicaRoutingConnectionFactory.READ_ONLY, definition.isReadOnly()));
+    }
+}
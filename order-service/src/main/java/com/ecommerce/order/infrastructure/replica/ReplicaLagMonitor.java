@@ -0,0 +1,23 @@
+package com.ecommerce.order.infrastructure.replica;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sonda periódica do atraso das réplicas; até a primeira medição as leituras ficam no primário
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("${order.read-replicas.enabled:false} and !${order.sharding.enabled:false}")
+public class ReplicaLagMonitor {
+
+    private final ReplicaRoutingConnectionFactory connectionFactory;
+
+    @Scheduled(fixedDelayString = "${order.read-replicas.lag-check-interval:2s}")
+    public Mono<Void> check() {
+        return connectionFactory.refreshLag();
+    }
+}
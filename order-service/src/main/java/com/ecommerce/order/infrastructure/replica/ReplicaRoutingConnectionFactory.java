@@ -0,0 +1,187 @@
+package com.ecommerce.order.infrastructure.replica;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envia transações somente leitura para uma réplica em dia e o resto para o primário.
+ * Uma réplica só entra no rodízio depois que a sonda de atraso confirma que ela está
+ * dentro de {@code maxLag}; sem réplica disponível, ou se a conexão falhar, a leitura
+ * vai para o primário.
+ */
+@Slf4j
+public class ReplicaRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements Disposable {
+
+    /** Marcado no contexto Reactor pelo {@link ReadOnlyRoutingTransactionManager} */
+    public static final String READ_ONLY = ReplicaRoutingConnectionFactory.class.getName() + ".READ_ONLY";
+
+    /**
+     * Atraso de replay em segundos; fora de recovery ou com todo o WAL recebido aplicado, conta como zero
+     */
+    public static final String DEFAULT_LAG_QUERY = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END""";
+
+    private final ConnectionFactory primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Map<Object, Replica> replicasByName = new LinkedHashMap<>();
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration probeTimeout;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private static final class Replica {
+
+        private final String name;
+        private final ConnectionFactory connectionFactory;
+        private volatile boolean inRotation;
+
+        private Replica(String name, ConnectionFactory connectionFactory) {
+            this.name = name;
+            this.connectionFactory = connectionFactory;
+        }
+    }
+
+    public ReplicaRoutingConnectionFactory(ConnectionFactory primary,
+                                           Map<String, ConnectionFactory> replicas,
+                                           String lagQuery,
+                                           Duration maxLag,
+                                           Duration probeTimeout) {
+        this.primary = primary;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.probeTimeout = probeTimeout;
+        replicas.forEach((name, connectionFactory) -> {
+            Replica replica = new Replica(name, connectionFactory);
+            this.replicas.add(replica);
+            this.replicasByName.put(name, replica);
+        });
+
+        setDefaultTargetConnectionFactory(primary);
+        setTargetConnectionFactories(new LinkedHashMap<>(replicas));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> {
+            if (!context.getOrDefault(READ_ONLY, false)) {
+                return Mono.empty();
+            }
+            Replica replica = pick();
+            return replica != null ? Mono.just(replica.name) : Mono.empty();
+        });
+    }
+
+    /**
+     * Falha ao abrir conexão na réplica tira a réplica do rodízio até a próxima sonda
+     */
+    @Override
+    public Mono<Connection> create() {
+        return determineCurrentLookupKey()
+                .map(replicasByName::get)
+                .flatMap(replica -> Mono.<Connection>from(replica.connectionFactory.create())
+                        .onErrorResume(error -> {
+                            remove(replica, error.getMessage());
+                            return Mono.empty();
+                        }))
+                .switchIfEmpty(Mono.defer(() -> Mono.from(primary.create())));
+    }
+
+    /**
+     * Mede o atraso de cada réplica e atualiza o rodízio
+     */
+    public Mono<Void> refreshLag() {
+        return Flux.fromIterable(replicas)
+                .flatMap(this::probe)
+                .then();
+    }
+
+    public List<String> replicasInRotation() {
+        return replicas.stream()
+                .filter(replica -> replica.inRotation)
+                .map(replica -> replica.name)
+                .toList();
+    }
+
+    @Override
+    public void dispose() {
+        for (ConnectionFactory connectionFactory : targets()) {
+            if (connectionFactory instanceof Disposable disposable) {
+                disposable.dispose();
+            }
+        }
+    }
+
+    private List<ConnectionFactory> targets() {
+        List<ConnectionFactory> targets = new ArrayList<>();
+        targets.add(primary);
+        replicas.forEach(replica -> targets.add(replica.connectionFactory));
+        return targets;
+    }
+
+    private Replica pick() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.inRotation) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Mono<Void> probe(Replica replica) {
+        return Mono.usingWhen(replica.connectionFactory.create(),
+                        connection -> Mono.from(connection.createStatement(lagQuery).execute())
+                                .flatMap(result -> Mono.from(result.map((row, metadata) -> lagOf(row.get(0))))),
+                        Connection::close)
+                .timeout(probeTimeout)
+                .doOnNext(lag -> {
+                    if (lag.compareTo(maxLag) > 0) {
+                        remove(replica, "lag " + lag.toMillis() + "ms");
+                    } else if (!replica.inRotation) {
+                        replica.inRotation = true;
+                        log.info("Read replica {} back in rotation (lag {}ms)", replica.name, lag.toMillis());
+                    }
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> remove(replica, "lag unknown")))
+                .onErrorResume(error -> {
+                    remove(replica, error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void remove(Replica replica, String reason) {
+        if (replica.inRotation) {
+            replica.inRotation = false;
+            log.warn("Read replica {} out of rotation: {}", replica.name, reason);
+        }
+    }
+
+    /** Linha sem valor (réplica sem replay ainda) vira um atraso sem fim */
+    private static Duration lagOf(Object seconds) {
+        if (!(seconds instanceof Number number)) {
+            return ChronoUnit.FOREVER.getDuration();
+        }
+        return Duration.ofMillis(Math.round(number.doubleValue() * 1000));
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.infrastructure.idempotency.IdempotencyKey;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyKeyRepository extends R2dbcRepository<IdempotencyKey, String> {
+
+    @Query("""
+        SELECT * FROM idempotency_keys
+        WHERE customer_id = :customerId AND idempotency_key = :key AND expires_at > :now
+    """)
+    Mono<IdempotencyKey> findActive(UUID customerId, String key, LocalDateTime now);
+
+    /**
+     * Reserva a chave para um pedido ainda não criado (response nulo). INSERT puro: a PK
+     * em (customer_id, idempotency_key) faz a segunda requisição concorrente do cliente
+     * com a mesma chave falhar antes de criar outro pedido
+     */
+    @Modifying
+    @Query("""
+        INSERT INTO idempotency_keys (customer_id, idempotency_key, request_hash, order_id,
+                                      created_at, expires_at)
+        VALUES (:customerId, :key, :requestHash, :orderId, :createdAt, :expiresAt)
+    """)
+    Mono<Integer> insertClaim(UUID customerId, String key, byte[] requestHash, UUID orderId,
+                              LocalDateTime createdAt, LocalDateTime expiresAt);
+
+    /**
+     * Passa a reserva abandonada para outro pedido; zero linhas se outra requisição já a assumiu
+     */
+    @Modifying
+    @Query("""
+        UPDATE idempotency_keys SET order_id = :orderId, created_at = :createdAt
+        WHERE customer_id = :customerId AND idempotency_key = :key
+        AND order_id = :staleOrderId AND response IS NULL
+    """)
+    Mono<Integer> takeOverClaim(UUID customerId, String key, UUID staleOrderId, UUID orderId, LocalDateTime createdAt);
+
+    @Modifying
+    @Query("""
+        UPDATE idempotency_keys SET response = :response
+        WHERE customer_id = :customerId AND idempotency_key = :key AND order_id = :orderId
+    """)
+    Mono<Integer> complete(UUID customerId, String key, UUID orderId, byte[] response);
+
+    @Modifying
+    @Query("""
+        DELETE FROM idempotency_keys
+        WHERE customer_id = :customerId AND idempotency_key = :key
+        AND order_id = :orderId AND response IS NULL
+    """)
+    Mono<Integer> release(UUID customerId, String key, UUID orderId);
+
+    /**
+     * Libera a chave vencida antes de reutilizá-la
+     */
+    @Modifying
+    @Query("""
+        DELETE FROM idempotency_keys
+        WHERE customer_id = :customerId AND idempotency_key = :key AND expires_at <= :now
+    """)
+    Mono<Integer> deleteExpired(UUID customerId, String key, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM idempotency_keys WHERE expires_at <= :now")
+    Mono<Integer> deleteAllExpired(LocalDateTime now);
+}
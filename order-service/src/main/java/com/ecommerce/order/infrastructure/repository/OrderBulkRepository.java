@@ -0,0 +1,35 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.domain.entity.Order;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Alterações em massa de pedidos executadas como um único statement set-based.
+ */
+public interface OrderBulkRepository {
+
+    /**
+     * Cancela num único UPDATE os pedidos do restaurante nos status informados
+     * e devolve as linhas já atualizadas.
+     */
+    Flux<Order> cancelByRestaurant(UUID restaurantId, Collection<String> statuses,
+                                   String reason, LocalDateTime cancelledAt);
+
+    /**
+     * Cancela num único UPDATE os pedidos informados que ainda estão PENDING
+     * e devolve só as linhas efetivamente canceladas.
+     */
+    Flux<Order> cancelPendingByIds(Collection<UUID> ids, String reason, LocalDateTime cancelledAt);
+
+    /**
+     * Move até {@code limit} pedidos finalizados antes de {@code cutoff} (e seus itens)
+     * para orders_archive/order_items_archive e devolve quantos foram movidos.
+     * Deve rodar dentro de uma transação.
+     */
+    Mono<Long> archiveFinishedBefore(LocalDateTime cutoff, int limit);
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.domain.entity.Order;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+class OrderBulkRepositoryImpl implements OrderBulkRepository {
+
+    private static final String CANCEL_BY_RESTAURANT = """
+        UPDATE orders
+        SET status = 'CANCELLED', cancellation_reason = :reason,
+            cancelled_at = :cancelledAt, updated_at = :cancelledAt,
+            version = version + 1
+        WHERE restaurant_id = :restaurantId
+        AND status IN (:statuses)
+    """;
+
+    private static final String CANCEL_PENDING_BY_IDS = """
+        UPDATE orders
+        SET status = 'CANCELLED', cancellation_reason = :reason,
+            cancelled_at = :cancelledAt, updated_at = :cancelledAt,
+            version = version + 1
+        WHERE id IN (:ids)
+        AND status = 'PENDING'
+    """;
+
+    private static final String FINISHED_BEFORE = """
+        SELECT id FROM orders
+        WHERE status IN ('DELIVERED', 'CANCELLED')
+        AND created_at < :cutoff
+        ORDER BY created_at
+        LIMIT :limit
+    """;
+
+    private static final List<String> ARCHIVE_STATEMENTS = List.of(
+            "INSERT INTO order_items_archive SELECT * FROM order_items WHERE order_id IN (:ids)",
+            "INSERT INTO orders_archive SELECT * FROM orders WHERE id IN (:ids)",
+            "DELETE FROM order_items WHERE order_id IN (:ids)",
+            "DELETE FROM order_views WHERE id IN (:ids)",
+            "DELETE FROM orders WHERE id IN (:ids)"
+    );
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final boolean postgres;
+
+    OrderBulkRepositoryImpl(DatabaseClient databaseClient, R2dbcEntityTemplate entityTemplate,
+                            ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        this.entityTemplate = entityTemplate;
+        this.postgres = connectionFactory.getMetadata().getName().toLowerCase().contains("postgres");
+    }
+
+    @Override
+    public Flux<Order> cancelByRestaurant(UUID restaurantId, Collection<String> statuses,
+                                          String reason, LocalDateTime cancelledAt) {
+        return databaseClient.sql(returning(CANCEL_BY_RESTAURANT))
+                .bind("reason", reason)
+                .bind("cancelledAt", cancelledAt)
+                .bind("restaurantId", restaurantId)
+                .bind("statuses", statuses)
+                .map((row, metadata) -> entityTemplate.getConverter().read(Order.class, row, metadata))
+                .all()
+                .map(Order::markAsNotNew);
+    }
+
+    @Override
+    public Flux<Order> cancelPendingByIds(Collection<UUID> ids, String reason, LocalDateTime cancelledAt) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(returning(CANCEL_PENDING_BY_IDS))
+                .bind("reason", reason)
+                .bind("cancelledAt", cancelledAt)
+                .bind("ids", ids)
+                .map((row, metadata) -> entityTemplate.getConverter().read(Order.class, row, metadata))
+                .all()
+                .map(Order::markAsNotNew);
+    }
+
+    @Override
+    public Mono<Long> archiveFinishedBefore(LocalDateTime cutoff, int limit) {
+        return databaseClient.sql(FINISHED_BEFORE)
+                .bind("cutoff", cutoff)
+                .bind("limit", limit)
+                .map(row -> row.get("id", UUID.class))
+                .all()
+                .collectList()
+                .flatMap(this::archive);
+    }
+
+    private Mono<Long> archive(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return Flux.fromIterable(ARCHIVE_STATEMENTS)
+                .concatMap(sql -> databaseClient.sql(sql).bind("ids", ids).fetch().rowsUpdated())
+                .then(Mono.just((long) ids.size()));
+    }
+
+    /**
+     * PostgreSQL usa RETURNING; o H2 dos testes só devolve as linhas via FINAL TABLE
+     */
+    private String returning(String update) {
+        return postgres
+                ? update + " RETURNING *"
+                : "SELECT * FROM FINAL TABLE (" + update + ")";
+    }
+}
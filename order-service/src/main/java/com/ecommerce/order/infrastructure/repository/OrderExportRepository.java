@@ -0,0 +1,20 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.application.dto.response.OrderExportRow;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Leitura em streaming para o export: as linhas vêm de um cursor no servidor,
+ * {@code fetchSize} por vez, conforme a demanda de quem consome.
+ */
+public interface OrderExportRepository {
+
+    /**
+     * Pedidos do restaurante (ativos e arquivados) com created_at em [from, to),
+     * em ordem de (created_at, id)
+     */
+    Flux<OrderExportRow> streamForExport(UUID restaurantId, LocalDateTime from, LocalDateTime to, int fetchSize);
+}
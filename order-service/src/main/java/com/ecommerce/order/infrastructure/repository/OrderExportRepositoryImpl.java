@@ -0,0 +1,65 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.application.dto.response.OrderExportRow;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+class OrderExportRepositoryImpl implements OrderExportRepository {
+
+    private static final String COLUMNS = """
+        id, customer_id, status, subtotal, delivery_fee, discount, total,
+        created_at, delivered_at, cancelled_at, cancellation_reason
+    """;
+
+    // Os dois lados usam o índice (restaurant_id, created_at, id) da própria tabela
+    private static final String EXPORT = "SELECT " + COLUMNS + """
+        FROM orders
+        WHERE restaurant_id = :restaurantId
+        AND created_at >= :from AND created_at < :to
+        UNION ALL
+        SELECT """ + COLUMNS + """
+        FROM orders_archive
+        WHERE restaurant_id = :restaurantId
+        AND created_at >= :from AND created_at < :to
+        ORDER BY created_at, id
+    """;
+
+    private final DatabaseClient databaseClient;
+
+    OrderExportRepositoryImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<OrderExportRow> streamForExport(UUID restaurantId, LocalDateTime from, LocalDateTime to, int fetchSize) {
+        return databaseClient.sql(EXPORT)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .bind("restaurantId", restaurantId)
+                .bind("from", from)
+                .bind("to", to)
+                .map(OrderExportRepositoryImpl::toRow)
+                .all();
+    }
+
+    private static OrderExportRow toRow(Readable row) {
+        return OrderExportRow.builder()
+                .id(row.get("id", UUID.class))
+                .customerId(row.get("customer_id", UUID.class))
+                .status(OrderStatus.valueOf(row.get("status", String.class)))
+                .subtotal(row.get("subtotal", BigDecimal.class))
+                .deliveryFee(row.get("delivery_fee", BigDecimal.class))
+                .discount(row.get("discount", BigDecimal.class))
+                .total(row.get("total", BigDecimal.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .deliveredAt(row.get("delivered_at", LocalDateTime.class))
+                .cancelledAt(row.get("cancelled_at", LocalDateTime.class))
+                .cancellationReason(row.get("cancellation_reason", String.class))
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.domain.entity.OrderItem;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Inserção em lote de itens: um único Statement com um conjunto de binds por item.
+ */
+public interface OrderItemBatchRepository {
+
+    Mono<Long> insertAll(List<OrderItem> items);
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.domain.entity.OrderItem;
+import com.ecommerce.order.domain.valueobject.Money;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class OrderItemBatchRepositoryImpl implements OrderItemBatchRepository {
+
+    // Item sem createdAt fica com o horário do banco, como no DEFAULT da coluna
+    private static final String INSERT_ITEM = """
+        INSERT INTO order_items (id, order_id, product_id, product_name, quantity,
+                                 unit_price, total_price, notes, created_at)
+        VALUES ($1, $2, $3, $4, $5, $6, $7, $8, COALESCE($9, CURRENT_TIMESTAMP))
+    """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Envia todos os itens em um único Statement (binds encadeados com add()),
+     * usando a conexão da transação corrente quando houver.
+     */
+    @Override
+    public Mono<Long> insertAll(List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(INSERT_ITEM);
+                    for (int i = 0; i < items.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        bind(statement, items.get(i));
+                    }
+                    return Flux.from(statement.execute())
+                            .flatMap(Result::getRowsUpdated);
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    private void bind(Statement statement, OrderItem item) {
+        statement.bind(0, item.getId())
+                .bind(1, item.getOrderId())
+                .bind(2, item.getProductId())
+                .bind(3, item.getProductName())
+                .bind(4, item.getQuantity())
+                .bind(5, item.getUnitPrice().toBigDecimal());
+        bindNullable(statement, 6, Money.toBigDecimal(item.getTotalPrice()), BigDecimal.class);
+        bindNullable(statement, 7, item.getNotes(), String.class);
+        bindNullable(statement, 8, item.getCreatedAt(), LocalDateTime.class);
+    }
+
+    private <T> void bindNullable(Statement statement, int index, T value, Class<T> type) {
+        if (value == null) {
+            statement.bindNull(index, type);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+}
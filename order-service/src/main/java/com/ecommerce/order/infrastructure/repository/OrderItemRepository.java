@@ -1,17 +1,27 @@
 package com.ecommerce.order.infrastructure.repository;
 
 import com.ecommerce.order.domain.entity.OrderItem;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.UUID;
 
 @Repository
-public interface OrderItemRepository extends R2dbcRepository<OrderItem, UUID> {
+public interface OrderItemRepository extends R2dbcRepository<OrderItem, UUID>, OrderItemBatchRepository {
 
     Flux<OrderItem> findByOrderId(UUID orderId);
 
+    Flux<OrderItem> findByOrderIdIn(Collection<UUID> orderIds);
+
     Mono<Void> deleteByOrderId(UUID orderId);
+
+    @Query("SELECT * FROM order_items_archive WHERE order_id = :orderId")
+    Flux<OrderItem> findArchivedByOrderId(UUID orderId);
+
+    @Query("SELECT * FROM order_items_archive WHERE order_id IN (:orderIds)")
+    Flux<OrderItem> findArchivedByOrderIdIn(Collection<UUID> orderIds);
 }
\ No newline at end of file
@@ -6,31 +6,119 @@ import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Listagens paginadas por keyset em (created_at, id): cada página começa
+ * estritamente depois do cursor (createdAt, id) recebido. O created_at do cursor
+ * repetido fora da comparação de linha é o que deixa o PostgreSQL podar as partições.
+ * Finalizados antigos saem para orders_archive; o OrderService intercala as páginas.
+ */
 @Repository
-public interface OrderRepository extends R2dbcRepository<Order, UUID> {
+public interface OrderRepository extends R2dbcRepository<Order, UUID>, OrderBulkRepository, OrderExportRepository {
 
-    Flux<Order> findByCustomerIdOrderByCreatedAtDesc(UUID customerId);
+    @Query("""
+        SELECT * FROM orders
+        WHERE customer_id = :customerId
+        AND created_at <= :createdAt
+        AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<Order> findPageByCustomer(UUID customerId, LocalDateTime createdAt, UUID id, int limit);
 
-    Flux<Order> findByRestaurantIdOrderByCreatedAtDesc(UUID restaurantId);
+    @Query("""
+        SELECT * FROM orders
+        WHERE restaurant_id = :restaurantId
+        AND created_at <= :createdAt
+        AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<Order> findPageByRestaurant(UUID restaurantId, LocalDateTime createdAt, UUID id, int limit);
 
-    Flux<Order> findByStatus(OrderStatus status);
+    @Query("""
+        SELECT * FROM orders
+        WHERE status = :status
+        AND created_at <= :createdAt
+        AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<Order> findPageByStatus(OrderStatus status, LocalDateTime createdAt, UUID id, int limit);
 
     @Query("""
-        SELECT * FROM orders 
-        WHERE restaurant_id = :restaurantId 
+        SELECT * FROM orders
+        WHERE restaurant_id = :restaurantId
         AND status IN ('PENDING', 'CONFIRMED', 'PREPARING', 'READY')
-        ORDER BY created_at ASC
+        AND created_at >= :createdAt
+        AND (created_at, id) > (:createdAt, :id)
+        ORDER BY created_at ASC, id ASC
+        LIMIT :limit
     """)
-    Flux<Order> findActiveOrdersByRestaurant(UUID restaurantId);
+    Flux<Order> findActivePageByRestaurant(UUID restaurantId, LocalDateTime createdAt, UUID id, int limit);
 
     @Query("""
-        SELECT * FROM orders 
-        WHERE customer_id = :customerId 
+        SELECT * FROM orders
+        WHERE customer_id = :customerId
         AND status NOT IN ('DELIVERED', 'CANCELLED')
-        ORDER BY created_at DESC
+        AND created_at <= :createdAt
+        AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<Order> findActivePageByCustomer(UUID customerId, LocalDateTime createdAt, UUID id, int limit);
+
+    /**
+     * Pedidos ainda sem documento em order_views (backfill da projeção)
+     */
+    @Query("""
+        SELECT * FROM orders o
+        WHERE NOT EXISTS (SELECT 1 FROM order_views v WHERE v.id = o.id)
+        ORDER BY o.id
+        LIMIT :limit
+    """)
+    Flux<Order> findWithoutView(int limit);
+
+    /**
+     * Só id e created_at dos pedidos PENDING, para reconstruir os prazos de cancelamento
+     */
+    @Query("SELECT id, created_at FROM orders WHERE status = 'PENDING'")
+    Flux<Order> findPendingCreationTimes();
+
+    /**
+     * Pedido já movido para orders_archive pelo OrderArchiver
+     */
+    @Query("SELECT * FROM orders_archive WHERE id = :id")
+    Mono<Order> findArchivedById(UUID id);
+
+    @Query("""
+        SELECT * FROM orders_archive
+        WHERE customer_id = :customerId
+        AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<Order> findArchivedPageByCustomer(UUID customerId, LocalDateTime createdAt, UUID id, int limit);
+
+    @Query("""
+        SELECT * FROM orders_archive
+        WHERE restaurant_id = :restaurantId
+        AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<Order> findArchivedPageByRestaurant(UUID restaurantId, LocalDateTime createdAt, UUID id, int limit);
+
+    @Query("""
+        SELECT * FROM orders_archive
+        WHERE status = :status
+        AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
     """)
-    Flux<Order> findActiveOrdersByCustomer(UUID customerId);
-}
\ No newline at end of file
+    Flux<Order> findArchivedPageByStatus(OrderStatus status, LocalDateTime createdAt, UUID id, int limit);
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.domain.entity.OrderStatusChange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Inserção em lote no histórico de status: um único Statement com um conjunto de binds por linha.
+ */
+public interface OrderStatusHistoryBatchRepository {
+
+    Mono<Long> insertAll(List<OrderStatusChange> changes);
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.domain.entity.OrderStatusChange;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class OrderStatusHistoryBatchRepositoryImpl implements OrderStatusHistoryBatchRepository {
+
+    private static final String INSERT_CHANGE = """
+        INSERT INTO order_status_history (order_id, from_status, to_status, reason, changed_at)
+        VALUES ($1, $2, $3, $4, $5)
+    """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Long> insertAll(List<OrderStatusChange> changes) {
+        if (changes.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(INSERT_CHANGE);
+                    for (int i = 0; i < changes.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        OrderStatusChange change = changes.get(i);
+                        statement.bind(0, change.getOrderId());
+                        bindNullable(statement, 1, name(change.getFromStatus()), String.class);
+                        statement.bind(2, change.getToStatus().name());
+                        bindNullable(statement, 3, change.getReason(), String.class);
+                        statement.bind(4, change.getChangedAt());
+                    }
+                    return Flux.from(statement.execute())
+                            .flatMap(Result::getRowsUpdated);
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    private static String name(OrderStatus status) {
+        return status != null ? status.name() : null;
+    }
+
+    private <T> void bindNullable(Statement statement, int index, T value, Class<T> type) {
+        if (value == null) {
+            statement.bindNull(index, type);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+}
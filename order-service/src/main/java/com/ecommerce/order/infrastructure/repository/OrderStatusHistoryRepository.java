@@ -0,0 +1,21 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.domain.entity.OrderStatusChange;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+@Repository
+public interface OrderStatusHistoryRepository extends R2dbcRepository<OrderStatusChange, Long>,
+        OrderStatusHistoryBatchRepository {
+
+    @Query("""
+        SELECT * FROM order_status_history
+        WHERE order_id = :orderId
+        ORDER BY changed_at ASC, id ASC
+    """)
+    Flux<OrderStatusChange> findTimeline(UUID orderId);
+}
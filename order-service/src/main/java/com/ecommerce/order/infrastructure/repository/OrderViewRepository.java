@@ -0,0 +1,59 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.infrastructure.projection.OrderView;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Leituras do modelo de leitura, com o mesmo keyset (created_at, id) de OrderRepository.
+ */
+@Repository
+public interface OrderViewRepository extends R2dbcRepository<OrderView, UUID>, OrderViewUpsertRepository {
+
+    @Query("""
+        SELECT * FROM order_views
+        WHERE customer_id = :customerId
+        AND created_at <= :createdAt
+        AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<OrderView> findPageByCustomer(UUID customerId, LocalDateTime createdAt, UUID id, int limit);
+
+    @Query("""
+        SELECT * FROM order_views
+        WHERE restaurant_id = :restaurantId
+        AND created_at <= :createdAt
+        AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<OrderView> findPageByRestaurant(UUID restaurantId, LocalDateTime createdAt, UUID id, int limit);
+
+    @Query("""
+        SELECT * FROM order_views
+        WHERE status = :status
+        AND created_at <= :createdAt
+        AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<OrderView> findPageByStatus(OrderStatus status, LocalDateTime createdAt, UUID id, int limit);
+
+    @Query("""
+        SELECT * FROM order_views
+        WHERE restaurant_id = :restaurantId
+        AND status IN ('PENDING', 'CONFIRMED', 'PREPARING', 'READY')
+        AND created_at >= :createdAt
+        AND (created_at, id) > (:createdAt, :id)
+        ORDER BY created_at ASC, id ASC
+        LIMIT :limit
+    """)
+    Flux<OrderView> findActivePageByRestaurant(UUID restaurantId, LocalDateTime createdAt, UUID id, int limit);
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.infrastructure.projection.OrderView;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Grava documentos do modelo de leitura com insert-or-update em um único Statement.
+ */
+public interface OrderViewUpsertRepository {
+
+    Mono<Long> upsertAll(List<OrderView> views);
+}
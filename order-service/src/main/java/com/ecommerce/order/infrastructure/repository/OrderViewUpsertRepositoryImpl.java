@@ -0,0 +1,66 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.infrastructure.projection.OrderView;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+class OrderViewUpsertRepositoryImpl implements OrderViewUpsertRepository {
+
+    /** Não sobrescreve um documento gerado por uma versão mais nova do pedido */
+    private static final String POSTGRES_UPSERT = """
+        INSERT INTO order_views (id, customer_id, restaurant_id, status, created_at, version, document)
+        VALUES ($1, $2, $3, $4, $5, $6, $7)
+        ON CONFLICT (id) DO UPDATE
+        SET status = EXCLUDED.status, version = EXCLUDED.version, document = EXCLUDED.document
+        WHERE order_views.version <= EXCLUDED.version
+    """;
+
+    private static final String H2_UPSERT = """
+        MERGE INTO order_views (id, customer_id, restaurant_id, status, created_at, version, document)
+        KEY (id)
+        VALUES ($1, $2, $3, $4, $5, $6, $7)
+    """;
+
+    private final DatabaseClient databaseClient;
+    private final String upsert;
+
+    OrderViewUpsertRepositoryImpl(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        this.upsert = connectionFactory.getMetadata().getName().toLowerCase().contains("postgres")
+                ? POSTGRES_UPSERT
+                : H2_UPSERT;
+    }
+
+    @Override
+    public Mono<Long> upsertAll(List<OrderView> views) {
+        if (views.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(upsert);
+                    for (int i = 0; i < views.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        OrderView view = views.get(i);
+                        statement.bind(0, view.getId())
+                                .bind(1, view.getCustomerId())
+                                .bind(2, view.getRestaurantId())
+                                .bind(3, view.getStatus().name())
+                                .bind(4, view.getCreatedAt())
+                                .bind(5, view.getVersion())
+                                .bind(6, view.getDocument());
+                    }
+                    return Flux.from(statement.execute())
+                            .flatMap(Result::getRowsUpdated);
+                })
+                .reduce(0L, Long::sum);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.infrastructure.messaging.outbox.OutboxEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Inserção em lote no outbox: um único Statement com um conjunto de binds por evento.
+ */
+public interface OutboxEventBatchRepository {
+
+    Mono<Long> insertAll(List<OutboxEvent> events);
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.infrastructure.messaging.outbox.OutboxEvent;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class OutboxEventBatchRepositoryImpl implements OutboxEventBatchRepository {
+
+    private static final String INSERT_EVENT = """
+        INSERT INTO order_outbox (aggregate_id, event_type, payload, content_type, payload_bytes, created_at)
+        VALUES ($1, $2, $3, $4, $5, $6)
+    """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Os ids são gerados na ordem dos binds, preservando a ordem da lista no relay
+     */
+    @Override
+    public Mono<Long> insertAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(INSERT_EVENT);
+                    for (int i = 0; i < events.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        OutboxEvent event = events.get(i);
+                        statement.bind(0, event.getAggregateId())
+                                .bind(1, event.getEventType());
+                        bindNullable(statement, 2, event.getPayload(), String.class);
+                        bindNullable(statement, 3, event.getContentType(), String.class);
+                        bindNullable(statement, 4, event.getPayloadBytes(), byte[].class);
+                        statement.bind(5, event.getCreatedAt());
+                    }
+                    return Flux.from(statement.execute())
+                            .flatMap(Result::getRowsUpdated);
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    private <T> void bindNullable(Statement statement, int index, T value, Class<T> type) {
+        if (value == null) {
+            statement.bindNull(index, type);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.order.infrastructure.repository;
+
+import com.ecommerce.order.infrastructure.messaging.outbox.OutboxEvent;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface OutboxEventRepository extends R2dbcRepository<OutboxEvent, Long>, OutboxEventBatchRepository {
+
+    /**
+     * Próximo lote em ordem de gravação. FOR UPDATE faz relays concorrentes
+     * esperarem o lote corrente, preservando a ordem por pedido.
+     */
+    @Query("""
+        SELECT * FROM order_outbox
+        ORDER BY id ASC
+        LIMIT :limit
+        FOR UPDATE
+    """)
+    Flux<OutboxEvent> findNextBatch(int limit);
+
+    @Modifying
+    @Query("DELETE FROM order_outbox WHERE id IN (:ids)")
+    Mono<Integer> deleteByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,151 @@
+package com.ecommerce.order.infrastructure.shard;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Distribui os pedidos entre os bancos de order_db por restaurant_id (jump consistent
+ * hash) e marca no contexto Reactor o shard de cada operação, que o
+ * {@link ShardRoutingConnectionFactory} usa ao abrir a conexão. Pedido, itens, outbox,
+ * order_views e chaves de idempotência ficam todos no shard do restaurante.
+ *
+ * <p>O id do pedido carrega o shard: UUID versão 8 com o índice nos 16 bits finais.
+ * Ids versão 4, anteriores ao sharding, ficam no shard 0. Sem sharding há um único
+ * shard e nada muda.
+ */
+@Component
+public class OrderShards {
+
+    /** Chave do contexto Reactor com o índice do shard */
+    public static final String SHARD = OrderShards.class.getName() + ".SHARD";
+
+    static final int MAX_SHARDS = 1 << 16;
+    private static final long SHARD_MASK = MAX_SHARDS - 1;
+
+    private final int count;
+    private final TransactionalOperator transactionalOperator;
+    private final TransactionalOperator readOnlyOperator;
+
+    public OrderShards(ReactiveTransactionManager transactionManager,
+                       TransactionalOperator transactionalOperator,
+                       @Value("${order.sharding.enabled:false}") boolean enabled,
+                       @Value("${order.sharding.urls:}") List<String> urls) {
+        this.count = enabled ? urls.size() : 1;
+        if (count < 1 || count > MAX_SHARDS) {
+            throw new IllegalStateException("order.sharding.urls must list between 1 and " + MAX_SHARDS + " databases");
+        }
+        this.transactionalOperator = transactionalOperator;
+        DefaultTransactionDefinition readOnly = new DefaultTransactionDefinition();
+        readOnly.setReadOnly(true);
+        this.readOnlyOperator = TransactionalOperator.create(transactionManager, readOnly);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int forRestaurant(UUID restaurantId) {
+        return jump(restaurantId.getMostSignificantBits() ^ restaurantId.getLeastSignificantBits(), count);
+    }
+
+    /**
+     * Shard das Idempotency-Key do cliente, com o mesmo hash dos restaurantes: qualquer
+     * pedido do cliente, de qualquer restaurante, consulta a chave no mesmo lugar
+     */
+    public int forCustomer(UUID customerId) {
+        return forRestaurant(customerId);
+    }
+
+    /**
+     * Shard gravado no id; um índice fora da configuração atual cai num shard onde
+     * o pedido não existe, e a busca termina em não encontrado
+     */
+    public int forOrder(UUID orderId) {
+        return Math.floorMod(encodedShard(orderId), count);
+    }
+
+    public UUID newOrderId(UUID restaurantId) {
+        return newOrderId(forRestaurant(restaurantId));
+    }
+
+    public <T> Mono<T> on(int shard, Mono<T> source) {
+        return source.contextWrite(context -> context.put(SHARD, shard));
+    }
+
+    public <T> Flux<T> on(int shard, Flux<T> source) {
+        return source.contextWrite(context -> context.put(SHARD, shard));
+    }
+
+    /** Transação de escrita aberta no shard */
+    public <T> Mono<T> write(int shard, Mono<T> source) {
+        return on(shard, transactionalOperator.transactional(source));
+    }
+
+    /** Transação somente leitura no shard (pode ir para uma réplica) */
+    public <T> Mono<T> read(int shard, Mono<T> source) {
+        return on(shard, readOnlyOperator.transactional(source));
+    }
+
+    public <T> Flux<T> read(int shard, Flux<T> source) {
+        return on(shard, readOnlyOperator.transactional(source));
+    }
+
+    /** Roda em cada shard, um depois do outro */
+    public <T> Flux<T> onEach(IntFunction<? extends Publisher<T>> perShard) {
+        return Flux.range(0, count)
+                .concatMap(shard -> on(shard, Flux.from(perShard.apply(shard))));
+    }
+
+    /**
+     * Consulta todos os shards em paralelo e intercala os resultados, já ordenados em
+     * cada shard, pela mesma ordem (k-way merge)
+     */
+    public <T> Flux<T> gather(Comparator<? super T> order, IntFunction<Flux<T>> perShard) {
+        if (count == 1) {
+            return read(0, perShard.apply(0));
+        }
+        @SuppressWarnings("unchecked")
+        Publisher<T>[] sources = new Publisher[count];
+        for (int shard = 0; shard < count; shard++) {
+            sources[shard] = read(shard, perShard.apply(shard));
+        }
+        return Flux.mergeComparing(order, sources);
+    }
+
+    static UUID newOrderId(int shard) {
+        UUID random = UUID.randomUUID();
+        long msb = (random.getMostSignificantBits() & ~0xF000L) | 0x8000L;
+        long lsb = (random.getLeastSignificantBits() & ~SHARD_MASK) | shard;
+        return new UUID(msb, lsb);
+    }
+
+    static int encodedShard(UUID orderId) {
+        return orderId.version() == 8 ? (int) (orderId.getLeastSignificantBits() & SHARD_MASK) : 0;
+    }
+
+    /**
+     * Jump consistent hash (Lamping e Veach): ao passar de n para n+1 shards só
+     * 1/(n+1) das chaves muda de lugar
+     */
+    static int jump(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.order.infrastructure.shard;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Abre a conexão no banco do shard marcado no contexto por {@link OrderShards}.
+ * Sem marca (inicialização do schema, health check) usa o shard 0.
+ */
+public class ShardRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements Disposable {
+
+    private final List<ConnectionFactory> shards;
+
+    public ShardRoutingConnectionFactory(List<ConnectionFactory> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Integer, ConnectionFactory> targets = new LinkedHashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetConnectionFactories(targets);
+        setDefaultTargetConnectionFactory(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.getOrEmpty(OrderShards.SHARD)));
+    }
+
+    @Override
+    public void dispose() {
+        for (ConnectionFactory shard : shards) {
+            if (shard instanceof Disposable disposable) {
+                disposable.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.order.infrastructure.timeout;
+
+import com.ecommerce.order.application.service.OrderService;
+import com.ecommerce.order.application.service.PendingOrderTimeoutService;
+import com.ecommerce.order.infrastructure.repository.OrderRepository;
+import com.ecommerce.order.infrastructure.shard.OrderShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Avança a roda de prazos dos pedidos PENDING a cada tick e cancela os vencidos em
+ * lotes de um UPDATE. Na subida, reconstrói a roda a partir dos pedidos PENDING do banco.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.pending-timeout.enabled", havingValue = "true", matchIfMissing = true)
+public class PendingOrderExpirer {
+
+    static final String TIMEOUT_REASON = "Pedido não confirmado pelo restaurante a tempo";
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final PendingOrderTimeoutService pendingTimeouts;
+    private final OrderShards orderShards;
+    private final int batchSize;
+
+    public PendingOrderExpirer(OrderService orderService,
+                               OrderRepository orderRepository,
+                               PendingOrderTimeoutService pendingTimeouts,
+                               OrderShards orderShards,
+                               @Value("${order.pending-timeout.batch-size:500}") int batchSize) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.pendingTimeouts = pendingTimeouts;
+        this.orderShards = orderShards;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild().subscribe();
+    }
+
+    public Mono<Long> rebuild() {
+        return orderShards.onEach(shard -> orderRepository.findPendingCreationTimes())
+                .doOnNext(order -> pendingTimeouts.schedule(order.getId(), order.getCreatedAt()))
+                .count()
+                .doOnNext(count -> log.info("Scheduled timeouts for {} pending orders", count))
+                .onErrorResume(error -> {
+                    log.error("Failed to rebuild pending order timeouts: {}", error.getMessage());
+                    return Mono.just(0L);
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${order.pending-timeout.tick:1s}")
+    public Mono<Long> expire() {
+        return expire(System.currentTimeMillis());
+    }
+
+    Mono<Long> expire(long nowMillis) {
+        List<UUID> expired = pendingTimeouts.expire(nowMillis);
+        if (expired.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return Flux.fromIterable(expired)
+                .buffer(batchSize)
+                .concatMap(batch -> orderService.expirePendingOrders(batch, TIMEOUT_REASON)
+                        .onErrorResume(error -> {
+                            // Volta para a roda e é tentado de novo no próximo tick
+                            log.error("Failed to expire {} pending orders: {}", batch.size(), error.getMessage());
+                            batch.forEach(pendingTimeouts::retry);
+                            return Mono.just(0L);
+                        }))
+                .reduce(0L, Long::sum)
+                .doOnNext(total -> log.info("Cancelled {} orders left in PENDING past {}",
+                        total, pendingTimeouts.getTimeout()));
+    }
+}
@@ -0,0 +1,55 @@
+-- =====================================================
+-- src/main/resources/db/migration/V2__partition_orders.sql
+-- =====================================================
+-- Converte a orders não particionada de bancos existentes na tabela particionada por
+-- mês em created_at do schema.sql. Tudo num único bloco (uma transação); em banco já
+-- particionado não faz nada. Depois dela, o schema.sql cria o que falta (arquivo,
+-- índice parcial) com IF NOT EXISTS.
+DO $$
+DECLARE
+    fk TEXT;
+    month DATE;
+    last_month DATE := date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months';
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'orders'::regclass) = 'p' THEN
+        RAISE NOTICE 'orders is already partitioned';
+        RETURN;
+    END IF;
+
+    -- A FK de order_items apontava para orders(id), que deixa de ser única sozinha: a PK
+    -- passa a ser (id, created_at) e order_items não tem o created_at do pedido. Os itens
+    -- são gravados na transação do pedido e só saem junto com ele, pelo arquivamento.
+    FOR fk IN SELECT conname FROM pg_constraint
+              WHERE conrelid = 'order_items'::regclass AND confrelid = 'orders'::regclass AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE order_items DROP CONSTRAINT %I', fk);
+    END LOOP;
+
+    -- created_at entra na PK; linhas antigas sem ele ficam com a última atualização
+    UPDATE orders SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+
+    ALTER TABLE orders RENAME TO orders_unpartitioned;
+    ALTER TABLE orders_unpartitioned RENAME CONSTRAINT orders_pkey TO orders_unpartitioned_pkey;
+
+    -- Mesmas colunas, na mesma ordem, da tabela antiga (INSERT ... SELECT * abaixo e no arquivamento)
+    CREATE TABLE orders (LIKE orders_unpartitioned INCLUDING DEFAULTS, PRIMARY KEY (id, created_at))
+        PARTITION BY RANGE (created_at);
+
+    -- Um mês por partição desde o pedido mais antigo até o horizonte do OrderPartitionManager
+    month := date_trunc('month', COALESCE((SELECT min(created_at) FROM orders_unpartitioned), CURRENT_TIMESTAMP));
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       'orders_y' || to_char(month, 'YYYY') || 'm' || to_char(month, 'MM'),
+                       month, (month + INTERVAL '1 month')::DATE);
+        month := month + INTERVAL '1 month';
+    END LOOP;
+    CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+
+    INSERT INTO orders SELECT * FROM orders_unpartitioned;
+    -- Os índices da tabela antiga vão junto; os nomes ficam livres para os da nova
+    DROP TABLE orders_unpartitioned;
+
+    CREATE INDEX idx_orders_customer_created ON orders(customer_id, created_at DESC, id DESC);
+    CREATE INDEX idx_orders_restaurant_created ON orders(restaurant_id, created_at DESC, id DESC);
+    CREATE INDEX idx_orders_status_created ON orders(status, created_at DESC, id DESC);
+END $$;
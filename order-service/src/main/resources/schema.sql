@@ -1,9 +1,13 @@
 -- Garantir que a extensão existe
 CREATE EXTENSION IF NOT EXISTS "pgcrypto";
 
--- Tabela de pedidos
+-- Tabela de pedidos, particionada por mês em created_at.
+-- As partições mensais são criadas pelo OrderPartitionManager; a DEFAULT só recebe
+-- linhas fora de qualquer mês já criado.
+-- Em banco criado antes do particionamento o IF NOT EXISTS não converte a tabela:
+-- rode antes db/migration/V2__partition_orders.sql.
 CREATE TABLE IF NOT EXISTS orders (
-    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
     customer_id UUID NOT NULL,
     restaurant_id UUID NOT NULL,
 
@@ -41,14 +45,25 @@ CREATE TABLE IF NOT EXISTS orders (
     cancelled_at TIMESTAMP,
 
     -- Timestamps
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-);
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    -- Locking otimista
+    version BIGINT NOT NULL DEFAULT 0,
+
+    -- A chave de partição precisa fazer parte da PK
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS orders_default PARTITION OF orders DEFAULT;
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
 
 -- Tabela de itens do pedido
 CREATE TABLE IF NOT EXISTS order_items (
     id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
-    order_id UUID NOT NULL REFERENCES orders(id) ON DELETE CASCADE,
+    -- Sem FK: a PK de orders inclui created_at. A remoção dos itens é feita pelo arquivamento.
+    order_id UUID NOT NULL,
     product_id UUID NOT NULL,
     product_name VARCHAR(200) NOT NULL,
     quantity INTEGER NOT NULL DEFAULT 1,
@@ -59,9 +74,79 @@ CREATE TABLE IF NOT EXISTS order_items (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Arquivo de pedidos finalizados (DELIVERED/CANCELLED) antigos, movidos pelo OrderArchiver.
+-- Mesmas colunas, na mesma ordem, de orders/order_items.
+CREATE TABLE IF NOT EXISTS orders_archive (LIKE orders INCLUDING DEFAULTS, PRIMARY KEY (id));
+CREATE TABLE IF NOT EXISTS order_items_archive (LIKE order_items INCLUDING DEFAULTS, PRIMARY KEY (id));
+
+-- Outbox de eventos: gravado na transação do pedido, drenado em ordem de id pelo relay
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Payload binário (order.events.format=binary) vai em payload_bytes; JSON continua em payload
+ALTER TABLE order_outbox ADD COLUMN IF NOT EXISTS content_type VARCHAR(60);
+ALTER TABLE order_outbox ADD COLUMN IF NOT EXISTS payload_bytes BYTEA;
+ALTER TABLE order_outbox ALTER COLUMN payload DROP NOT NULL;
+
+-- Modelo de leitura: OrderResponse pré-renderizado, atualizado a cada escrita do pedido
+CREATE TABLE IF NOT EXISTS order_views (
+    id UUID PRIMARY KEY,
+    customer_id UUID NOT NULL,
+    restaurant_id UUID NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    document BYTEA NOT NULL
+);
+
+-- Chaves Idempotency-Key de POST /api/v1/orders por cliente, no shard do cliente, com o hash
+-- da requisição e a resposta devolvida; vencidas são removidas periodicamente pelo IdempotencyStore
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    customer_id UUID NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash BYTEA NOT NULL,
+    order_id UUID NOT NULL,
+    response BYTEA,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (customer_id, idempotency_key)
+);
+
+-- A chave é reservada (response nulo) antes do pedido ser criado no shard do restaurante
+ALTER TABLE idempotency_keys ALTER COLUMN response DROP NOT NULL;
+
+-- Histórico de status, só com inserções: uma linha por transição (from_status nulo na criação)
+CREATE TABLE IF NOT EXISTS order_status_history (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id UUID NOT NULL,
+    from_status VARCHAR(30),
+    to_status VARCHAR(30) NOT NULL,
+    reason TEXT,
+    changed_at TIMESTAMP NOT NULL
+);
+
 -- Índices
-CREATE INDEX IF NOT EXISTS idx_orders_customer ON orders(customer_id);
-CREATE INDEX IF NOT EXISTS idx_orders_restaurant ON orders(restaurant_id);
-CREATE INDEX IF NOT EXISTS idx_orders_status ON orders(status);
-CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders(created_at DESC);
-CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items(order_id);
\ No newline at end of file
+-- Índices de keyset: (filtro, created_at, id) atendem as listagens paginadas por cursor
+DROP INDEX IF EXISTS idx_orders_customer;
+DROP INDEX IF EXISTS idx_orders_restaurant;
+DROP INDEX IF EXISTS idx_orders_status;
+DROP INDEX IF EXISTS idx_orders_created_at;
+CREATE INDEX IF NOT EXISTS idx_orders_customer_created ON orders(customer_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_restaurant_created ON orders(restaurant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created ON orders(status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items(order_id);
+CREATE INDEX IF NOT EXISTS idx_order_views_customer_created ON order_views(customer_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_order_views_restaurant_created ON order_views(restaurant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_order_views_status_created ON order_views(status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_final_created ON orders(created_at) WHERE status IN ('DELIVERED', 'CANCELLED');
+CREATE INDEX IF NOT EXISTS idx_order_items_archive_order ON order_items_archive(order_id);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_customer_created ON orders_archive(customer_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_restaurant_created ON orders_archive(restaurant_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_status_created ON orders_archive(status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires ON idempotency_keys(expires_at);
+CREATE INDEX IF NOT EXISTS idx_order_status_history_order ON order_status_history(order_id, changed_at, id);
@@ -0,0 +1,107 @@
+package com.ecommerce.order.application.kitchen;
+
+import com.ecommerce.order.application.dto.request.OrderCursor;
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KitchenQueue Tests")
+class KitchenQueueTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    private KitchenQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new KitchenQueue();
+    }
+
+    private OrderResponse order(UUID id, OrderStatus status, int minute) {
+        return OrderResponse.builder()
+                .id(id)
+                .restaurantId(UUID.randomUUID())
+                .status(status)
+                .createdAt(T0.plusMinutes(minute))
+                .build();
+    }
+
+    private List<UUID> ids(List<OrderResponse> orders) {
+        return orders.stream().map(OrderResponse::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Should merge status groups oldest first")
+    void shouldMergeStatusGroupsOldestFirst() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        queue.apply(order(c, OrderStatus.READY, 3), 1);
+        queue.apply(order(a, OrderStatus.PENDING, 1), 1);
+        queue.apply(order(b, OrderStatus.PREPARING, 2), 1);
+
+        assertThat(ids(queue.page(OrderCursor.oldest(), 10))).containsExactly(a, b, c);
+    }
+
+    @Test
+    @DisplayName("Should page after the cursor")
+    void shouldPageAfterCursor() {
+        List<OrderResponse> orders = List.of(
+                order(UUID.randomUUID(), OrderStatus.PENDING, 1),
+                order(UUID.randomUUID(), OrderStatus.CONFIRMED, 2),
+                order(UUID.randomUUID(), OrderStatus.PENDING, 3),
+                order(UUID.randomUUID(), OrderStatus.READY, 4));
+        orders.forEach(o -> queue.apply(o, 1));
+
+        List<OrderResponse> first = queue.page(OrderCursor.oldest(), 2);
+        OrderResponse last = first.get(1);
+        List<OrderResponse> second = queue.page(new OrderCursor(last.getCreatedAt(), last.getId()), 2);
+
+        assertThat(ids(first)).containsExactly(orders.get(0).getId(), orders.get(1).getId());
+        assertThat(ids(second)).containsExactly(orders.get(2).getId(), orders.get(3).getId());
+    }
+
+    @Test
+    @DisplayName("Should move orders between statuses and drop finished ones")
+    void shouldMoveAndRemove() {
+        UUID id = UUID.randomUUID();
+        queue.apply(order(id, OrderStatus.PENDING, 1), 1);
+        queue.apply(order(id, OrderStatus.PREPARING, 1), 2);
+
+        assertThat(queue.page(OrderCursor.oldest(), 10))
+                .singleElement()
+                .extracting(OrderResponse::getStatus)
+                .isEqualTo(OrderStatus.PREPARING);
+
+        queue.apply(order(id, OrderStatus.OUT_FOR_DELIVERY, 1), 3);
+
+        assertThat(queue.page(OrderCursor.oldest(), 10)).isEmpty();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore documents older than the known version")
+    void shouldIgnoreStaleVersions() {
+        UUID id = UUID.randomUUID();
+        queue.apply(order(id, OrderStatus.READY, 1), 4);
+        queue.apply(order(id, OrderStatus.CONFIRMED, 1), 2);
+
+        assertThat(queue.page(OrderCursor.oldest(), 10))
+                .singleElement()
+                .extracting(OrderResponse::getStatus)
+                .isEqualTo(OrderStatus.READY);
+
+        queue.apply(order(id, OrderStatus.DELIVERED, 1), 6);
+        queue.apply(order(id, OrderStatus.PREPARING, 1), 3);
+
+        assertThat(queue.page(OrderCursor.oldest(), 10)).isEmpty();
+    }
+}
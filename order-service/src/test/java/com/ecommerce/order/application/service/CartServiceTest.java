@@ -0,0 +1,176 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.request.CheckoutCartRequest;
+import com.ecommerce.order.application.dto.request.CreateCartRequest;
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.application.dto.request.UpdateCartItemRequest;
+import com.ecommerce.order.application.dto.response.CartResponse;
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.domain.exception.CartNotFoundException;
+import com.ecommerce.order.domain.exception.InvalidOrderItemException;
+import com.ecommerce.order.domain.exception.InvalidOrderStateException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("CartService Tests")
+class CartServiceTest {
+
+    @Autowired
+    private CartService cartService;
+
+    private UUID pizzaId;
+    private UUID sodaId;
+
+    @BeforeEach
+    void setUp() {
+        pizzaId = UUID.randomUUID();
+        sodaId = UUID.randomUUID();
+    }
+
+    private CartResponse createCart() {
+        return cartService.createCart(CreateCartRequest.builder()
+                        .customerId(UUID.randomUUID())
+                        .restaurantId(UUID.randomUUID())
+                        .build())
+                .block();
+    }
+
+    private OrderItemRequest item(UUID productId, String name, int quantity, String unitPrice) {
+        return OrderItemRequest.builder()
+                .productId(productId)
+                .productName(name)
+                .quantity(quantity)
+                .unitPrice(new BigDecimal(unitPrice))
+                .build();
+    }
+
+    private CheckoutCartRequest checkoutRequest() {
+        return CheckoutCartRequest.builder()
+                .deliveryStreet("Rua das Flores")
+                .deliveryNumber("123")
+                .deliveryNeighborhood("Centro")
+                .deliveryCity("São Paulo")
+                .deliveryState("SP")
+                .deliveryZipCode("01234-567")
+                .deliveryFee(new BigDecimal("5.00"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should merge repeated items and keep totals up to date")
+    void shouldMergeItemsAndKeepTotals() {
+        UUID cartId = createCart().getId();
+
+        cartService.addItem(cartId, item(pizzaId, "Pizza Margherita", 1, "45.90")).block();
+        cartService.addItem(cartId, item(sodaId, "Refrigerante", 2, "6.00")).block();
+
+        StepVerifier.create(cartService.addItem(cartId, item(pizzaId, "Pizza Margherita", 1, "45.90")))
+                .assertNext(cart -> {
+                    assertThat(cart.getItems()).hasSize(2);
+                    assertThat(cart.getItemCount()).isEqualTo(4);
+                    assertThat(cart.getSubtotal()).isEqualByComparingTo("103.80");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should update and remove items")
+    void shouldUpdateAndRemoveItems() {
+        UUID cartId = createCart().getId();
+        cartService.addItem(cartId, item(pizzaId, "Pizza Margherita", 1, "45.90")).block();
+        cartService.addItem(cartId, item(sodaId, "Refrigerante", 1, "6.00")).block();
+
+        cartService.updateItem(cartId, pizzaId, new UpdateCartItemRequest(3, "Sem cebola")).block();
+
+        StepVerifier.create(cartService.removeItem(cartId, sodaId))
+                .assertNext(cart -> {
+                    assertThat(cart.getItems()).singleElement()
+                            .satisfies(item -> {
+                                assertThat(item.getQuantity()).isEqualTo(3);
+                                assertThat(item.getNotes()).isEqualTo("Sem cebola");
+                            });
+                    assertThat(cart.getSubtotal()).isEqualByComparingTo("137.70");
+                })
+                .verifyComplete();
+
+        StepVerifier.create(cartService.updateItem(cartId, pizzaId, new UpdateCartItemRequest(0, null)))
+                .assertNext(cart -> assertThat(cart.getItems()).isEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject update and removal of items not in the cart")
+    void shouldRejectChangesToMissingItems() {
+        UUID cartId = createCart().getId();
+        cartService.addItem(cartId, item(pizzaId, "Pizza Margherita", 1, "45.90")).block();
+
+        StepVerifier.create(cartService.updateItem(cartId, sodaId, new UpdateCartItemRequest(2, null)))
+                .expectError(InvalidOrderItemException.class)
+                .verify();
+        StepVerifier.create(cartService.removeItem(cartId, sodaId))
+                .expectError(InvalidOrderItemException.class)
+                .verify();
+        StepVerifier.create(cartService.getCart(cartId))
+                .assertNext(cart -> assertThat(cart.getItems()).hasSize(1))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should turn the cart into an order once")
+    void shouldCheckoutOnce() {
+        CartResponse created = createCart();
+        UUID cartId = created.getId();
+        cartService.addItem(cartId, item(pizzaId, "Pizza Margherita", 2, "45.90")).block();
+
+        OrderResponse order = cartService.checkout(cartId, checkoutRequest(), null).block();
+
+        assertThat(order).isNotNull();
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(order.getCustomerId()).isEqualTo(created.getCustomerId());
+        assertThat(order.getTotal()).isEqualByComparingTo("96.80");
+
+        StepVerifier.create(cartService.checkout(cartId, checkoutRequest(), null))
+                .assertNext(again -> assertThat(again.getId()).isEqualTo(order.getId()))
+                .verifyComplete();
+        StepVerifier.create(cartService.getCart(cartId))
+                .assertNext(cart -> assertThat(cart.getOrderId()).isEqualTo(order.getId()))
+                .verifyComplete();
+        StepVerifier.create(cartService.addItem(cartId, item(sodaId, "Refrigerante", 1, "6.00")))
+                .expectError(InvalidOrderStateException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should reject checkout of an empty cart")
+    void shouldRejectEmptyCheckout() {
+        UUID cartId = createCart().getId();
+
+        StepVerifier.create(cartService.checkout(cartId, checkoutRequest(), null))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should fail for unknown or discarded carts")
+    void shouldFailForUnknownCart() {
+        UUID cartId = createCart().getId();
+        cartService.deleteCart(cartId).block();
+
+        StepVerifier.create(cartService.getCart(cartId))
+                .expectError(CartNotFoundException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,243 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.domain.exception.CheckoutRejectedException;
+import com.ecommerce.order.infrastructure.client.MenuItemSummary;
+import com.ecommerce.order.infrastructure.client.MenuServiceClient;
+import com.ecommerce.order.infrastructure.client.RestaurantServiceClient;
+import com.ecommerce.order.infrastructure.client.RestaurantSummary;
+import com.ecommerce.order.infrastructure.messaging.event.MenuItemEvent;
+import com.ecommerce.order.infrastructure.messaging.event.RestaurantEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CheckoutValidationService Tests")
+class CheckoutValidationServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 12, 0);
+    // Av. Paulista e um ponto a ~2,9 km dela
+    private static final BigDecimal RESTAURANT_LAT = new BigDecimal("-23.561414");
+    private static final BigDecimal RESTAURANT_LNG = new BigDecimal("-46.655881");
+    private static final BigDecimal NEARBY_LAT = new BigDecimal("-23.587416");
+    private static final BigDecimal NEARBY_LNG = new BigDecimal("-46.657634");
+
+    @Mock
+    private RestaurantServiceClient restaurantServiceClient;
+
+    @Mock
+    private MenuServiceClient menuServiceClient;
+
+    private RestaurantAvailabilityService restaurantAvailability;
+    private MenuPriceService menuPriceService;
+    private CheckoutValidationService validationService;
+    private UUID restaurantId;
+    private UUID pizzaId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantAvailability = new RestaurantAvailabilityService(restaurantServiceClient, true);
+        menuPriceService = new MenuPriceService(menuServiceClient, true);
+        validationService = new CheckoutValidationService(restaurantAvailability, menuPriceService, Duration.ofMillis(100));
+        restaurantId = UUID.randomUUID();
+        pizzaId = UUID.randomUUID();
+        menuPriceService.apply(MenuItemEvent.builder()
+                .eventType(MenuItemEvent.EventType.MENU_ITEM_CREATED)
+                .menuItemId(pizzaId)
+                .restaurantId(restaurantId)
+                .name("Pizza Margherita")
+                .price(new BigDecimal("45.00"))
+                .isAvailable(true)
+                .maxQuantityPerOrder(3)
+                .timestamp(NOW)
+                .build());
+    }
+
+    private RestaurantSummary.RestaurantSummaryBuilder restaurant() {
+        return RestaurantSummary.builder()
+                .id(restaurantId)
+                .status("ACTIVE")
+                .isOpen(true)
+                .isAcceptingOrders(true)
+                .latitude(RESTAURANT_LAT)
+                .longitude(RESTAURANT_LNG)
+                .deliveryRadiusKm(new BigDecimal("5.0"))
+                .minOrderValue(new BigDecimal("40.00"))
+                .updatedAt(NOW);
+    }
+
+    private CreateOrderRequest request(BigDecimal lat, BigDecimal lng, int... quantities) {
+        List<OrderItemRequest> items = Arrays.stream(quantities)
+                .mapToObj(q -> OrderItemRequest.builder()
+                        .productId(pizzaId)
+                        .productName("Pizza")
+                        .quantity(q)
+                        .unitPrice(new BigDecimal("1.00"))
+                        .build())
+                .toList();
+        return CreateOrderRequest.builder()
+                .customerId(UUID.randomUUID())
+                .restaurantId(restaurantId)
+                .deliveryLatitude(lat)
+                .deliveryLongitude(lng)
+                .items(items)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return menu-priced items when every check passes from the local views")
+    void shouldPassFromLocalViews() {
+        restaurantAvailability.load(restaurant().build());
+
+        StepVerifier.create(validationService.validate(request(NEARBY_LAT, NEARBY_LNG, 1)))
+                .assertNext(items -> assertThat(items).singleElement()
+                        .satisfies(item -> assertThat(item.getUnitPrice()).isEqualByComparingTo("45.00")))
+                .verifyComplete();
+
+        verifyNoInteractions(restaurantServiceClient, menuServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should report every failed check in a stable order")
+    void shouldReportEveryFailedCheck() {
+        restaurantAvailability.load(restaurant()
+                .isAcceptingOrders(false)
+                .deliveryRadiusKm(new BigDecimal("1.5"))
+                .minOrderValue(new BigDecimal("200.00"))
+                .build());
+
+        StepVerifier.create(validationService.validate(request(NEARBY_LAT, NEARBY_LNG, 2, 2)))
+                .expectErrorSatisfies(error -> {
+                    assertThat(error).isInstanceOf(CheckoutRejectedException.class);
+                    assertThat(((CheckoutRejectedException) error).getFailedChecks()).containsExactly(
+                            entry(CheckoutValidationService.RESTAURANT_OPEN, "restaurant is not accepting orders"),
+                            entry(CheckoutValidationService.DELIVERY_RADIUS, "address is 2.9 km away, delivery radius is 1.5 km"),
+                            entry(CheckoutValidationService.MAX_QUANTITY, pizzaId + " quantity 4 exceeds 3"),
+                            entry(CheckoutValidationService.MIN_ORDER_VALUE, "subtotal BRL 180.00 is below minimum BRL 200.00"));
+                })
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should load a missing restaurant remotely once")
+    void shouldLoadMissingRestaurantOnce() {
+        when(restaurantServiceClient.findRestaurant(restaurantId))
+                .thenReturn(Mono.just(restaurant().minOrderValue(new BigDecimal("100.00")).build()));
+
+        StepVerifier.create(validationService.validate(request(NEARBY_LAT, NEARBY_LNG, 1)))
+                .expectError(CheckoutRejectedException.class)
+                .verify();
+        StepVerifier.create(validationService.validate(request(NEARBY_LAT, NEARBY_LNG, 3)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(restaurantServiceClient, times(1)).findRestaurant(restaurantId);
+    }
+
+    @Test
+    @DisplayName("Should fail closed for an unknown restaurant when the lookup times out")
+    void shouldRejectUnknownRestaurantOnLookupTimeout() {
+        when(restaurantServiceClient.findRestaurant(restaurantId)).thenReturn(Mono.never());
+
+        StepVerifier.create(validationService.validate(request(null, null, 3)))
+                .expectErrorSatisfies(error -> assertThat(((CheckoutRejectedException) error).getFailedChecks())
+                        .containsExactly(entry(CheckoutValidationService.RESTAURANT_OPEN, "restaurant availability is unknown")))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should reject a restaurant missing locally that the lookup reports closed")
+    void shouldRejectClosedRestaurantOnLocalMiss() {
+        when(restaurantServiceClient.findRestaurant(restaurantId))
+                .thenReturn(Mono.just(restaurant().isOpen(false).build()));
+
+        StepVerifier.create(validationService.validate(request(NEARBY_LAT, NEARBY_LNG, 1)))
+                .expectErrorSatisfies(error -> assertThat(((CheckoutRejectedException) error).getFailedChecks())
+                        .containsExactly(entry(CheckoutValidationService.RESTAURANT_OPEN, "restaurant is not accepting orders")))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should accept an unknown restaurant when remote lookups are disabled")
+    void shouldAcceptUnknownRestaurantWithoutRemoteFallback() {
+        validationService = new CheckoutValidationService(
+                new RestaurantAvailabilityService(restaurantServiceClient, false), menuPriceService, Duration.ofMillis(100));
+
+        StepVerifier.create(validationService.validate(request(null, null, 3)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verifyNoInteractions(restaurantServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should reject a paused restaurant from the local view while the rules lookup is slow")
+    void shouldRejectPausedRestaurantWithSlowLookup() {
+        restaurantAvailability.apply(RestaurantEvent.builder()
+                .eventType(RestaurantEvent.EventType.RESTAURANT_ORDERS_PAUSED)
+                .restaurantId(restaurantId)
+                .status("ACTIVE")
+                .isOpen(true)
+                .isAcceptingOrders(false)
+                .timestamp(NOW)
+                .build());
+        when(restaurantServiceClient.findRestaurant(restaurantId)).thenReturn(Mono.never());
+
+        StepVerifier.create(validationService.validate(request(NEARBY_LAT, NEARBY_LNG, 1)))
+                .expectErrorSatisfies(error -> assertThat(((CheckoutRejectedException) error).getFailedChecks())
+                        .containsExactly(entry(CheckoutValidationService.RESTAURANT_OPEN, "restaurant is not accepting orders")))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should still enforce item limits and minimum order when the menu lookup is slow")
+    void shouldEnforceMenuChecksWithSlowLookup() {
+        restaurantAvailability.load(restaurant().minOrderValue(new BigDecimal("100.00")).build());
+        UUID sodaId = UUID.randomUUID();
+        when(menuServiceClient.findMenuItem(sodaId)).thenReturn(Mono.just(MenuItemSummary.builder()
+                        .id(sodaId)
+                        .restaurantId(restaurantId)
+                        .name("Refrigerante")
+                        .price(new BigDecimal("6.00"))
+                        .isAvailable(true)
+                        .maxQuantityPerOrder(2)
+                        .updatedAt(NOW)
+                        .build())
+                .delayElement(Duration.ofMillis(300)));
+        CreateOrderRequest request = CreateOrderRequest.builder()
+                .customerId(UUID.randomUUID())
+                .restaurantId(restaurantId)
+                .items(List.of(OrderItemRequest.builder()
+                        .productId(sodaId)
+                        .productName("Refrigerante")
+                        .quantity(3)
+                        .unitPrice(new BigDecimal("6.00"))
+                        .build()))
+                .build();
+
+        StepVerifier.create(validationService.validate(request))
+                .expectErrorSatisfies(error -> assertThat(((CheckoutRejectedException) error).getFailedChecks())
+                        .containsExactly(
+                                entry(CheckoutValidationService.MAX_QUANTITY, sodaId + " quantity 3 exceeds 2"),
+                                entry(CheckoutValidationService.MIN_ORDER_VALUE, "subtotal BRL 18.00 is below minimum BRL 100.00")))
+                .verify();
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.domain.exception.InvalidOrderItemException;
+import com.ecommerce.order.infrastructure.client.MenuItemSummary;
+import com.ecommerce.order.infrastructure.client.MenuServiceClient;
+import com.ecommerce.order.infrastructure.messaging.event.MenuItemEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MenuPriceService Tests")
+class MenuPriceServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    @Mock
+    private MenuServiceClient menuServiceClient;
+
+    private MenuPriceService menuPriceService;
+    private UUID restaurantId;
+    private UUID menuItemId;
+
+    @BeforeEach
+    void setUp() {
+        menuPriceService = new MenuPriceService(menuServiceClient, true);
+        restaurantId = UUID.randomUUID();
+        menuItemId = UUID.randomUUID();
+    }
+
+    private MenuItemEvent event(MenuItemEvent.EventType eventType, String price, boolean available, LocalDateTime timestamp) {
+        return MenuItemEvent.builder()
+                .eventType(eventType)
+                .menuItemId(menuItemId)
+                .restaurantId(restaurantId)
+                .name("Pizza Margherita")
+                .price(price != null ? new BigDecimal(price) : null)
+                .isAvailable(available)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private OrderItemRequest item(UUID productId, String clientPrice) {
+        return OrderItemRequest.builder()
+                .productId(productId)
+                .productName("Pizza barata")
+                .quantity(2)
+                .unitPrice(new BigDecimal(clientPrice))
+                .notes("Sem cebola")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should replace client price and name with the menu ones")
+    void shouldRepriceFromIndex() {
+        menuPriceService.apply(event(MenuItemEvent.EventType.MENU_ITEM_CREATED, "45.90", true, NOW));
+
+        StepVerifier.create(menuPriceService.reprice(restaurantId, List.of(item(menuItemId, "0.01"))))
+                .assertNext(items -> {
+                    assertThat(items.get(0).getUnitPrice()).isEqualByComparingTo("45.90");
+                    assertThat(items.get(0).getProductName()).isEqualTo("Pizza Margherita");
+                    assertThat(items.get(0).getQuantity()).isEqualTo(2);
+                    assertThat(items.get(0).getNotes()).isEqualTo("Sem cebola");
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(menuServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should reject unavailable and deleted items")
+    void shouldRejectUnavailableItems() {
+        menuPriceService.apply(event(MenuItemEvent.EventType.MENU_ITEM_UNAVAILABLE, "45.90", false, NOW));
+
+        StepVerifier.create(menuPriceService.reprice(restaurantId, List.of(item(menuItemId, "45.90"))))
+                .expectError(InvalidOrderItemException.class)
+                .verify();
+
+        menuPriceService.apply(event(MenuItemEvent.EventType.MENU_ITEM_AVAILABLE, "45.90", true, NOW.plusMinutes(1)));
+        menuPriceService.apply(event(MenuItemEvent.EventType.MENU_ITEM_DELETED, null, false, NOW.plusMinutes(2)));
+
+        StepVerifier.create(menuPriceService.reprice(restaurantId, List.of(item(menuItemId, "45.90"))))
+                .expectError(InvalidOrderItemException.class)
+                .verify();
+        verifyNoInteractions(menuServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should reject items from another restaurant")
+    void shouldRejectItemFromAnotherRestaurant() {
+        menuPriceService.apply(event(MenuItemEvent.EventType.MENU_ITEM_CREATED, "45.90", true, NOW));
+
+        StepVerifier.create(menuPriceService.reprice(UUID.randomUUID(), List.of(item(menuItemId, "45.90"))))
+                .expectError(InvalidOrderItemException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should look up a cache miss once and keep it in the index")
+    void shouldLookUpCacheMissOnce() {
+        when(menuServiceClient.findMenuItem(menuItemId)).thenReturn(Mono.just(MenuItemSummary.builder()
+                .id(menuItemId)
+                .restaurantId(restaurantId)
+                .name("Pizza Margherita")
+                .price(new BigDecimal("45.90"))
+                .isAvailable(true)
+                .build()));
+
+        StepVerifier.create(menuPriceService.reprice(restaurantId, List.of(item(menuItemId, "1.00"), item(menuItemId, "1.00"))))
+                .assertNext(items -> assertThat(items).allSatisfy(i ->
+                        assertThat(i.getUnitPrice()).isEqualByComparingTo("45.90")))
+                .verifyComplete();
+        StepVerifier.create(menuPriceService.reprice(restaurantId, List.of(item(menuItemId, "1.00"))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(menuServiceClient, times(1)).findMenuItem(any());
+    }
+
+    @Test
+    @DisplayName("Should reject items unknown to the menu service")
+    void shouldRejectUnknownItem() {
+        when(menuServiceClient.findMenuItem(menuItemId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(menuPriceService.reprice(restaurantId, List.of(item(menuItemId, "45.90"))))
+                .expectError(InvalidOrderItemException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should ignore events older than the indexed price")
+    void shouldIgnoreStaleEvents() {
+        menuPriceService.apply(event(MenuItemEvent.EventType.MENU_ITEM_UPDATED, "50.00", true, NOW));
+        menuPriceService.apply(event(MenuItemEvent.EventType.MENU_ITEM_UPDATED, "40.00", true, NOW.minusMinutes(1)));
+
+        StepVerifier.create(menuPriceService.reprice(restaurantId, List.of(item(menuItemId, "45.90"))))
+                .assertNext(items -> assertThat(items.get(0).getUnitPrice()).isEqualByComparingTo("50.00"))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,123 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.response.OrderStatusUpdate;
+import com.ecommerce.order.application.dto.response.RestaurantAnalyticsResponse;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OrderAnalyticsService Tests")
+class OrderAnalyticsServiceTest {
+
+    private static final long NOW = 1_800_000_000_000L;
+
+    private OrderAnalyticsService analyticsService;
+    private UUID restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        // Janela de 10 minutos em 60 buckets de 10s
+        analyticsService = new OrderAnalyticsService(Duration.ofMinutes(10), 60, 100);
+        restaurantId = UUID.randomUUID();
+    }
+
+    private OrderStatusUpdate event(String eventType, OrderStatus status, long timestamp) {
+        return OrderStatusUpdate.builder()
+                .eventType(eventType)
+                .orderId(UUID.randomUUID())
+                .restaurantId(restaurantId)
+                .status(status)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private OrderStatusUpdate ready(long preparationMillis, long timestamp) {
+        OrderStatusUpdate update = event("ORDER_STATUS_CHANGED", OrderStatus.READY, timestamp);
+        update.setPreparationMillis(preparationMillis);
+        return update;
+    }
+
+    @Test
+    @DisplayName("Should compute throughput and cancellation rate within the window")
+    void shouldComputeThroughputAndCancellationRate() {
+        IntStream.range(0, 20).forEach(i ->
+                analyticsService.record(event(OrderStatusUpdate.ORDER_CREATED, OrderStatus.PENDING, NOW - i * 1_000L)));
+        IntStream.range(0, 3).forEach(i ->
+                analyticsService.record(event("ORDER_STATUS_CHANGED", OrderStatus.DELIVERED, NOW)));
+        analyticsService.record(event(OrderStatusUpdate.ORDER_CANCELLED, null, NOW));
+
+        RestaurantAnalyticsResponse analytics = analyticsService.getRestaurantAnalytics(restaurantId, NOW);
+
+        assertThat(analytics.getWindowSeconds()).isEqualTo(600L);
+        assertThat(analytics.getOrdersCreated()).isEqualTo(20L);
+        assertThat(analytics.getOrdersPerMinute()).isEqualTo(2.0);
+        assertThat(analytics.getOrdersDelivered()).isEqualTo(3L);
+        assertThat(analytics.getOrdersCancelled()).isEqualTo(1L);
+        assertThat(analytics.getCancellationRate()).isEqualTo(0.25);
+    }
+
+    @Test
+    @DisplayName("Should drop events that slid out of the window")
+    void shouldDropEventsOutsideWindow() {
+        analyticsService.record(event(OrderStatusUpdate.ORDER_CREATED, OrderStatus.PENDING, NOW - Duration.ofMinutes(15).toMillis()));
+        analyticsService.record(event(OrderStatusUpdate.ORDER_CREATED, OrderStatus.PENDING, NOW - Duration.ofMinutes(5).toMillis()));
+
+        assertThat(analyticsService.getRestaurantAnalytics(restaurantId, NOW).getOrdersCreated()).isEqualTo(1L);
+        assertThat(analyticsService.getRestaurantAnalytics(restaurantId, NOW + Duration.ofMinutes(6).toMillis())
+                .getOrdersCreated()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should estimate preparation time percentiles")
+    void shouldEstimatePreparationPercentiles() {
+        // 90 pedidos em ~10 min e 10 em ~30 min
+        IntStream.range(0, 90).forEach(i -> analyticsService.record(ready(Duration.ofMinutes(10).toMillis(), NOW)));
+        IntStream.range(0, 10).forEach(i -> analyticsService.record(ready(Duration.ofMinutes(30).toMillis(), NOW)));
+
+        RestaurantAnalyticsResponse analytics = analyticsService.getRestaurantAnalytics(restaurantId, NOW);
+
+        assertThat(analytics.getPreparationSamples()).isEqualTo(100L);
+        assertThat(analytics.getPreparationTimeP50Seconds()).isBetween(600L, 660L);
+        assertThat(analytics.getPreparationTimeP95Seconds()).isBetween(1800L, 1970L);
+    }
+
+    @Test
+    @DisplayName("Should return empty metrics for an unknown restaurant")
+    void shouldReturnEmptyMetricsForUnknownRestaurant() {
+        RestaurantAnalyticsResponse analytics = analyticsService.getRestaurantAnalytics(UUID.randomUUID(), NOW);
+
+        assertThat(analytics.getOrdersCreated()).isZero();
+        assertThat(analytics.getCancellationRate()).isZero();
+        assertThat(analytics.getPreparationTimeP50Seconds()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should ignore snapshots sent to new SSE subscribers")
+    void shouldIgnoreSnapshots() {
+        analyticsService.record(event(OrderStatusUpdate.SNAPSHOT, OrderStatus.CANCELLED, NOW));
+
+        assertThat(analyticsService.getRestaurantAnalytics(restaurantId, NOW).getOrdersCancelled()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not lose counts under concurrent writers")
+    void shouldNotLoseCountsUnderConcurrency() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        IntStream.range(0, 8).forEach(t -> executor.submit(() -> IntStream.range(0, 1_000).forEach(i ->
+                analyticsService.record(event(OrderStatusUpdate.ORDER_CREATED, OrderStatus.PENDING, NOW - (i % 50) * 1_000L)))));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(analyticsService.getRestaurantAnalytics(restaurantId, NOW).getOrdersCreated()).isEqualTo(8_000L);
+    }
+}
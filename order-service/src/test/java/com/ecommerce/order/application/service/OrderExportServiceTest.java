@@ -0,0 +1,177 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.request.OrderExportFormat;
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.application.dto.response.OrderExportRow;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("OrderExportService Tests")
+class OrderExportServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private OrderExportService exportService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantId = UUID.randomUUID();
+    }
+
+    private CreateOrderRequest createRequest() {
+        return CreateOrderRequest.builder()
+                .customerId(UUID.randomUUID())
+                .restaurantId(restaurantId)
+                .deliveryStreet("Rua das Flores")
+                .deliveryNumber("123")
+                .deliveryNeighborhood("Centro")
+                .deliveryCity("São Paulo")
+                .deliveryState("SP")
+                .deliveryZipCode("01234-567")
+                .deliveryFee(new BigDecimal("5.00"))
+                .items(List.of(OrderItemRequest.builder()
+                        .productId(UUID.randomUUID())
+                        .productName("Pizza Margherita")
+                        .quantity(2)
+                        .unitPrice(new BigDecimal("45.90"))
+                        .build()))
+                .build();
+    }
+
+    private Mono<UUID> createOrder() {
+        return orderService.createOrder(createRequest()).map(o -> o.getId());
+    }
+
+    /**
+     * Simula o OrderArchiver para um pedido antigo
+     */
+    private Mono<Void> archive(UUID orderId, LocalDateTime createdAt) {
+        return databaseClient.sql("UPDATE orders SET created_at = :createdAt WHERE id = :id")
+                .bind("createdAt", createdAt)
+                .bind("id", orderId)
+                .then()
+                .then(databaseClient.sql("INSERT INTO orders_archive SELECT * FROM orders WHERE id = :id")
+                        .bind("id", orderId)
+                        .then())
+                .then(databaseClient.sql("DELETE FROM orders WHERE id = :id")
+                        .bind("id", orderId)
+                        .then());
+    }
+
+    private Mono<String> export(LocalDate from, LocalDate to, OrderExportFormat format) {
+        return DataBufferUtils.join(exportService.export(restaurantId, from, to, format, DefaultDataBufferFactory.sharedInstance))
+                .map(buffer -> {
+                    String text = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .defaultIfEmpty("");
+    }
+
+    @Test
+    @DisplayName("Should export the period as CSV with escaped free text")
+    void shouldExportCsv() {
+        Mono<String> csv = createOrder()
+                .then(createOrder())
+                .flatMap(id -> orderService.cancelOrder(id, "=Cliente desistiu, \"sem troco\""))
+                .then(export(TODAY, TODAY, OrderExportFormat.CSV));
+
+        StepVerifier.create(csv)
+                .assertNext(text -> {
+                    String[] lines = text.split("\n");
+                    assertThat(lines).hasSize(3);
+                    assertThat(lines[0] + "\n").isEqualTo(OrderExportService.CSV_HEADER);
+                    assertThat(lines[1]).contains(",PENDING,91.80,5.00,0.00,96.80,");
+                    assertThat(lines[2]).contains(",CANCELLED,")
+                            .endsWith(",\"'=Cliente desistiu, \"\"sem troco\"\"\"");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should include archived orders and filter by the date range as NDJSON")
+    void shouldExportArchivedOrdersInRange() {
+        LocalDateTime lastYear = TODAY.minusYears(1).atTime(12, 0);
+        Mono<List<OrderExportRow>> rows = createOrder()
+                .flatMap(id -> orderService.cancelOrder(id, "Fechado").thenReturn(id))
+                .flatMap(id -> archive(id, lastYear))
+                .then(createOrder())
+                .then(export(TODAY.minusYears(1).minusDays(1), TODAY, OrderExportFormat.NDJSON))
+                .flatMapMany(text -> Flux.fromArray(text.split("\n")))
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, OrderExportRow.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .collectList();
+
+        StepVerifier.create(rows)
+                .assertNext(list -> {
+                    assertThat(list).extracting(OrderExportRow::getStatus)
+                            .containsExactly(OrderStatus.CANCELLED, OrderStatus.PENDING);
+                    assertThat(list.get(0).getCreatedAt()).isEqualTo(lastYear);
+                })
+                .verifyComplete();
+
+        StepVerifier.create(export(TODAY.minusYears(1).plusDays(1), TODAY.minusDays(1), OrderExportFormat.NDJSON))
+                .expectNext("")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject an inverted period before streaming")
+    void shouldRejectInvertedPeriod() {
+        assertThatThrownBy(() -> exportService.export(restaurantId, TODAY, TODAY.minusDays(1),
+                OrderExportFormat.CSV, DefaultDataBufferFactory.sharedInstance))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should quote CSV text only when needed")
+    void shouldQuoteCsvText() {
+        assertThat(OrderExportService.csvText("Sem troco")).isEqualTo("Sem troco");
+        assertThat(OrderExportService.csvText("a,b")).isEqualTo("\"a,b\"");
+        assertThat(OrderExportService.csvText("linha\noutra")).isEqualTo("\"linha\noutra\"");
+        assertThat(OrderExportService.csvText("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(OrderExportService.csvText(null)).isEmpty();
+    }
+}
@@ -2,35 +2,87 @@
 package com.ecommerce.order.application.service;
 
 import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.request.OrderCursor;
 import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.application.dto.request.OrderPageRequest;
 import com.ecommerce.order.application.dto.request.UpdateOrderStatusRequest;
 import com.ecommerce.order.application.dto.response.OrderResponse;
-import com.ecommerce.order.config.TestConfig;
+import com.ecommerce.order.application.mapper.OrderViewMapper;
+import com.ecommerce.order.domain.entity.Order;
 import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.domain.exception.IdempotencyKeyReuseException;
 import com.ecommerce.order.domain.exception.InvalidOrderStateException;
 import com.ecommerce.order.domain.exception.OrderNotFoundException;
+import com.ecommerce.order.domain.exception.CheckoutRejectedException;
+import com.ecommerce.order.infrastructure.idempotency.IdempotencyStore;
+import com.ecommerce.order.infrastructure.messaging.event.RestaurantEvent;
+import com.ecommerce.order.infrastructure.messaging.outbox.OutboxEvent;
+import com.ecommerce.order.infrastructure.repository.IdempotencyKeyRepository;
+import com.ecommerce.order.infrastructure.repository.OrderItemRepository;
+import com.ecommerce.order.infrastructure.repository.OrderRepository;
+import com.ecommerce.order.infrastructure.repository.OrderViewRepository;
+import com.ecommerce.order.infrastructure.repository.OutboxEventRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.function.Tuples;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 @ActiveProfiles("test")
-@Import(TestConfig.class)
 @DisplayName("OrderService Tests")
 class OrderServiceTest {
 
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderViewRepository orderViewRepository;
+
+    @Autowired
+    private OrderViewMapper orderViewMapper;
+
+    @Autowired
+    private RestaurantAvailabilityService restaurantAvailability;
+
+    @Autowired
+    private PendingOrderTimeoutService pendingTimeouts;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
     private CreateOrderRequest createValidRequest() {
         List<OrderItemRequest> items = List.of(
                 OrderItemRequest.builder()
@@ -87,6 +139,83 @@ class OrderServiceTest {
                     .verifyComplete();
         }
 
+        @Test
+        @DisplayName("Should stamp items with a creation time")
+        void shouldStampItemsWithCreationTime() {
+            StepVerifier.create(orderService.createOrder(createValidRequest())
+                            .flatMap(created -> orderItemRepository.findByOrderId(created.getId()).collectList()))
+                    .assertNext(items -> assertThat(items).hasSize(2)
+                            .allSatisfy(item -> assertThat(item.getCreatedAt()).isNotNull()))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should store order created event in the outbox")
+        void shouldStoreOrderCreatedEventInOutbox() {
+            CreateOrderRequest request = createValidRequest();
+
+            StepVerifier.create(
+                            orderService.createOrder(request)
+                                    .flatMapMany(created -> outboxEventRepository.findAll()
+                                            .filter(event -> event.getAggregateId().equals(created.getId())))
+                    )
+                    .assertNext(event -> {
+                        assert event.getId() != null;
+                        assert event.getEventType().equals("ORDER_CREATED");
+                        assert event.getPayload().contains("\"eventType\":\"ORDER_CREATED\"");
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should persist every item of a large cart")
+        void shouldPersistEveryItemOfLargeCart() {
+            CreateOrderRequest request = createValidRequest();
+            request.setItems(IntStream.range(0, 25)
+                    .mapToObj(i -> OrderItemRequest.builder()
+                            .productId(UUID.randomUUID())
+                            .productName("Item " + i)
+                            .quantity(1)
+                            .unitPrice(new BigDecimal("10.00"))
+                            .notes(i % 2 == 0 ? null : "sem cebola")
+                            .build())
+                    .toList());
+
+            StepVerifier.create(
+                            orderService.createOrder(request)
+                                    .flatMap(created -> orderService.getOrderById(created.getId()))
+                    )
+                    .assertNext(response -> {
+                        assert response.getItems().size() == 25;
+                        assert response.getSubtotal().compareTo(new BigDecimal("250.00")) == 0;
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should reject order for a paused restaurant without touching the database")
+        void shouldRejectOrderForPausedRestaurant() {
+            CreateOrderRequest request = createValidRequest();
+            restaurantAvailability.apply(RestaurantEvent.builder()
+                    .eventType(RestaurantEvent.EventType.RESTAURANT_ORDERS_PAUSED)
+                    .restaurantId(request.getRestaurantId())
+                    .status("ACTIVE")
+                    .isOpen(true)
+                    .isAcceptingOrders(false)
+                    .build());
+
+            StepVerifier.create(orderService.createOrder(request))
+                    .expectErrorSatisfies(error -> {
+                        assertThat(error).isInstanceOf(CheckoutRejectedException.class);
+                        assertThat(((CheckoutRejectedException) error).getFailedChecks()).containsOnlyKeys("restaurant-open");
+                    })
+                    .verify();
+
+            StepVerifier.create(orderRepository.findAll()
+                            .filter(order -> order.getRestaurantId().equals(request.getRestaurantId())))
+                    .verifyComplete();
+        }
+
         @Test
         @DisplayName("Should calculate totals correctly")
         void shouldCalculateTotalsCorrectly() {
@@ -145,7 +274,7 @@ class OrderServiceTest {
 
             StepVerifier.create(
                             orderService.createOrder(request)
-                                    .thenMany(orderService.getOrdersByCustomer(customerId))
+                                    .thenMany(orderService.getOrdersByCustomer(customerId, OrderPageRequest.of(null, null)))
                                     .collectList()
                     )
                     .assertNext(orders -> {
@@ -155,6 +284,63 @@ class OrderServiceTest {
                     .verifyComplete();
         }
 
+        @Test
+        @DisplayName("Should load items of every order when listing by customer")
+        void shouldLoadItemsOfEveryOrderWhenListingByCustomer() {
+            UUID customerId = UUID.randomUUID();
+
+            StepVerifier.create(
+                            Flux.range(0, 5)
+                                    .concatMap(i -> {
+                                        CreateOrderRequest request = createValidRequest();
+                                        request.setCustomerId(customerId);
+                                        return orderService.createOrder(request);
+                                    })
+                                    .thenMany(orderService.getOrdersByCustomer(customerId, OrderPageRequest.of(null, null)))
+                                    .collectList()
+                    )
+                    .assertNext(orders -> {
+                        assert orders.size() == 5;
+                        assert orders.stream().allMatch(o -> o.getItems().size() == 2);
+                        assert orders.stream().allMatch(o -> o.getItems().stream()
+                                .allMatch(item -> item.getProductName() != null));
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should page through customer orders with a keyset cursor")
+        void shouldPageThroughCustomerOrdersWithKeysetCursor() {
+            UUID customerId = UUID.randomUUID();
+
+            Mono<List<OrderResponse>> firstPage = Flux.range(0, 5)
+                    .concatMap(i -> {
+                        CreateOrderRequest request = createValidRequest();
+                        request.setCustomerId(customerId);
+                        return orderService.createOrder(request);
+                    })
+                    .then(orderService.getOrdersByCustomer(customerId, OrderPageRequest.of(null, 3)).collectList());
+
+            StepVerifier.create(
+                            firstPage.flatMap(page -> {
+                                OrderResponse last = page.get(page.size() - 1);
+                                String cursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+                                return orderService.getOrdersByCustomer(customerId, OrderPageRequest.of(cursor, 3))
+                                        .collectList()
+                                        .map(next -> List.of(page, next));
+                            })
+                    )
+                    .assertNext(pages -> {
+                        List<OrderResponse> first = pages.get(0);
+                        List<OrderResponse> second = pages.get(1);
+                        assert first.size() == 3;
+                        assert second.size() == 2;
+                        assert second.stream().noneMatch(o -> first.stream().anyMatch(f -> f.getId().equals(o.getId())));
+                        assert !first.get(2).getCreatedAt().isBefore(second.get(0).getCreatedAt());
+                    })
+                    .verifyComplete();
+        }
+
         @Test
         @DisplayName("Should get orders by restaurant")
         void shouldGetOrdersByRestaurant() {
@@ -164,7 +350,7 @@ class OrderServiceTest {
 
             StepVerifier.create(
                             orderService.createOrder(request)
-                                    .thenMany(orderService.getOrdersByRestaurant(restaurantId))
+                                    .thenMany(orderService.getOrdersByRestaurant(restaurantId, OrderPageRequest.of(null, null)))
                                     .collectList()
                     )
                     .assertNext(orders -> {
@@ -181,7 +367,7 @@ class OrderServiceTest {
 
             StepVerifier.create(
                             orderService.createOrder(request)
-                                    .thenMany(orderService.getOrdersByStatus(OrderStatus.PENDING))
+                                    .thenMany(orderService.getOrdersByStatus(OrderStatus.PENDING, OrderPageRequest.of(null, null)))
                                     .collectList()
                     )
                     .assertNext(orders -> {
@@ -324,6 +510,23 @@ class OrderServiceTest {
                     .verifyComplete();
         }
 
+        @Test
+        @DisplayName("Should store created and cancelled events in order")
+        void shouldStoreCreatedAndCancelledEventsInOrder() {
+            CreateOrderRequest request = createValidRequest();
+
+            StepVerifier.create(
+                            orderService.createOrder(request)
+                                    .flatMap(created -> orderService.cancelOrder(created.getId(), "Customer request"))
+                                    .flatMapMany(cancelled -> outboxEventRepository.findAll()
+                                            .filter(event -> event.getAggregateId().equals(cancelled.getId()))
+                                            .sort(Comparator.comparing(OutboxEvent::getId))
+                                            .map(OutboxEvent::getEventType))
+                    )
+                    .expectNext("ORDER_CREATED", "ORDER_CANCELLED")
+                    .verifyComplete();
+        }
+
         @Test
         @DisplayName("Should cancel confirmed order")
         void shouldCancelConfirmedOrder() {
@@ -373,4 +576,588 @@ class OrderServiceTest {
                     .verify();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Cancel Orders By Restaurant")
+    class CancelOrdersByRestaurantTests {
+
+        @Test
+        @DisplayName("Should cancel only orders in the requested statuses")
+        void shouldCancelOnlyOrdersInRequestedStatuses() {
+            UUID restaurantId = UUID.randomUUID();
+            CreateOrderRequest request = createValidRequest();
+            request.setRestaurantId(restaurantId);
+            UpdateOrderStatusRequest confirm = UpdateOrderStatusRequest.builder()
+                    .status(OrderStatus.CONFIRMED)
+                    .estimatedDeliveryTime(30)
+                    .build();
+
+            Mono<Long> cancelled = orderService.createOrder(request)
+                    .then(orderService.createOrder(request))
+                    .flatMap(second -> orderService.updateOrderStatus(second.getId(), confirm))
+                    .then(orderService.cancelOrdersByRestaurant(
+                            restaurantId, EnumSet.of(OrderStatus.PENDING), "Restaurante fechou"));
+
+            StepVerifier.create(
+                            cancelled.flatMap(count -> orderService
+                                    .getOrdersByRestaurant(restaurantId, OrderPageRequest.of(null, null))
+                                    .collectList()
+                                    .map(orders -> List.of(count, orders)))
+                    )
+                    .assertNext(result -> {
+                        assert (Long) result.get(0) == 1L;
+                        @SuppressWarnings("unchecked")
+                        List<OrderResponse> orders = (List<OrderResponse>) result.get(1);
+                        assert orders.stream().filter(o -> o.getStatus() == OrderStatus.CANCELLED)
+                                .allMatch(o -> "Restaurante fechou".equals(o.getCancellationReason()));
+                        assert orders.stream().filter(o -> o.getStatus() == OrderStatus.CANCELLED).count() == 1;
+                        assert orders.stream().filter(o -> o.getStatus() == OrderStatus.CONFIRMED).count() == 1;
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should store one cancelled event per cancelled order")
+        void shouldStoreOneCancelledEventPerOrder() {
+            UUID restaurantId = UUID.randomUUID();
+            CreateOrderRequest request = createValidRequest();
+            request.setRestaurantId(restaurantId);
+
+            StepVerifier.create(
+                            Flux.range(0, 3)
+                                    .concatMap(i -> orderService.createOrder(request))
+                                    .map(OrderResponse::getId)
+                                    .collectList()
+                                    .flatMapMany(ids -> orderService.cancelOrdersByRestaurant(
+                                                    restaurantId, EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED),
+                                                    "Restaurante suspenso")
+                                            .thenMany(outboxEventRepository.findAll())
+                                            .filter(event -> ids.contains(event.getAggregateId()))
+                                            .filter(event -> event.getEventType().equals("ORDER_CANCELLED")))
+                    )
+                    .expectNextCount(3)
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    @DisplayName("Optimistic Locking")
+    class OptimisticLockingTests {
+
+        @Test
+        @DisplayName("Should increment version on every status change")
+        void shouldIncrementVersionOnStatusChange() {
+            CreateOrderRequest request = createValidRequest();
+            UpdateOrderStatusRequest confirm = UpdateOrderStatusRequest.builder()
+                    .status(OrderStatus.CONFIRMED)
+                    .estimatedDeliveryTime(30)
+                    .build();
+
+            StepVerifier.create(
+                            orderService.createOrder(request)
+                                    .flatMap(created -> orderService.updateOrderStatus(created.getId(), confirm))
+                                    .flatMap(updated -> orderRepository.findById(updated.getId()))
+                    )
+                    .assertNext(order -> assertThat(order.getVersion()).isEqualTo(1L))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should reject save of a stale copy")
+        void shouldRejectSaveOfStaleCopy() {
+            CreateOrderRequest request = createValidRequest();
+
+            Mono<Order> staleSave = orderService.createOrder(request)
+                    .flatMap(created -> Mono.zip(
+                            orderRepository.findById(created.getId()).map(Order::markAsNotNew),
+                            orderRepository.findById(created.getId()).map(Order::markAsNotNew)))
+                    .flatMap(copies -> {
+                        copies.getT1().confirm(30);
+                        copies.getT2().cancel("Customer request");
+                        return orderRepository.save(copies.getT1())
+                                .then(orderRepository.save(copies.getT2()));
+                    });
+
+            StepVerifier.create(staleSave)
+                    .expectError(OptimisticLockingFailureException.class)
+                    .verify();
+        }
+
+        @Test
+        @DisplayName("Should not lose updates when writers race on the same order")
+        void shouldNotLoseUpdatesWhenWritersRace() {
+            CreateOrderRequest request = createValidRequest();
+            UpdateOrderStatusRequest confirm = UpdateOrderStatusRequest.builder()
+                    .status(OrderStatus.CONFIRMED)
+                    .estimatedDeliveryTime(30)
+                    .build();
+
+            StepVerifier.create(
+                            orderService.createOrder(request)
+                                    .flatMap(created -> Flux.merge(
+                                                    orderService.updateOrderStatus(created.getId(), confirm)
+                                                            .map(OrderResponse::getStatus)
+                                                            .onErrorResume(InvalidOrderStateException.class, e -> Mono.empty()),
+                                                    orderService.cancelOrder(created.getId(), "Customer request")
+                                                            .map(OrderResponse::getStatus)
+                                                            .onErrorResume(InvalidOrderStateException.class, e -> Mono.empty()))
+                                            .collectList()
+                                            .flatMap(applied -> orderRepository.findById(created.getId())
+                                                    .map(stored -> Tuples.of(applied, stored))))
+                    )
+                    .assertNext(result -> {
+                        List<OrderStatus> applied = result.getT1();
+                        Order stored = result.getT2();
+                        // Cada transição aplicada incrementa a versão exatamente uma vez
+                        assertThat(stored.getVersion()).isEqualTo(applied.size());
+                        assertThat(stored.getStatus()).isIn(applied);
+                    })
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    @DisplayName("Order Views")
+    class OrderViewTests {
+
+        @Test
+        @DisplayName("Should write the rendered order to the read model on create")
+        void shouldWriteReadModelOnCreate() {
+            CreateOrderRequest request = createValidRequest();
+
+            StepVerifier.create(
+                            orderService.createOrder(request)
+                                    .flatMap(created -> orderViewRepository.findById(created.getId()))
+                    )
+                    .assertNext(view -> {
+                        OrderResponse document = orderViewMapper.toResponse(view);
+                        assertThat(view.getStatus()).isEqualTo(OrderStatus.PENDING);
+                        assertThat(view.getVersion()).isZero();
+                        assertThat(document.getItems()).hasSize(2);
+                        assertThat(document.getFullDeliveryAddress()).isNotBlank();
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should refresh the read model on status change")
+        void shouldRefreshReadModelOnStatusChange() {
+            CreateOrderRequest request = createValidRequest();
+            UpdateOrderStatusRequest confirm = UpdateOrderStatusRequest.builder()
+                    .status(OrderStatus.CONFIRMED)
+                    .estimatedDeliveryTime(30)
+                    .build();
+
+            StepVerifier.create(
+                            orderService.createOrder(request)
+                                    .flatMap(created -> orderService.updateOrderStatus(created.getId(), confirm))
+                                    .flatMap(updated -> orderService.getOrderById(updated.getId()))
+                    )
+                    .assertNext(response -> {
+                        assertThat(response.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+                        assertThat(response.getEstimatedDeliveryTime()).isEqualTo(30);
+                        assertThat(response.getItems()).hasSize(2);
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should refresh the read model on bulk cancellation")
+        void shouldRefreshReadModelOnBulkCancellation() {
+            UUID restaurantId = UUID.randomUUID();
+            CreateOrderRequest request = createValidRequest();
+            request.setRestaurantId(restaurantId);
+
+            StepVerifier.create(
+                            orderService.createOrder(request)
+                                    .flatMap(created -> orderService.cancelOrdersByRestaurant(
+                                                    restaurantId, EnumSet.of(OrderStatus.PENDING), "Restaurante fechou")
+                                            .then(orderService.getOrderById(created.getId())))
+                    )
+                    .assertNext(response -> {
+                        assertThat(response.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+                        assertThat(response.getCancellationReason()).isEqualTo("Restaurante fechou");
+                        assertThat(response.getItems()).hasSize(2);
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should fall back to the tables and backfill orders without a view")
+        void shouldFallBackAndBackfillOrdersWithoutView() {
+            CreateOrderRequest request = createValidRequest();
+
+            StepVerifier.create(
+                            orderService.createOrder(request)
+                                    .flatMap(created -> orderViewRepository.deleteById(created.getId())
+                                            .then(orderService.getOrderById(created.getId()))
+                                            .flatMap(fallback -> orderService.backfillOrderViews()
+                                                    .then(orderViewRepository.findById(created.getId()))
+                                                    .map(view -> Tuples.of(fallback, view))))
+                    )
+                    .assertNext(result -> {
+                        assertThat(result.getT1().getItems()).hasSize(2);
+                        assertThat(orderViewMapper.toResponse(result.getT2()).getId())
+                                .isEqualTo(result.getT1().getId());
+                    })
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    @DisplayName("Kitchen Queue")
+    class KitchenQueueTests {
+
+        private Mono<List<OrderResponse>> activeOrders(UUID restaurantId) {
+            return orderService.getActiveOrdersByRestaurant(restaurantId, OrderPageRequest.first(50)).collectList();
+        }
+
+        @Test
+        @DisplayName("Should serve active orders from memory and follow later writes")
+        void shouldServeActiveOrdersFromMemory() {
+            UUID restaurantId = UUID.randomUUID();
+            CreateOrderRequest request = createValidRequest();
+            request.setRestaurantId(restaurantId);
+
+            List<OrderResponse> created = orderService.backfillOrderViews()
+                    .thenMany(Flux.range(0, 3).concatMap(i -> orderService.createOrder(request)))
+                    .collectList()
+                    .block();
+
+            StepVerifier.create(activeOrders(restaurantId))
+                    .assertNext(orders -> assertThat(orders).extracting(OrderResponse::getId)
+                            .containsExactlyElementsOf(created.stream().map(OrderResponse::getId).toList()))
+                    .verifyComplete();
+
+            // Escritas depois da carga chegam à fila sem nova leitura do banco
+            StepVerifier.create(orderService.cancelOrder(created.get(0).getId(), "Cliente desistiu")
+                            .then(orderService.updateOrderStatus(created.get(1).getId(), UpdateOrderStatusRequest.builder()
+                                    .status(OrderStatus.CONFIRMED)
+                                    .estimatedDeliveryTime(40)
+                                    .build()))
+                            .then(orderService.createOrder(request))
+                            .then(activeOrders(restaurantId)))
+                    .assertNext(orders -> {
+                        assertThat(orders).hasSize(3);
+                        assertThat(orders.get(0).getId()).isEqualTo(created.get(1).getId());
+                        assertThat(orders.get(0).getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+                        assertThat(orders.get(1).getId()).isEqualTo(created.get(2).getId());
+                    })
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    @DisplayName("Pending Timeout")
+    class PendingTimeoutTests {
+
+        @Test
+        @DisplayName("Should schedule the timeout on create and drop it once the order leaves PENDING")
+        void shouldTrackPendingOrdersAfterCommit() {
+            OrderResponse created = orderService.createOrder(createValidRequest()).block();
+            assertThat(pendingTimeouts.isScheduled(created.getId())).isTrue();
+
+            StepVerifier.create(orderService.updateOrderStatus(created.getId(), UpdateOrderStatusRequest.builder()
+                            .status(OrderStatus.CONFIRMED)
+                            .estimatedDeliveryTime(30)
+                            .build()))
+                    .expectNextCount(1)
+                    .verifyComplete();
+            assertThat(pendingTimeouts.isScheduled(created.getId())).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should not schedule a timeout for an order that was rolled back")
+        void shouldNotScheduleRolledBackOrder() {
+            OrderResponse created = rolledBack(orderService.createOrder(createValidRequest())).block();
+
+            assertThat(pendingTimeouts.isScheduled(created.getId())).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should keep the timeout when a cancellation is rolled back")
+        void shouldKeepTimeoutWhenCancellationRollsBack() {
+            OrderResponse created = orderService.createOrder(createValidRequest()).block();
+
+            StepVerifier.create(rolledBack(orderService.cancelOrder(created.getId(), "Cliente desistiu")))
+                    .expectNextCount(1)
+                    .verifyComplete();
+            assertThat(pendingTimeouts.isScheduled(created.getId())).isTrue();
+        }
+
+        /**
+         * A escrita se junta a uma transação externa que termina em rollback
+         */
+        private Mono<OrderResponse> rolledBack(Mono<OrderResponse> write) {
+            return transactionalOperator.execute(status -> {
+                status.setRollbackOnly();
+                return write;
+            }).single();
+        }
+    }
+
+    @Nested
+    @DisplayName("Idempotent Create")
+    class IdempotentCreateTests {
+
+        private Mono<Long> countOrdersOf(UUID customerId) {
+            return orderRepository.findAll()
+                    .filter(order -> order.getCustomerId().equals(customerId))
+                    .count();
+        }
+
+        @Test
+        @DisplayName("Should replay the stored response for a repeated key")
+        void shouldReplayStoredResponseForRepeatedKey() {
+            CreateOrderRequest request = createValidRequest();
+            String key = UUID.randomUUID().toString();
+
+            StepVerifier.create(orderService.createOrder(request, key)
+                            .flatMap(first -> orderService.createOrder(request, key)
+                                    .map(second -> Tuples.of(first, second)))
+                            .flatMap(pair -> countOrdersOf(request.getCustomerId())
+                                    .map(count -> Tuples.of(pair.getT1(), pair.getT2(), count))))
+                    .assertNext(result -> {
+                        assertThat(result.getT2().getId()).isEqualTo(result.getT1().getId());
+                        assertThat(result.getT2().getTotal()).isEqualByComparingTo(result.getT1().getTotal());
+                        assertThat(result.getT3()).isEqualTo(1L);
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should create a single order for concurrent requests with the same key")
+        void shouldCreateSingleOrderForConcurrentRequests() {
+            CreateOrderRequest request = createValidRequest();
+            String key = UUID.randomUUID().toString();
+
+            StepVerifier.create(Mono.zip(
+                                    orderService.createOrder(request, key),
+                                    orderService.createOrder(request, key))
+                            .flatMap(pair -> countOrdersOf(request.getCustomerId())
+                                    .map(count -> Tuples.of(pair.getT1(), pair.getT2(), count))))
+                    .assertNext(result -> {
+                        assertThat(result.getT2().getId()).isEqualTo(result.getT1().getId());
+                        assertThat(result.getT3()).isEqualTo(1L);
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should not replay another customer's order for the same key")
+        void shouldScopeKeyByCustomer() {
+            CreateOrderRequest first = createValidRequest();
+            CreateOrderRequest second = createValidRequest();
+            second.setRestaurantId(first.getRestaurantId());
+            String key = UUID.randomUUID().toString();
+
+            StepVerifier.create(orderService.createOrder(first, key)
+                            .flatMap(created -> orderService.createOrder(second, key)
+                                    .map(other -> Tuples.of(created, other))))
+                    .assertNext(result -> {
+                        assertThat(result.getT2().getId()).isNotEqualTo(result.getT1().getId());
+                        assertThat(result.getT2().getCustomerId()).isEqualTo(second.getCustomerId());
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should reject a repeated key with a different request body")
+        void shouldRejectRepeatedKeyWithDifferentBody() {
+            CreateOrderRequest request = createValidRequest();
+            String key = UUID.randomUUID().toString();
+            CreateOrderRequest changed = createValidRequest();
+            changed.setCustomerId(request.getCustomerId());
+            changed.setRestaurantId(request.getRestaurantId());
+            changed.setNotes("Sem campainha");
+
+            StepVerifier.create(orderService.createOrder(request, key)
+                            .then(orderService.createOrder(changed, key)))
+                    .expectError(IdempotencyKeyReuseException.class)
+                    .verify();
+
+            StepVerifier.create(countOrdersOf(request.getCustomerId()))
+                    .expectNext(1L)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should reject a repeated key for another restaurant")
+        void shouldRejectRepeatedKeyForAnotherRestaurant() {
+            CreateOrderRequest request = createValidRequest();
+            String key = UUID.randomUUID().toString();
+            CreateOrderRequest changed = createValidRequest();
+            changed.setCustomerId(request.getCustomerId());
+
+            StepVerifier.create(orderService.createOrder(request, key)
+                            .then(orderService.createOrder(changed, key)))
+                    .expectError(IdempotencyKeyReuseException.class)
+                    .verify();
+
+            StepVerifier.create(countOrdersOf(request.getCustomerId()))
+                    .expectNext(1L)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should release the key when the order is rejected")
+        void shouldReleaseKeyOfRejectedOrder() {
+            CreateOrderRequest request = createValidRequest();
+            String key = UUID.randomUUID().toString();
+            RestaurantEvent.RestaurantEventBuilder event = RestaurantEvent.builder()
+                    .restaurantId(request.getRestaurantId())
+                    .status("ACTIVE")
+                    .isOpen(true);
+            restaurantAvailability.apply(event.eventType(RestaurantEvent.EventType.RESTAURANT_ORDERS_PAUSED)
+                    .isAcceptingOrders(false)
+                    .build());
+
+            StepVerifier.create(orderService.createOrder(request, key))
+                    .expectError(CheckoutRejectedException.class)
+                    .verify();
+
+            restaurantAvailability.apply(event.eventType(RestaurantEvent.EventType.RESTAURANT_ORDERS_RESUMED)
+                    .isAcceptingOrders(true)
+                    .build());
+
+            StepVerifier.create(orderService.createOrder(request, key)
+                            .flatMap(created -> countOrdersOf(request.getCustomerId())))
+                    .expectNext(1L)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should take over a claim left behind by a request that never finished")
+        void shouldTakeOverAbandonedClaim() {
+            CreateOrderRequest request = createValidRequest();
+            String key = UUID.randomUUID().toString();
+            LocalDateTime claimedAt = LocalDateTime.now().minusHours(1);
+
+            StepVerifier.create(idempotencyKeyRepository.insertClaim(request.getCustomerId(), key,
+                                    idempotencyStore.fingerprint(request), UUID.randomUUID(),
+                                    claimedAt, claimedAt.plusDays(1))
+                            .then(orderService.createOrder(request, key))
+                            .flatMap(created -> countOrdersOf(request.getCustomerId())))
+                    .expectNext(1L)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should create distinct orders without a key")
+        void shouldCreateDistinctOrdersWithoutKey() {
+            CreateOrderRequest request = createValidRequest();
+
+            StepVerifier.create(orderService.createOrder(request, null)
+                            .then(orderService.createOrder(request, null))
+                            .then(countOrdersOf(request.getCustomerId())))
+                    .expectNext(2L)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should reject an oversized key")
+        void shouldRejectOversizedKey() {
+            StepVerifier.create(orderService.createOrder(createValidRequest(), "k".repeat(256)))
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+        }
+    }
+
+    @Nested
+    @DisplayName("Status History")
+    class StatusHistoryTests {
+
+        private UpdateOrderStatusRequest status(OrderStatus status) {
+            return UpdateOrderStatusRequest.builder().status(status).estimatedDeliveryTime(30).build();
+        }
+
+        @Test
+        @DisplayName("Should append every transition to the timeline")
+        void shouldAppendEveryTransition() {
+            StepVerifier.create(
+                            orderService.createOrder(createValidRequest())
+                                    .flatMap(created -> orderService.updateOrderStatus(created.getId(), status(OrderStatus.CONFIRMED)))
+                                    .flatMap(confirmed -> orderService.cancelOrder(confirmed.getId(), "Restaurant closed"))
+                                    .flatMapMany(cancelled -> orderService.getOrderTimeline(cancelled.getId()))
+                    )
+                    .assertNext(created -> {
+                        assertThat(created.getFromStatus()).isNull();
+                        assertThat(created.getToStatus()).isEqualTo(OrderStatus.PENDING);
+                        assertThat(created.getDwellMillis()).isNull();
+                    })
+                    .assertNext(confirmed -> {
+                        assertThat(confirmed.getFromStatus()).isEqualTo(OrderStatus.PENDING);
+                        assertThat(confirmed.getToStatus()).isEqualTo(OrderStatus.CONFIRMED);
+                        assertThat(confirmed.getDwellMillis()).isNotNegative();
+                    })
+                    .assertNext(cancelled -> {
+                        assertThat(cancelled.getFromStatus()).isEqualTo(OrderStatus.CONFIRMED);
+                        assertThat(cancelled.getToStatus()).isEqualTo(OrderStatus.CANCELLED);
+                        assertThat(cancelled.getReason()).isEqualTo("Restaurant closed");
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should not record transitions that were rolled back")
+        void shouldNotRecordRolledBackTransition() {
+            OrderResponse created = orderService.createOrder(createValidRequest()).block();
+
+            StepVerifier.create(transactionalOperator.execute(tx -> {
+                        tx.setRollbackOnly();
+                        return orderService.updateOrderStatus(created.getId(), status(OrderStatus.CONFIRMED));
+                    }))
+                    .expectNextCount(1)
+                    .verifyComplete();
+
+            StepVerifier.create(orderService.getOrderTimeline(created.getId()))
+                    .assertNext(change -> assertThat(change.getToStatus()).isEqualTo(OrderStatus.PENDING))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should record transitions of concurrent requests")
+        void shouldRecordConcurrentTransitions() {
+            List<UUID> ids = Flux.range(0, 20)
+                    .flatMap(i -> orderService.createOrder(createValidRequest()))
+                    .map(OrderResponse::getId)
+                    .collectList()
+                    .block();
+
+            Flux.fromIterable(ids)
+                    .flatMap(id -> orderService.updateOrderStatus(id, status(OrderStatus.CONFIRMED)))
+                    .blockLast();
+
+            StepVerifier.create(Flux.fromIterable(ids)
+                            .concatMap(id -> orderService.getOrderTimeline(id).last()))
+                    .thenConsumeWhile(change -> change.getToStatus() == OrderStatus.CONFIRMED)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should record bulk cancellations with the previous status")
+        void shouldRecordBulkCancellations() {
+            CreateOrderRequest request = createValidRequest();
+            OrderResponse order = orderService.createOrder(request).block();
+
+            StepVerifier.create(
+                            orderService.cancelOrdersByRestaurant(request.getRestaurantId(),
+                                            EnumSet.of(OrderStatus.PENDING), "Restaurant closed")
+                                    .thenMany(orderService.getOrderTimeline(order.getId()).last())
+                    )
+                    .assertNext(change -> {
+                        assertThat(change.getFromStatus()).isEqualTo(OrderStatus.PENDING);
+                        assertThat(change.getToStatus()).isEqualTo(OrderStatus.CANCELLED);
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should fail for unknown orders")
+        void shouldFailForUnknownOrders() {
+            StepVerifier.create(orderService.getOrderTimeline(UUID.randomUUID()))
+                    .expectError(OrderNotFoundException.class)
+                    .verify();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.dto.response.OrderStatusUpdate;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderStatusStreamService Tests")
+class OrderStatusStreamServiceTest {
+
+    private static final int BUFFER_SIZE = 2;
+
+    @Mock
+    private OrderService orderService;
+
+    private OrderStatusStreamService streamService;
+
+    private UUID orderId;
+    private UUID restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new OrderStatusStreamService(orderService, BUFFER_SIZE);
+        orderId = UUID.randomUUID();
+        restaurantId = UUID.randomUUID();
+    }
+
+    private OrderStatusUpdate statusChanged(OrderStatus previous, OrderStatus status) {
+        return OrderStatusUpdate.builder()
+                .eventType("ORDER_STATUS_CHANGED")
+                .orderId(orderId)
+                .restaurantId(restaurantId)
+                .previousStatus(previous)
+                .status(status)
+                .build();
+    }
+
+    private OrderStatusUpdate statusChanged(OrderStatus previous, OrderStatus status, long version) {
+        OrderStatusUpdate update = statusChanged(previous, status);
+        update.setVersion(version);
+        return update;
+    }
+
+    private OrderResponse order(OrderStatus status) {
+        return OrderResponse.builder()
+                .id(orderId)
+                .customerId(UUID.randomUUID())
+                .restaurantId(restaurantId)
+                .status(status)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should send snapshot then live updates and complete on final status")
+    void shouldSendSnapshotThenLiveUpdatesAndCompleteOnFinalStatus() {
+        when(orderService.getOrderById(orderId)).thenReturn(Mono.just(order(OrderStatus.READY)));
+
+        StepVerifier.create(streamService.streamOrder(orderId))
+                .assertNext(update -> assertThat(update.getEventType()).isEqualTo(OrderStatusUpdate.SNAPSHOT))
+                .then(() -> streamService.publish(statusChanged(OrderStatus.READY, OrderStatus.OUT_FOR_DELIVERY)))
+                .assertNext(update -> assertThat(update.getStatus()).isEqualTo(OrderStatus.OUT_FOR_DELIVERY))
+                .then(() -> streamService.publish(statusChanged(OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED)))
+                .assertNext(update -> assertThat(update.getStatus()).isEqualTo(OrderStatus.DELIVERED))
+                .verifyComplete();
+
+        assertThat(streamService.activeChannels()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop a snapshot or event older than the last update sent")
+    void shouldDropStaleSnapshotAndEvents() {
+        Sinks.One<OrderResponse> snapshot = Sinks.one();
+        when(orderService.getOrderById(orderId)).thenReturn(snapshot.asMono());
+
+        StepVerifier.create(streamService.streamOrder(orderId))
+                .then(() -> streamService.publish(statusChanged(OrderStatus.CONFIRMED, OrderStatus.PREPARING, 3L)))
+                .assertNext(update -> assertThat(update.getStatus()).isEqualTo(OrderStatus.PREPARING))
+                .then(() -> {
+                    OrderResponse stale = order(OrderStatus.CONFIRMED);
+                    stale.setVersion(2L);
+                    snapshot.tryEmitValue(stale);
+                    streamService.publish(statusChanged(OrderStatus.PENDING, OrderStatus.CONFIRMED, 2L));
+                    streamService.publish(statusChanged(OrderStatus.PREPARING, OrderStatus.READY, 4L));
+                })
+                .assertNext(update -> assertThat(update.getStatus()).isEqualTo(OrderStatus.READY))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should complete right after snapshot when order is already final")
+    void shouldCompleteAfterSnapshotWhenOrderIsFinal() {
+        when(orderService.getOrderById(orderId)).thenReturn(Mono.just(order(OrderStatus.CANCELLED)));
+
+        StepVerifier.create(streamService.streamOrder(orderId))
+                .assertNext(update -> assertThat(update.isFinal()).isTrue())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fan out restaurant updates to every subscriber")
+    void shouldFanOutRestaurantUpdatesToEverySubscriber() {
+        StepVerifier first = StepVerifier.create(streamService.subscribeToRestaurant(restaurantId).take(1))
+                .expectNextCount(1)
+                .expectComplete()
+                .verifyLater();
+        StepVerifier second = StepVerifier.create(streamService.subscribeToRestaurant(restaurantId).take(1))
+                .expectNextCount(1)
+                .expectComplete()
+                .verifyLater();
+
+        streamService.publish(statusChanged(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+
+        first.verify(Duration.ofSeconds(1));
+        second.verify(Duration.ofSeconds(1));
+        assertThat(streamService.activeChannels()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest updates for a slow subscriber")
+    void shouldKeepOnlyNewestUpdatesForSlowSubscriber() {
+        StepVerifier.create(streamService.subscribeToRestaurant(restaurantId), 0)
+                .then(() -> {
+                    streamService.publish(statusChanged(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+                    streamService.publish(statusChanged(OrderStatus.CONFIRMED, OrderStatus.PREPARING));
+                    streamService.publish(statusChanged(OrderStatus.PREPARING, OrderStatus.READY));
+                })
+                .thenRequest(BUFFER_SIZE)
+                .assertNext(update -> assertThat(update.getStatus()).isEqualTo(OrderStatus.PREPARING))
+                .assertNext(update -> assertThat(update.getStatus()).isEqualTo(OrderStatus.READY))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should treat cancelled events without status as cancelled")
+    void shouldTreatCancelledEventsAsCancelled() {
+        OrderStatusUpdate cancelled = OrderStatusUpdate.builder()
+                .eventType(OrderStatusUpdate.ORDER_CANCELLED)
+                .orderId(orderId)
+                .build();
+
+        assertThat(cancelled.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(cancelled.isFinal()).isTrue();
+    }
+}
@@ -0,0 +1,154 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.service.RestaurantAvailabilityService.Availability;
+import com.ecommerce.order.infrastructure.client.RestaurantServiceClient;
+import com.ecommerce.order.infrastructure.client.RestaurantSummary;
+import com.ecommerce.order.infrastructure.messaging.event.RestaurantEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RestaurantAvailabilityService Tests")
+class RestaurantAvailabilityServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    private RestaurantServiceClient restaurantServiceClient;
+    private RestaurantAvailabilityService availabilityService;
+    private UUID restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantServiceClient = mock(RestaurantServiceClient.class);
+        availabilityService = new RestaurantAvailabilityService(restaurantServiceClient, true);
+        restaurantId = UUID.randomUUID();
+    }
+
+    private RestaurantEvent event(RestaurantEvent.EventType eventType, boolean open, boolean accepting,
+                                  LocalDateTime timestamp) {
+        return RestaurantEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(eventType)
+                .restaurantId(restaurantId)
+                .status("ACTIVE")
+                .isOpen(open)
+                .isAcceptingOrders(accepting)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private RestaurantSummary summary(LocalDateTime updatedAt) {
+        return RestaurantSummary.builder()
+                .id(restaurantId)
+                .status("ACTIVE")
+                .isOpen(true)
+                .isAcceptingOrders(true)
+                .deliveryRadiusKm(new BigDecimal("5.0"))
+                .minOrderValue(new BigDecimal("30.00"))
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should accept orders for unknown restaurants")
+    void shouldAcceptUnknownRestaurant() {
+        assertThat(availabilityService.isAcceptingOrders(restaurantId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should follow open, paused and resumed events")
+    void shouldFollowEvents() {
+        availabilityService.apply(event(RestaurantEvent.EventType.RESTAURANT_OPENED, true, true, NOW));
+        assertThat(availabilityService.isAcceptingOrders(restaurantId)).isTrue();
+
+        availabilityService.apply(event(RestaurantEvent.EventType.RESTAURANT_ORDERS_PAUSED, true, false, NOW.plusMinutes(1)));
+        assertThat(availabilityService.isAcceptingOrders(restaurantId)).isFalse();
+
+        availabilityService.apply(event(RestaurantEvent.EventType.RESTAURANT_ORDERS_RESUMED, true, true, NOW.plusMinutes(2)));
+        assertThat(availabilityService.isAcceptingOrders(restaurantId)).isTrue();
+
+        availabilityService.apply(event(RestaurantEvent.EventType.RESTAURANT_CLOSED, false, true, NOW.plusMinutes(3)));
+        assertThat(availabilityService.isAcceptingOrders(restaurantId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject suspended and deleted restaurants")
+    void shouldRejectSuspendedAndDeleted() {
+        RestaurantEvent suspended = event(RestaurantEvent.EventType.RESTAURANT_SUSPENDED, true, true, NOW);
+        suspended.setStatus("SUSPENDED");
+        availabilityService.apply(suspended);
+        assertThat(availabilityService.isAcceptingOrders(restaurantId)).isFalse();
+
+        UUID deletedId = UUID.randomUUID();
+        availabilityService.apply(RestaurantEvent.builder()
+                .eventType(RestaurantEvent.EventType.RESTAURANT_DELETED)
+                .restaurantId(deletedId)
+                .timestamp(NOW)
+                .build());
+        assertThat(availabilityService.isAcceptingOrders(deletedId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep the newest state when the bootstrap snapshot arrives late")
+    void shouldIgnoreStaleSnapshot() {
+        availabilityService.apply(event(RestaurantEvent.EventType.RESTAURANT_ORDERS_PAUSED, true, false, NOW));
+        availabilityService.load(summary(NOW.minusMinutes(5)));
+
+        assertThat(availabilityService.isAcceptingOrders(restaurantId)).isFalse();
+
+        availabilityService.load(summary(NOW.plusMinutes(5)));
+
+        assertThat(availabilityService.isAcceptingOrders(restaurantId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fetch delivery rules remotely only on a miss")
+    void shouldFetchRulesOnMiss() {
+        when(restaurantServiceClient.findRestaurant(restaurantId)).thenReturn(Mono.just(summary(NOW)));
+
+        StepVerifier.create(availabilityService.lookup(restaurantId))
+                .assertNext(a -> assertThat(a.rules().minOrderValue()).isEqualByComparingTo("30.00"))
+                .verifyComplete();
+        StepVerifier.create(availabilityService.lookup(restaurantId))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(restaurantServiceClient, times(1)).findRestaurant(restaurantId);
+    }
+
+    @Test
+    @DisplayName("Should keep known delivery rules when an event does not carry them")
+    void shouldKeepRulesFromOlderEvents() {
+        availabilityService.load(summary(NOW));
+        availabilityService.apply(event(RestaurantEvent.EventType.RESTAURANT_ORDERS_PAUSED, true, false, NOW.plusMinutes(1)));
+
+        StepVerifier.create(availabilityService.lookup(restaurantId))
+                .assertNext(a -> {
+                    assertThat(a.isAcceptingOrders()).isFalse();
+                    assertThat(a.rules().deliveryRadiusKm()).isEqualByComparingTo("5.0");
+                })
+                .verifyComplete();
+        verifyNoInteractions(restaurantServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the partial local state when the remote lookup fails")
+    void shouldUsePartialStateOnRemoteFailure() {
+        availabilityService.apply(event(RestaurantEvent.EventType.RESTAURANT_CLOSED, false, true, NOW));
+        when(restaurantServiceClient.findRestaurant(restaurantId))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+
+        StepVerifier.create(availabilityService.lookup(restaurantId).map(Availability::isAcceptingOrders))
+                .expectNext(false)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.order.application.timeout;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HashedTimingWheel Tests")
+class HashedTimingWheelTest {
+
+    private static final long START = 1_800_000_000_000L;
+
+    private HashedTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        // Ticks de 1s, 8 slots: uma volta cobre só 8 segundos
+        wheel = new HashedTimingWheel<>(1_000, 8, START);
+    }
+
+    @Test
+    @DisplayName("Should fire a timeout only once its deadline has passed")
+    void shouldFireAtDeadline() {
+        wheel.schedule("a", START + 3_000);
+
+        assertThat(wheel.advance(START + 2_999)).isEmpty();
+        assertThat(wheel.advance(START + 3_000)).containsExactly("a");
+        assertThat(wheel.advance(START + 10_000)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep deadlines beyond one revolution until the right round")
+    void shouldHandleMultipleRounds() {
+        wheel.schedule("far", START + 20_000);
+        wheel.schedule("near", START + 4_000);
+
+        assertThat(wheel.advance(START + 4_000)).containsExactly("near");
+        assertThat(wheel.advance(START + 12_000)).isEmpty();
+        assertThat(wheel.advance(START + 19_000)).isEmpty();
+        assertThat(wheel.advance(START + 20_000)).containsExactly("far");
+    }
+
+    @Test
+    @DisplayName("Should not fire cancelled timeouts")
+    void shouldCancel() {
+        wheel.schedule("a", START + 2_000);
+        wheel.schedule("b", START + 2_000);
+        wheel.schedule("c", START + 2_000);
+
+        assertThat(wheel.cancel("b")).isTrue();
+        assertThat(wheel.cancel("b")).isFalse();
+        assertThat(wheel.advance(START + 5_000)).containsExactlyInAnyOrder("a", "c");
+    }
+
+    @Test
+    @DisplayName("Should replace the deadline when a key is rescheduled")
+    void shouldReschedule() {
+        wheel.schedule("a", START + 2_000);
+        wheel.schedule("a", START + 6_000);
+
+        assertThat(wheel.advance(START + 5_000)).isEmpty();
+        assertThat(wheel.advance(START + 6_000)).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("Should fire past deadlines on the next tick")
+    void shouldFirePastDeadlinesOnNextTick() {
+        wheel.advance(START + 5_000);
+        wheel.schedule("late", START);
+
+        assertThat(wheel.advance(START + 6_000)).containsExactly("late");
+    }
+
+    @Test
+    @DisplayName("Should catch up after a pause longer than one revolution")
+    void shouldCatchUpAfterLongPause() {
+        IntStream.range(0, 100).forEach(i -> wheel.schedule("k" + i, START + (i + 1) * 500L));
+
+        List<String> expired = wheel.advance(START + 60_000);
+
+        assertThat(expired).hasSize(100);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should handle hundreds of thousands of outstanding timeouts")
+    void shouldHandleManyTimeouts() {
+        HashedTimingWheel<Integer> large = new HashedTimingWheel<>(1_000, 1024, START);
+        IntStream.range(0, 300_000).forEach(i -> large.schedule(i, START + 900_000 + (i % 600) * 1_000L));
+        IntStream.range(0, 300_000).filter(i -> i % 2 == 0).forEach(large::cancel);
+
+        assertThat(large.advance(START + 899_000)).isEmpty();
+        assertThat(large.advance(START + 1_500_000)).hasSize(150_000);
+        assertThat(large.size()).isZero();
+    }
+}
@@ -1,10 +1,10 @@
 // order-service/src/test/java/com/ecommerce/order/domain/entity/OrderItemTest.java
 package com.ecommerce.order.domain.entity;
 
+import com.ecommerce.order.domain.valueobject.Money;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,12 +20,12 @@ class OrderItemTest {
                 .productId(UUID.randomUUID())
                 .productName("Pizza")
                 .quantity(2)
-                .unitPrice(new BigDecimal("29.90"))
+                .unitPrice(Money.of("29.90"))
                 .build();
 
         item.calculateTotalPrice();
 
-        assertEquals(0, new BigDecimal("59.80").compareTo(item.getTotalPrice()));
+        assertEquals(Money.of("59.80"), item.getTotalPrice());
     }
 
     @Test
@@ -35,14 +35,14 @@ class OrderItemTest {
                 UUID.randomUUID(),
                 "Pizza Margherita",
                 2,
-                new BigDecimal("35.00"),
+                Money.of("35.00"),
                 "Sem cebola"
         );
 
         assertNotNull(item.getId());
         assertEquals("Pizza Margherita", item.getProductName());
         assertEquals(2, item.getQuantity());
-        assertEquals(0, new BigDecimal("70.00").compareTo(item.getTotalPrice()));
+        assertEquals(Money.of("70.00"), item.getTotalPrice());
         assertEquals("Sem cebola", item.getNotes());
     }
 }
\ No newline at end of file
@@ -2,11 +2,12 @@
 package com.ecommerce.order.domain.entity;
 
 import com.ecommerce.order.domain.exception.InvalidOrderStateException;
+import com.ecommerce.order.domain.valueobject.Money;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,10 +27,10 @@ class OrderTest {
                 .deliveryCity("São Paulo")
                 .deliveryState("SP")
                 .deliveryZipCode("01234-567")
-                .subtotal(new BigDecimal("50.00"))
-                .deliveryFee(new BigDecimal("5.00"))
-                .discount(BigDecimal.ZERO)
-                .total(new BigDecimal("55.00"))
+                .subtotal(Money.of("50.00"))
+                .deliveryFee(Money.of("5.00"))
+                .discount(Money.ZERO)
+                .total(Money.of("55.00"))
                 .build();
     }
 
@@ -239,4 +240,31 @@ class OrderTest {
             assertFalse(fullAddress.contains("null"));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Totals")
+    class TotalsTests {
+
+        @Test
+        @DisplayName("Should sum item totals, add delivery fee and subtract discount")
+        void shouldCalculateTotals() {
+            Order order = createOrder();
+            order.setItems(List.of(
+                    OrderItem.create(UUID.randomUUID(), "Pizza", 2, Money.of("45.90"), null),
+                    OrderItem.create(UUID.randomUUID(), "Refrigerante", 1, Money.of("12.00"), null)));
+
+            order.applyDiscount(Money.of("3.80"));
+
+            assertEquals(Money.of("103.80"), order.getSubtotal());
+            assertEquals(Money.of("105.00"), order.getTotal());
+        }
+
+        @Test
+        @DisplayName("Should reject discount greater than subtotal")
+        void shouldRejectDiscountGreaterThanSubtotal() {
+            Order order = createOrder();
+
+            assertThrows(IllegalArgumentException.class, () -> order.applyDiscount(Money.of("50.01")));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.order.domain.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should convert to and from BigDecimal with two decimal places")
+    void shouldRoundTripBigDecimal() {
+        Money money = Money.of(new BigDecimal("45.9"));
+
+        assertEquals(4590, money.cents());
+        assertEquals(new BigDecimal("45.90"), money.toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Should round half up to cents like the database column")
+    void shouldRoundHalfUp() {
+        assertEquals(1235, Money.of("12.345").cents());
+        assertEquals(1234, Money.of("12.3449").cents());
+    }
+
+    @Test
+    @DisplayName("Should add, subtract and multiply in cents")
+    void shouldDoArithmetic() {
+        Money total = Money.of("45.90").times(2).plus(Money.of("12.00")).minus(Money.of("3.80"));
+
+        assertEquals(Money.of("100.00"), total);
+    }
+
+    @Test
+    @DisplayName("Should reject mixing currencies")
+    void shouldRejectCurrencyMismatch() {
+        Money usd = new Money(100, Currency.getInstance("USD"));
+
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.00").plus(usd));
+    }
+
+    @Test
+    @DisplayName("Should reject mixing currencies even when the other amount is zero")
+    void shouldRejectZeroOfOtherCurrency() {
+        Money zeroUsd = new Money(0, Currency.getInstance("USD"));
+
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.00").plus(zeroUsd));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.00").minus(zeroUsd));
+    }
+
+    @Test
+    @DisplayName("Should fail on overflow instead of wrapping")
+    void shouldFailOnOverflow() {
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).times(2));
+    }
+
+    @Test
+    @DisplayName("Should keep null at the BigDecimal boundary")
+    void shouldKeepNull() {
+        assertNull(Money.of((BigDecimal) null));
+        assertNull(Money.toBigDecimal(null));
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.data.redis.RedisReactiveHealthContributorAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.health.HealthContributorAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RedisCartConfig Tests")
+class RedisCartConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(RedisCartConfig.class)
+            .withConfiguration(AutoConfigurations.of(
+                    HealthContributorAutoConfiguration.class, RedisReactiveHealthContributorAutoConfiguration.class));
+
+    @Test
+    @DisplayName("Should not connect to Redis nor report its health with carts in memory")
+    void shouldSkipRedisWithMemoryStore() {
+        contextRunner.withPropertyValues("order.cart.store=memory")
+                .run(context -> assertThat(context)
+                        .doesNotHaveBean(ReactiveRedisConnectionFactory.class)
+                        .doesNotHaveBean("redisHealthContributor"));
+    }
+
+    @Test
+    @DisplayName("Should configure Redis and its health indicator with the Redis cart store")
+    void shouldConfigureRedisWithRedisStore() {
+        contextRunner.withPropertyValues("order.cart.store=redis")
+                .run(context -> assertThat(context)
+                        .hasSingleBean(ReactiveRedisConnectionFactory.class)
+                        .hasBean("redisHealthContributor"));
+    }
+}
@@ -2,12 +2,22 @@
 package com.ecommerce.order.infrastructure.controller;
 
 import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.request.OrderCursor;
+import com.ecommerce.order.application.dto.request.OrderExportFormat;
+import com.ecommerce.order.application.dto.request.OrderPageRequest;
 import com.ecommerce.order.application.dto.request.OrderItemRequest;
 import com.ecommerce.order.application.dto.request.UpdateOrderStatusRequest;
 import com.ecommerce.order.application.dto.response.OrderItemResponse;
 import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.dto.response.OrderStatusUpdate;
+import com.ecommerce.order.application.dto.response.RestaurantAnalyticsResponse;
+import com.ecommerce.order.application.service.OrderAnalyticsService;
+import com.ecommerce.order.application.service.OrderExportService;
 import com.ecommerce.order.application.service.OrderService;
+import com.ecommerce.order.application.service.OrderStatusStreamService;
 import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.domain.exception.ConcurrentOrderUpdateException;
+import com.ecommerce.order.domain.exception.IdempotencyKeyReuseException;
 import com.ecommerce.order.domain.exception.InvalidOrderStateException;
 import com.ecommerce.order.domain.exception.OrderNotFoundException;
 import com.ecommerce.order.infrastructure.exception.GlobalExceptionHandler;
@@ -19,12 +29,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -42,6 +57,15 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private OrderStatusStreamService orderStatusStreamService;
+
+    @Mock
+    private OrderAnalyticsService orderAnalyticsService;
+
+    @Mock
+    private OrderExportService orderExportService;
+
     @InjectMocks
     private OrderController orderController;
 
@@ -119,7 +143,7 @@ class OrderControllerTest {
         @Test
         @DisplayName("Should create order and return 201")
         void shouldCreateOrderAndReturn201() {
-            when(orderService.createOrder(any(CreateOrderRequest.class)))
+            when(orderService.createOrder(any(CreateOrderRequest.class), any()))
                     .thenReturn(Mono.just(sampleOrderResponse));
 
             webTestClient.post()
@@ -135,6 +159,38 @@ class OrderControllerTest {
                     .jsonPath("$.total").isEqualTo(108.80);
         }
 
+        @Test
+        @DisplayName("Should forward the Idempotency-Key header to the service")
+        void shouldForwardIdempotencyKey() {
+            when(orderService.createOrder(any(CreateOrderRequest.class), eq("checkout-42")))
+                    .thenReturn(Mono.just(sampleOrderResponse));
+
+            webTestClient.post()
+                    .uri("/api/v1/orders")
+                    .header(OrderController.IDEMPOTENCY_KEY_HEADER, "checkout-42")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(createOrderRequest)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody()
+                    .jsonPath("$.id").isEqualTo(orderId.toString());
+        }
+
+        @Test
+        @DisplayName("Should return 422 when the Idempotency-Key was used with another body")
+        void shouldReturn422ForReusedIdempotencyKey() {
+            when(orderService.createOrder(any(CreateOrderRequest.class), eq("checkout-42")))
+                    .thenReturn(Mono.error(new IdempotencyKeyReuseException("checkout-42")));
+
+            webTestClient.post()
+                    .uri("/api/v1/orders")
+                    .header(OrderController.IDEMPOTENCY_KEY_HEADER, "checkout-42")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(createOrderRequest)
+                    .exchange()
+                    .expectStatus().isEqualTo(422);
+        }
+
         @Test
         @DisplayName("Should return 400 for missing customerId")
         void shouldReturn400ForMissingCustomerId() {
@@ -261,7 +317,7 @@ class OrderControllerTest {
         @Test
         @DisplayName("Should return orders by customer")
         void shouldReturnOrdersByCustomer() {
-            when(orderService.getOrdersByCustomer(customerId))
+            when(orderService.getOrdersByCustomer(eq(customerId), any(OrderPageRequest.class)))
                     .thenReturn(Flux.just(sampleOrderResponse));
 
             webTestClient.get()
@@ -272,11 +328,68 @@ class OrderControllerTest {
                     .hasSize(1);
         }
 
+        @Test
+        @DisplayName("Should return next cursor header when page is full")
+        void shouldReturnNextCursorHeaderWhenPageIsFull() {
+            when(orderService.getOrdersByCustomer(eq(customerId), any(OrderPageRequest.class)))
+                    .thenReturn(Flux.just(sampleOrderResponse));
+
+            webTestClient.get()
+                    .uri("/api/v1/orders/customer/{customerId}?limit=1", customerId)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(OrderController.NEXT_CURSOR_HEADER,
+                            new OrderCursor(sampleOrderResponse.getCreatedAt(), orderId).encode())
+                    .expectBodyList(OrderResponse.class)
+                    .hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should omit next cursor header on the last page")
+        void shouldOmitNextCursorHeaderOnLastPage() {
+            when(orderService.getOrdersByCustomer(eq(customerId), any(OrderPageRequest.class)))
+                    .thenReturn(Flux.just(sampleOrderResponse));
+
+            webTestClient.get()
+                    .uri("/api/v1/orders/customer/{customerId}?limit=10", customerId)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().doesNotExist(OrderController.NEXT_CURSOR_HEADER);
+        }
+
+        @Test
+        @DisplayName("Should return 400 for malformed cursor")
+        void shouldReturn400ForMalformedCursor() {
+            webTestClient.get()
+                    .uri("/api/v1/orders/customer/{customerId}?cursor=not-a-cursor", customerId)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        @Test
+        @DisplayName("Should stream orders as NDJSON")
+        void shouldStreamOrdersAsNdjson() {
+            when(orderService.getOrdersByCustomer(eq(customerId), any(OrderPageRequest.class)))
+                    .thenReturn(Flux.just(sampleOrderResponse, sampleOrderResponse));
+
+            webTestClient.get()
+                    .uri("/api/v1/orders/customer/{customerId}", customerId)
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    .returnResult(OrderResponse.class)
+                    .getResponseBody()
+                    .as(StepVerifier::create)
+                    .expectNextCount(2)
+                    .verifyComplete();
+        }
+
         @Test
         @DisplayName("Should return empty list when no orders for customer")
         void shouldReturnEmptyListWhenNoOrders() {
             UUID newCustomerId = UUID.randomUUID();
-            when(orderService.getOrdersByCustomer(newCustomerId))
+            when(orderService.getOrdersByCustomer(eq(newCustomerId), any(OrderPageRequest.class)))
                     .thenReturn(Flux.empty());
 
             webTestClient.get()
@@ -299,7 +412,7 @@ class OrderControllerTest {
                     .items(List.of())
                     .build();
 
-            when(orderService.getOrdersByCustomer(customerId))
+            when(orderService.getOrdersByCustomer(eq(customerId), any(OrderPageRequest.class)))
                     .thenReturn(Flux.just(sampleOrderResponse, secondOrder));
 
             webTestClient.get()
@@ -318,7 +431,7 @@ class OrderControllerTest {
         @Test
         @DisplayName("Should return orders by restaurant")
         void shouldReturnOrdersByRestaurant() {
-            when(orderService.getOrdersByRestaurant(restaurantId))
+            when(orderService.getOrdersByRestaurant(eq(restaurantId), any(OrderPageRequest.class)))
                     .thenReturn(Flux.just(sampleOrderResponse));
 
             webTestClient.get()
@@ -332,7 +445,7 @@ class OrderControllerTest {
         @Test
         @DisplayName("Should return active orders by restaurant")
         void shouldReturnActiveOrdersByRestaurant() {
-            when(orderService.getActiveOrdersByRestaurant(restaurantId))
+            when(orderService.getActiveOrdersByRestaurant(eq(restaurantId), any(OrderPageRequest.class)))
                     .thenReturn(Flux.just(sampleOrderResponse));
 
             webTestClient.get()
@@ -351,7 +464,7 @@ class OrderControllerTest {
         @Test
         @DisplayName("Should return orders by status PENDING")
         void shouldReturnOrdersByStatusPending() {
-            when(orderService.getOrdersByStatus(OrderStatus.PENDING))
+            when(orderService.getOrdersByStatus(eq(OrderStatus.PENDING), any(OrderPageRequest.class)))
                     .thenReturn(Flux.just(sampleOrderResponse));
 
             webTestClient.get()
@@ -371,7 +484,7 @@ class OrderControllerTest {
                     .items(List.of())
                     .build();
 
-            when(orderService.getOrdersByStatus(OrderStatus.PREPARING))
+            when(orderService.getOrdersByStatus(eq(OrderStatus.PREPARING), any(OrderPageRequest.class)))
                     .thenReturn(Flux.just(preparingOrder));
 
             webTestClient.get()
@@ -767,7 +880,7 @@ class OrderControllerTest {
                     .total(new BigDecimal("500.00"))
                     .build();
 
-            when(orderService.createOrder(any(CreateOrderRequest.class)))
+            when(orderService.createOrder(any(CreateOrderRequest.class), any()))
                     .thenReturn(Mono.just(responseWithManyItems));
 
             webTestClient.post()
@@ -802,7 +915,7 @@ class OrderControllerTest {
                     ))
                     .build();
 
-            when(orderService.createOrder(any(CreateOrderRequest.class)))
+            when(orderService.createOrder(any(CreateOrderRequest.class), any()))
                     .thenReturn(Mono.just(sampleOrderResponse));
 
             webTestClient.post()
@@ -837,7 +950,7 @@ class OrderControllerTest {
                     ))
                     .build();
 
-            when(orderService.createOrder(any(CreateOrderRequest.class)))
+            when(orderService.createOrder(any(CreateOrderRequest.class), any()))
                     .thenReturn(Mono.just(sampleOrderResponse));
 
             webTestClient.post()
@@ -848,4 +961,134 @@ class OrderControllerTest {
                     .expectStatus().isCreated();
         }
     }
+
+    @Nested
+    @DisplayName("GET /api/v1/orders/restaurant/{restaurantId}/export")
+    class ExportOrdersEndpoint {
+
+        @Test
+        @DisplayName("Should stream the export as a CSV attachment")
+        void shouldStreamCsvAttachment() {
+            LocalDate day = LocalDate.of(2026, 10, 1);
+            when(orderExportService.export(eq(restaurantId), eq(day), eq(day), eq(OrderExportFormat.CSV), any()))
+                    .thenReturn(Flux.just("id,status\n", "1,PENDING\n")
+                            .map(text -> DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8))));
+
+            webTestClient.get()
+                    .uri("/api/v1/orders/restaurant/{restaurantId}/export?from=2026-10-01&to=2026-10-01&format=csv", restaurantId)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(new MediaType("text", "csv"))
+                    .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"orders-" + restaurantId + "-2026-10-01-2026-10-01.csv\"")
+                    .expectBody(String.class).isEqualTo("id,status\n1,PENDING\n");
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an unsupported format")
+        void shouldRejectUnsupportedFormat() {
+            webTestClient.get()
+                    .uri("/api/v1/orders/restaurant/{restaurantId}/export?from=2026-10-01&to=2026-10-31&format=xlsx", restaurantId)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/orders/restaurant/{restaurantId}/analytics")
+    class RestaurantAnalyticsEndpoint {
+
+        @Test
+        @DisplayName("Should return the in-memory restaurant metrics")
+        void shouldReturnRestaurantMetrics() {
+            when(orderAnalyticsService.getRestaurantAnalytics(restaurantId))
+                    .thenReturn(RestaurantAnalyticsResponse.builder()
+                            .restaurantId(restaurantId)
+                            .windowSeconds(600L)
+                            .ordersCreated(30L)
+                            .ordersPerMinute(3.0)
+                            .cancellationRate(0.1)
+                            .preparationTimeP95Seconds(900L)
+                            .build());
+
+            webTestClient.get()
+                    .uri("/api/v1/orders/restaurant/{restaurantId}/analytics", restaurantId)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.restaurantId").isEqualTo(restaurantId.toString())
+                    .jsonPath("$.ordersPerMinute").isEqualTo(3.0)
+                    .jsonPath("$.preparationTimeP95Seconds").isEqualTo(900);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/orders/{id}/stream")
+    class StreamOrderStatusEndpoint {
+
+        @Test
+        @DisplayName("Should stream status updates as server-sent events")
+        void shouldStreamStatusUpdatesAsServerSentEvents() {
+            OrderStatusUpdate snapshot = OrderStatusUpdate.snapshot(sampleOrderResponse);
+            OrderStatusUpdate delivered = OrderStatusUpdate.builder()
+                    .eventType("ORDER_STATUS_CHANGED")
+                    .orderId(orderId)
+                    .restaurantId(restaurantId)
+                    .previousStatus(OrderStatus.OUT_FOR_DELIVERY)
+                    .status(OrderStatus.DELIVERED)
+                    .build();
+            when(orderStatusStreamService.streamOrder(orderId)).thenReturn(Flux.just(snapshot, delivered));
+
+            webTestClient.get()
+                    .uri("/api/v1/orders/{id}/stream", orderId)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                    .returnResult(OrderStatusUpdate.class)
+                    .getResponseBody()
+                    .map(OrderStatusUpdate::getEventType)
+                    .as(StepVerifier::create)
+                    .expectNext(OrderStatusUpdate.SNAPSHOT, "ORDER_STATUS_CHANGED")
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should return 404 when streaming a non-existent order")
+        void shouldReturn404WhenStreamingNonExistentOrder() {
+            when(orderStatusStreamService.streamOrder(orderId))
+                    .thenReturn(Flux.error(new OrderNotFoundException(orderId)));
+
+            webTestClient.get()
+                    .uri("/api/v1/orders/{id}/stream", orderId)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .exchange()
+                    .expectStatus().isNotFound();
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrent updates")
+    class ConcurrentUpdateTests {
+
+        @Test
+        @DisplayName("Should return 409 when retries on version conflict are exhausted")
+        void shouldReturn409WhenConflictRetriesExhausted() {
+            UpdateOrderStatusRequest request = UpdateOrderStatusRequest.builder()
+                    .status(OrderStatus.CONFIRMED)
+                    .estimatedDeliveryTime(30)
+                    .build();
+            when(orderService.updateOrderStatus(eq(orderId), any(UpdateOrderStatusRequest.class)))
+                    .thenReturn(Mono.error(new ConcurrentOrderUpdateException(orderId)));
+
+            webTestClient.patch()
+                    .uri("/api/v1/orders/{id}/status", orderId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isEqualTo(409)
+                    .expectBody()
+                    .jsonPath("$.message").value(message -> ((String) message).contains("modified concurrently"));
+        }
+    }
 }
\ No newline at end of file
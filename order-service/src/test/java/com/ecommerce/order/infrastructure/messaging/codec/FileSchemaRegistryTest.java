@@ -0,0 +1,73 @@
+package com.ecommerce.order.infrastructure.messaging.codec;
+
+import com.ecommerce.order.infrastructure.messaging.codec.EventSchema.Field;
+import com.ecommerce.order.infrastructure.messaging.codec.EventSchema.Type;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FileSchemaRegistry Tests")
+class FileSchemaRegistryTest {
+
+    @TempDir
+    Path registryDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final EventSchema V1 = new EventSchema("test-events", 1, List.of(
+            Field.of("id", Type.UUID),
+            Field.enumOf("kind", false, List.of("A", "B")),
+            Field.optional("note", Type.STRING)));
+
+    @Test
+    @DisplayName("Should register idempotently and resolve ids from another instance")
+    void shouldRegisterAndResolve() {
+        FileSchemaRegistry registry = new FileSchemaRegistry(registryDir, objectMapper);
+
+        int id = registry.register(V1);
+
+        assertThat(registry.register(V1)).isEqualTo(id);
+        assertThat(new FileSchemaRegistry(registryDir, objectMapper).findById(id)).contains(V1);
+        assertThat(registry.findById(id + 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should accept compatible evolutions")
+    void shouldAcceptCompatibleEvolution() {
+        FileSchemaRegistry registry = new FileSchemaRegistry(registryDir, objectMapper);
+        registry.register(V1);
+        EventSchema v2 = new EventSchema("test-events", 2, List.of(
+                Field.of("id", Type.UUID),
+                Field.enumOf("kind", false, List.of("A", "B", "C")),
+                Field.optional("amount", Type.DECIMAL2)));
+
+        int id = registry.register(v2);
+
+        assertThat(id).isNotEqualTo(V1.id());
+        assertThat(registry.latest("test-events")).contains(v2);
+    }
+
+    @Test
+    @DisplayName("Should reject incompatible or stale schemas")
+    void shouldRejectIncompatibleSchemas() {
+        FileSchemaRegistry registry = new FileSchemaRegistry(registryDir, objectMapper);
+        registry.register(V1);
+        EventSchema retyped = new EventSchema("test-events", 2, List.of(
+                Field.of("id", Type.STRING),
+                Field.enumOf("kind", false, List.of("B", "A"))));
+        EventSchema stale = new EventSchema("test-events", 1, List.of(Field.of("id", Type.UUID)));
+
+        assertThatThrownBy(() -> registry.register(retyped))
+                .hasMessageContaining("field id changed from UUID to STRING")
+                .hasMessageContaining("kind");
+        assertThatThrownBy(() -> registry.register(stale))
+                .hasMessageContaining("is not newer");
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.order.infrastructure.messaging.codec;
+
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.infrastructure.messaging.event.OrderEventMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OrderEventCodec Tests")
+class OrderEventCodecTest {
+
+    @TempDir
+    Path registryDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FileSchemaRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new FileSchemaRegistry(registryDir, objectMapper);
+    }
+
+    private OrderEventMessage createdEvent() {
+        return OrderEventMessage.builder()
+                .eventType(OrderEventMessage.ORDER_CREATED)
+                .orderId(UUID.randomUUID())
+                .customerId(UUID.randomUUID())
+                .restaurantId(UUID.randomUUID())
+                .status(OrderStatus.PENDING)
+                .total(new BigDecimal("57.90"))
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should round-trip events in binary and register the schema")
+    void shouldRoundTripBinary() throws Exception {
+        OrderEventCodec codec = new OrderEventCodec(registry, objectMapper, "binary");
+        OrderEventMessage ready = OrderEventMessage.builder()
+                .eventType(OrderEventMessage.ORDER_STATUS_CHANGED)
+                .orderId(UUID.randomUUID())
+                .customerId(UUID.randomUUID())
+                .restaurantId(UUID.randomUUID())
+                .previousStatus(OrderStatus.PREPARING)
+                .newStatus(OrderStatus.READY)
+                .preparationMillis(754_000L)
+                .timestamp(System.currentTimeMillis())
+                .build();
+
+        OrderEventCodec.Encoded created = codec.encode(createdEvent());
+        OrderEventCodec.Encoded changed = codec.encode(ready);
+
+        assertThat(created.contentType()).isEqualTo(OrderEventCodec.BINARY);
+        assertThat(registry.findById(OrderEventCodec.SCHEMA.id())).isPresent();
+        assertThat(codec.decode(changed.body(), changed.contentType())).isEqualTo(ready);
+        assertThat(codec.decode(created.body(), created.contentType()).getTotal()).isEqualByComparingTo("57.90");
+    }
+
+    @Test
+    @DisplayName("Should encode smaller than JSON")
+    void shouldEncodeSmallerThanJson() {
+        OrderEventMessage event = createdEvent();
+
+        byte[] binary = new OrderEventCodec(registry, objectMapper, "binary").encode(event).body();
+        byte[] json = new OrderEventCodec(registry, objectMapper, "json").encode(event).body();
+
+        assertThat(binary.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    @DisplayName("Should read JSON from producers without content type")
+    void shouldReadLegacyJson() throws Exception {
+        OrderEventCodec codec = new OrderEventCodec(registry, objectMapper, "binary");
+        String legacy = """
+                {"eventType":"ORDER_STATUS_CHANGED","orderId":"%s","customerId":"%s","restaurantId":"%s",
+                 "previousStatus":"CONFIRMED","newStatus":"PREPARING","timestamp":1,"extra":true}
+                """.formatted(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        OrderEventMessage event = codec.decode(legacy.getBytes(StandardCharsets.UTF_8), null);
+
+        assertThat(event.getNewStatus()).isEqualTo(OrderStatus.PREPARING);
+        assertThat(event.getPreviousStatus()).isEqualTo(OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Should reject binary events with an unknown schema id")
+    void shouldRejectUnknownSchema() {
+        byte[] body = new OrderEventCodec(registry, objectMapper, "binary").encode(createdEvent()).body();
+        OrderEventCodec reader = new OrderEventCodec(
+                new FileSchemaRegistry(registryDir.resolve("empty"), objectMapper), objectMapper, "json");
+
+        assertThatThrownBy(() -> reader.decode(body, OrderEventCodec.BINARY))
+                .hasMessageContaining("Unknown schema id");
+    }
+
+    @Test
+    @DisplayName("Should fall back to JSON when the schema cannot be registered")
+    void shouldFallBackToJson() throws Exception {
+        Path notADirectory = registryDir.resolve("file");
+        Files.writeString(notADirectory, "x");
+
+        OrderEventCodec codec = new OrderEventCodec(new FileSchemaRegistry(notADirectory, objectMapper),
+                objectMapper, "binary");
+
+        assertThat(codec.isBinary()).isFalse();
+        assertThat(codec.encode(createdEvent()).contentType()).isEqualTo(OrderEventCodec.JSON);
+    }
+}
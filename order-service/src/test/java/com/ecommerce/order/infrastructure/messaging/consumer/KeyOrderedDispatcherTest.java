@@ -0,0 +1,89 @@
+package com.ecommerce.order.infrastructure.messaging.consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KeyOrderedDispatcher Tests")
+class KeyOrderedDispatcherTest {
+
+    private final KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(16);
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    /** Tarefa que só termina quando o teste liberar */
+    private Sinks.Empty<Void> dispatchBlocked(String key, String name) {
+        Sinks.Empty<Void> release = Sinks.empty();
+        dispatcher.dispatch(key,
+                () -> Mono.fromRunnable(() -> events.add("start " + name)).then(release.asMono()),
+                () -> events.add("ack " + name));
+        return release;
+    }
+
+    @Test
+    @DisplayName("Should run tasks of the same key one after the other")
+    void shouldKeepOrderPerKey() {
+        Sinks.Empty<Void> first = dispatchBlocked("r1", "a1");
+        Sinks.Empty<Void> second = dispatchBlocked("r1", "a2");
+
+        assertThat(events).containsExactly("start a1");
+
+        first.tryEmitEmpty();
+        assertThat(events).containsExactly("start a1", "ack a1", "start a2");
+
+        second.tryEmitEmpty();
+        assertThat(events).containsExactly("start a1", "ack a1", "start a2", "ack a2");
+        assertThat(dispatcher.activeKeys()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should run different keys concurrently and ack each one when it finishes")
+    void shouldRunKeysConcurrently() {
+        Sinks.Empty<Void> slow = dispatchBlocked("r1", "a1");
+        Sinks.Empty<Void> fast = dispatchBlocked("r2", "b1");
+
+        assertThat(events).containsExactly("start a1", "start b1");
+
+        fast.tryEmitEmpty();
+        assertThat(events).containsExactly("start a1", "start b1", "ack b1");
+        assertThat(dispatcher.activeKeys()).isEqualTo(1);
+
+        slow.tryEmitEmpty();
+        assertThat(events).endsWith("ack a1");
+    }
+
+    @Test
+    @DisplayName("Should ack and move on when a task fails")
+    void shouldContinueAfterFailure() {
+        dispatcher.dispatch("r1", () -> Mono.error(new IllegalStateException("boom")), () -> events.add("ack a1"));
+        dispatchBlocked("r1", "a2").tryEmitEmpty();
+
+        assertThat(events).containsExactly("ack a1", "start a2", "ack a2");
+    }
+
+    @Test
+    @DisplayName("Should block the caller while too many tasks are in flight")
+    void shouldBoundInFlightTasks() throws InterruptedException {
+        KeyOrderedDispatcher bounded = new KeyOrderedDispatcher(1);
+        Sinks.Empty<Void> release = Sinks.empty();
+        bounded.dispatch("r1", release::asMono, () -> { });
+
+        CountDownLatch dispatched = new CountDownLatch(1);
+        Thread caller = new Thread(() -> {
+            bounded.dispatch("r2", Mono::empty, () -> { });
+            dispatched.countDown();
+        });
+        caller.start();
+
+        assertThat(dispatched.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        release.tryEmitEmpty();
+        assertThat(dispatched.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+}
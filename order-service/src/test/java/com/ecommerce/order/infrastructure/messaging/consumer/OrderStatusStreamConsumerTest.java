@@ -0,0 +1,76 @@
+package com.ecommerce.order.infrastructure.messaging.consumer;
+
+import com.ecommerce.order.application.dto.response.OrderStatusUpdate;
+import com.ecommerce.order.application.service.KitchenQueueService;
+import com.ecommerce.order.application.service.OrderAnalyticsService;
+import com.ecommerce.order.application.service.OrderStatusStreamService;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.infrastructure.messaging.codec.OrderEventCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderStatusStreamConsumer Tests")
+class OrderStatusStreamConsumerTest {
+
+    @Mock
+    private OrderStatusStreamService streamService;
+
+    @Mock
+    private OrderAnalyticsService analyticsService;
+
+    @Mock
+    private KitchenQueueService kitchenQueueService;
+
+    @Mock
+    private OrderEventCodec orderEventCodec;
+
+    @InjectMocks
+    private OrderStatusStreamConsumer consumer;
+
+    private final OrderStatusUpdate update = OrderStatusUpdate.builder()
+            .eventType("ORDER_STATUS_CHANGED")
+            .orderId(UUID.randomUUID())
+            .restaurantId(UUID.randomUUID())
+            .previousStatus(OrderStatus.PENDING)
+            .status(OrderStatus.CONFIRMED)
+            .timestamp(System.currentTimeMillis())
+            .build();
+
+    @Test
+    @DisplayName("Should refresh kitchen queue before pushing the update")
+    void shouldRefreshKitchenQueueBeforePush() {
+        when(kitchenQueueService.refresh(update)).thenReturn(Mono.empty());
+
+        consumer.publish(update);
+
+        InOrder inOrder = inOrder(kitchenQueueService, streamService, analyticsService);
+        inOrder.verify(kitchenQueueService).refresh(update);
+        inOrder.verify(streamService).publish(update);
+        inOrder.verify(analyticsService).record(update);
+    }
+
+    @Test
+    @DisplayName("Should propagate kitchen queue failure to the container without pushing")
+    void shouldPropagateKitchenQueueFailure() {
+        when(kitchenQueueService.refresh(update))
+                .thenReturn(Mono.error(new IllegalStateException("shard unavailable")));
+
+        assertThatThrownBy(() -> consumer.publish(update))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("shard unavailable");
+
+        verifyNoInteractions(streamService, analyticsService);
+    }
+}
@@ -1,29 +1,33 @@
 // order-service/src/test/java/com/ecommerce/order/infrastructure/messaging/consumer/RestaurantEventConsumerTest.java
 package com.ecommerce.order.infrastructure.messaging.consumer;
 
-import com.ecommerce.order.domain.entity.Order;
+import com.ecommerce.order.application.service.OrderService;
 import com.ecommerce.order.domain.entity.OrderStatus;
 import com.ecommerce.order.infrastructure.messaging.event.RestaurantEvent;
-import com.ecommerce.order.infrastructure.repository.OrderRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import reactor.core.publisher.Flux;
+import org.springframework.kafka.support.Acknowledgment;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.PublisherProbe;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.UUID;
 
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,14 +35,11 @@ import static org.mockito.Mockito.*;
 class RestaurantEventConsumerTest {
 
     @Mock
-    private OrderRepository orderRepository;
+    private OrderService orderService;
 
     @InjectMocks
     private RestaurantEventConsumer consumer;
 
-    @Captor
-    private ArgumentCaptor<Order> orderCaptor;
-
     private UUID restaurantId;
     private RestaurantEvent event;
 
@@ -47,24 +48,6 @@ class RestaurantEventConsumerTest {
         restaurantId = UUID.randomUUID();
     }
 
-    private Order createOrder(OrderStatus status) {
-        return Order.builder()
-                .id(UUID.randomUUID())
-                .customerId(UUID.randomUUID())
-                .restaurantId(restaurantId)
-                .status(status)
-                .deliveryStreet("Test Street")
-                .deliveryNumber("123")
-                .deliveryNeighborhood("Test")
-                .deliveryCity("Test City")
-                .deliveryState("SP")
-                .deliveryZipCode("12345-678")
-                .subtotal(new BigDecimal("100.00"))
-                .total(new BigDecimal("105.00"))
-                .createdAt(LocalDateTime.now())
-                .build();
-    }
-
     private RestaurantEvent createEvent(RestaurantEvent.EventType eventType) {
         return RestaurantEvent.builder()
                 .eventId(UUID.randomUUID())
@@ -86,52 +69,32 @@ class RestaurantEventConsumerTest {
         @DisplayName("Should cancel pending orders when restaurant closes")
         void shouldCancelPendingOrdersWhenRestaurantCloses() {
             // Arrange
-            Order pendingOrder = createOrder(OrderStatus.PENDING);
             event = createEvent(RestaurantEvent.EventType.RESTAURANT_CLOSED);
+            PublisherProbe<Long> cancellation = PublisherProbe.of(Mono.just(3L));
 
-            when(orderRepository.findActiveOrdersByRestaurant(restaurantId))
-                    .thenReturn(Flux.just(pendingOrder));
-            when(orderRepository.save(any(Order.class)))
-                    .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+            when(orderService.cancelOrdersByRestaurant(
+                    restaurantId, EnumSet.of(OrderStatus.PENDING), "Restaurante fechou"))
+                    .thenReturn(cancellation.mono());
 
-            // Act
-            consumer.handleRestaurantEvent(event);
+            // Act + Assert: o listener só completa depois do cancelamento
+            StepVerifier.create(consumer.handleRestaurantEvent(event))
+                    .verifyComplete();
 
-            // Assert (aguarda processamento assíncrono)
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException ignored) {
-            }
-
-            verify(orderRepository).findActiveOrdersByRestaurant(restaurantId);
-            verify(orderRepository).save(orderCaptor.capture());
-
-            Order cancelledOrder = orderCaptor.getValue();
-            assertThat(cancelledOrder.getStatus()).isEqualTo(OrderStatus.CANCELLED);
-            assertThat(cancelledOrder.getCancellationReason()).isEqualTo("Restaurante fechou");
+            cancellation.assertWasSubscribed();
         }
 
         @Test
-        @DisplayName("Should not cancel orders in PREPARING status")
-        void shouldNotCancelOrdersInPreparingStatus() {
+        @DisplayName("Should propagate errors so the record is not acknowledged")
+        void shouldPropagateErrors() {
             // Arrange
-            Order preparingOrder = createOrder(OrderStatus.PREPARING);
             event = createEvent(RestaurantEvent.EventType.RESTAURANT_CLOSED);
 
-            when(orderRepository.findActiveOrdersByRestaurant(restaurantId))
-                    .thenReturn(Flux.just(preparingOrder));
-
-            // Act
-            consumer.handleRestaurantEvent(event);
+            when(orderService.cancelOrdersByRestaurant(eq(restaurantId), anySet(), anyString()))
+                    .thenReturn(Mono.error(new IllegalStateException("database unavailable")));
 
-            // Assert
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException ignored) {
-            }
-
-            verify(orderRepository).findActiveOrdersByRestaurant(restaurantId);
-            verify(orderRepository, never()).save(any());
+            // Act + Assert
+            StepVerifier.create(consumer.handleRestaurantEvent(event))
+                    .verifyError(IllegalStateException.class);
         }
     }
 
@@ -143,29 +106,18 @@ class RestaurantEventConsumerTest {
         @DisplayName("Should cancel pending and confirmed orders when restaurant is suspended")
         void shouldCancelPendingAndConfirmedOrdersWhenSuspended() {
             // Arrange
-            Order pendingOrder = createOrder(OrderStatus.PENDING);
-            Order confirmedOrder = createOrder(OrderStatus.CONFIRMED);
             event = createEvent(RestaurantEvent.EventType.RESTAURANT_SUSPENDED);
 
-            when(orderRepository.findActiveOrdersByRestaurant(restaurantId))
-                    .thenReturn(Flux.just(pendingOrder, confirmedOrder));
-            when(orderRepository.save(any(Order.class)))
-                    .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
-
-            // Act
-            consumer.handleRestaurantEvent(event);
-
-            // Assert
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException ignored) {
-            }
+            when(orderService.cancelOrdersByRestaurant(
+                    restaurantId, EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED), "Restaurante suspenso"))
+                    .thenReturn(Mono.just(2L));
 
-            verify(orderRepository, times(2)).save(orderCaptor.capture());
+            // Act + Assert
+            StepVerifier.create(consumer.handleRestaurantEvent(event))
+                    .verifyComplete();
 
-            assertThat(orderCaptor.getAllValues())
-                    .allMatch(order -> order.getStatus() == OrderStatus.CANCELLED)
-                    .allMatch(order -> order.getCancellationReason().equals("Restaurante suspenso"));
+            verify(orderService).cancelOrdersByRestaurant(
+                    restaurantId, EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED), "Restaurante suspenso");
         }
     }
 
@@ -174,33 +126,19 @@ class RestaurantEventConsumerTest {
     class RestaurantDeletedTests {
 
         @Test
-        @DisplayName("Should cancel all active orders when restaurant is deleted")
+        @DisplayName("Should cancel all cancellable orders when restaurant is deleted")
         void shouldCancelAllActiveOrdersWhenDeleted() {
-            // Arrange - apenas 2 pedidos que PODEM ser cancelados
-            Order pendingOrder = createOrder(OrderStatus.PENDING);
-            Order confirmedOrder = createOrder(OrderStatus.CONFIRMED);
-            // PREPARING não pode ser cancelado pelo método cancel()
-
+            // Arrange - PREPARING em diante não pode ser cancelado pela regra de domínio
             event = createEvent(RestaurantEvent.EventType.RESTAURANT_DELETED);
 
-            when(orderRepository.findActiveOrdersByRestaurant(restaurantId))
-                    .thenReturn(Flux.just(pendingOrder, confirmedOrder));
-            when(orderRepository.save(any(Order.class)))
-                    .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
-
-            // Act
-            consumer.handleRestaurantEvent(event);
-
-            // Assert
-            try {
-                Thread.sleep(200);
-            } catch (InterruptedException ignored) {
-            }
-
-            verify(orderRepository, times(2)).save(orderCaptor.capture());
+            when(orderService.cancelOrdersByRestaurant(
+                    restaurantId, EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED),
+                    "Restaurante não está mais disponível"))
+                    .thenReturn(Mono.just(2L));
 
-            assertThat(orderCaptor.getAllValues())
-                    .allMatch(order -> order.getStatus() == OrderStatus.CANCELLED);
+            // Act + Assert
+            StepVerifier.create(consumer.handleRestaurantEvent(event))
+                    .verifyComplete();
         }
 
         @Nested
@@ -213,12 +151,11 @@ class RestaurantEventConsumerTest {
                 // Arrange
                 event = createEvent(RestaurantEvent.EventType.RESTAURANT_ORDERS_PAUSED);
 
-                // Act
-                consumer.handleRestaurantEvent(event);
+                // Act + Assert
+                StepVerifier.create(consumer.handleRestaurantEvent(event))
+                        .verifyComplete();
 
-                // Assert
-                verify(orderRepository, never()).findActiveOrdersByRestaurant(any());
-                verify(orderRepository, never()).save(any());
+                verify(orderService, never()).cancelOrdersByRestaurant(any(), any(), any());
             }
 
             @Test
@@ -227,12 +164,48 @@ class RestaurantEventConsumerTest {
                 // Arrange
                 event = createEvent(RestaurantEvent.EventType.RESTAURANT_OPENED);
 
-                // Act
-                consumer.handleRestaurantEvent(event);
+                // Act + Assert
+                StepVerifier.create(consumer.handleRestaurantEvent(event))
+                        .verifyComplete();
 
-                // Assert
-                verify(orderRepository, never()).findActiveOrdersByRestaurant(any());
+                verify(orderService, never()).cancelOrdersByRestaurant(any(), any(), any());
             }
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Record Dispatch")
+    class RecordDispatchTests {
+
+        @Test
+        @DisplayName("Should acknowledge the record only after the cancellation completes")
+        void shouldAcknowledgeAfterProcessing() {
+            RestaurantEventConsumer dispatching = new RestaurantEventConsumer(orderService, new KeyOrderedDispatcher(8));
+            event = createEvent(RestaurantEvent.EventType.RESTAURANT_CLOSED);
+            Sinks.One<Long> cancellation = Sinks.one();
+            when(orderService.cancelOrdersByRestaurant(eq(restaurantId), anySet(), anyString()))
+                    .thenReturn(cancellation.asMono());
+            Acknowledgment ack = mock(Acknowledgment.class);
+
+            dispatching.onRestaurantEvent(new ConsumerRecord<>("restaurant-events", 0, 42L, null, event), ack);
+            verify(ack, never()).acknowledge();
+
+            cancellation.tryEmitValue(2L);
+            verify(ack).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should retry failed events and skip them after the last attempt")
+        void shouldRetryThenSkip() {
+            event = createEvent(RestaurantEvent.EventType.RESTAURANT_SUSPENDED);
+            when(orderService.cancelOrdersByRestaurant(eq(restaurantId), anySet(), anyString()))
+                    .thenReturn(Mono.error(new IllegalStateException("database down")));
+
+            StepVerifier.withVirtualTime(() -> consumer.process(event, 7L))
+                    .thenAwait(Duration.ofSeconds(3))
+                    .verifyComplete();
+
+            verify(orderService, times(1)).cancelOrdersByRestaurant(eq(restaurantId), anySet(), anyString());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.ecommerce.order.infrastructure.messaging.outbox;
+
+import com.ecommerce.order.infrastructure.config.KafkaConfig;
+import com.ecommerce.order.infrastructure.messaging.codec.OrderEventCodec;
+import com.ecommerce.order.infrastructure.repository.OutboxEventRepository;
+import com.ecommerce.order.infrastructure.shard.OrderShards;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderOutboxRelay Tests")
+class OrderOutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private ReactiveTransactionManager transactionManager;
+
+    private OrderOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        OrderShards orderShards = new OrderShards(transactionManager, transactionalOperator, false, List.of());
+        relay = new OrderOutboxRelay(outboxEventRepository, kafkaTemplate, transactionalOperator, orderShards, BATCH_SIZE);
+    }
+
+    private OutboxEvent createEvent(long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateId(UUID.randomUUID())
+                .eventType("ORDER_CREATED")
+                .payload("{\"eventType\":\"ORDER_CREATED\"}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private List<OutboxEvent> createEvents(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId).mapToObj(this::createEvent).toList();
+    }
+
+    @Test
+    @DisplayName("Should publish batch in id order and delete it after acks")
+    void shouldPublishBatchInOrderAndDeleteAfterAcks() {
+        List<OutboxEvent> batch = createEvents(1, 1);
+        when(outboxEventRepository.findNextBatch(BATCH_SIZE)).thenReturn(Flux.fromIterable(batch));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(outboxEventRepository.deleteByIdIn(List.of(1L))).thenReturn(Mono.just(1));
+
+        StepVerifier.create(relay.drain())
+                .expectNext(1L)
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(kafkaTemplate, outboxEventRepository);
+        inOrder.verify(kafkaTemplate).send(argThat((ProducerRecord<String, byte[]> record) ->
+                record.topic().equals(KafkaConfig.ORDER_EVENTS_TOPIC)
+                        && record.key().equals(batch.get(0).getAggregateId().toString())
+                        && new String(record.value(), StandardCharsets.UTF_8).equals(batch.get(0).getPayload())));
+        inOrder.verify(outboxEventRepository).deleteByIdIn(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should keep draining while batches are full")
+    void shouldKeepDrainingWhileBatchesAreFull() {
+        when(outboxEventRepository.findNextBatch(BATCH_SIZE))
+                .thenReturn(Flux.fromIterable(createEvents(1, 2)))
+                .thenReturn(Flux.fromIterable(createEvents(3, 3)));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(outboxEventRepository.deleteByIdIn(any())).thenReturn(Mono.just(1));
+
+        StepVerifier.create(relay.drain())
+                .expectNext(3L)
+                .verifyComplete();
+
+        verify(outboxEventRepository, times(2)).findNextBatch(BATCH_SIZE);
+        verify(outboxEventRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteByIdIn(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("Should keep events in outbox when broker rejects a send")
+    void shouldKeepEventsWhenBrokerRejectsSend() {
+        when(outboxEventRepository.findNextBatch(BATCH_SIZE)).thenReturn(Flux.fromIterable(createEvents(1, 1)));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        StepVerifier.create(relay.drain())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(outboxEventRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should tag records with the stored content type")
+    void shouldTagRecordsWithContentType() {
+        OutboxEvent binary = OutboxEvent.builder()
+                .id(1L)
+                .aggregateId(UUID.randomUUID())
+                .eventType("ORDER_CREATED")
+                .contentType(OrderEventCodec.BINARY)
+                .payloadBytes(new byte[]{0, 1, 2})
+                .build();
+
+        ProducerRecord<String, byte[]> binaryRecord = OrderOutboxRelay.toRecord(binary);
+        ProducerRecord<String, byte[]> legacyRecord = OrderOutboxRelay.toRecord(createEvent(2));
+
+        assertThat(binaryRecord.value()).containsExactly(0, 1, 2);
+        assertThat(binaryRecord.headers().lastHeader(OrderEventCodec.CONTENT_TYPE_HEADER).value())
+                .asString(StandardCharsets.UTF_8).isEqualTo(OrderEventCodec.BINARY);
+        assertThat(legacyRecord.headers().lastHeader(OrderEventCodec.CONTENT_TYPE_HEADER).value())
+                .asString(StandardCharsets.UTF_8).isEqualTo(OrderEventCodec.JSON);
+    }
+}
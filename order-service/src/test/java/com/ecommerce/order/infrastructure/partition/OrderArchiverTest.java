@@ -0,0 +1,187 @@
+package com.ecommerce.order.infrastructure.partition;
+
+import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.application.dto.request.OrderPageRequest;
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.service.OrderService;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.infrastructure.repository.OrderRepository;
+import com.ecommerce.order.infrastructure.repository.OrderViewRepository;
+import com.ecommerce.order.infrastructure.shard.OrderShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("OrderArchiver Tests")
+class OrderArchiverTest {
+
+    private static final int AFTER_DAYS = 90;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderViewRepository orderViewRepository;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    private OrderShards orderShards;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private OrderArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        archiver = new OrderArchiver(orderRepository, transactionalOperator, orderShards, AFTER_DAYS, 10);
+    }
+
+    private CreateOrderRequest createRequest(UUID customerId) {
+        return CreateOrderRequest.builder()
+                .customerId(customerId)
+                .restaurantId(UUID.randomUUID())
+                .deliveryStreet("Rua das Flores")
+                .deliveryNumber("123")
+                .deliveryNeighborhood("Centro")
+                .deliveryCity("São Paulo")
+                .deliveryState("SP")
+                .deliveryZipCode("01234-567")
+                .items(List.of(
+                        OrderItemRequest.builder()
+                                .productId(UUID.randomUUID())
+                                .productName("Pizza Margherita")
+                                .quantity(2)
+                                .unitPrice(new BigDecimal("45.90"))
+                                .build(),
+                        OrderItemRequest.builder()
+                                .productId(UUID.randomUUID())
+                                .productName("Refrigerante 2L")
+                                .quantity(1)
+                                .unitPrice(new BigDecimal("12.00"))
+                                .build()))
+                .build();
+    }
+
+    private Mono<Void> age(UUID orderId, int days) {
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(days);
+        return Flux.just("orders", "order_views")
+                .concatMap(table -> databaseClient.sql("UPDATE " + table + " SET created_at = :createdAt WHERE id = :id")
+                        .bind("createdAt", createdAt)
+                        .bind("id", orderId)
+                        .then())
+                .then();
+    }
+
+    @Test
+    @DisplayName("Should move old finished orders to the archive and keep serving them by id and in lists")
+    void shouldArchiveOldFinishedOrders() {
+        UUID customerId = UUID.randomUUID();
+
+        Mono<UUID> archived = orderService.createOrder(createRequest(customerId))
+                .flatMap(order -> orderService.cancelOrder(order.getId(), "Cliente desistiu"))
+                .flatMap(order -> age(order.getId(), AFTER_DAYS + 10).thenReturn(order.getId()));
+
+        StepVerifier.create(archived
+                        .flatMap(id -> archiver.archive()
+                                .then(Mono.zip(
+                                        orderRepository.existsById(id),
+                                        orderViewRepository.existsById(id),
+                                        orderService.getOrderById(id)))))
+                .assertNext(result -> {
+                    assertThat(result.getT1()).isFalse();
+                    assertThat(result.getT2()).isFalse();
+                    OrderResponse response = result.getT3();
+                    assertThat(response.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+                    assertThat(response.getItems()).hasSize(2);
+                })
+                .verifyComplete();
+
+        StepVerifier.create(orderService.createOrder(createRequest(customerId))
+                        .flatMap(recent -> orderService.getOrdersByCustomer(customerId, OrderPageRequest.first(10))
+                                .collectList()
+                                .map(orders -> {
+                                    assertThat(orders.get(0).getId()).isEqualTo(recent.getId());
+                                    return orders;
+                                })))
+                .assertNext(orders -> {
+                    assertThat(orders).hasSize(2);
+                    assertThat(orders.get(1).getStatus()).isEqualTo(OrderStatus.CANCELLED);
+                    assertThat(orders.get(1).getItems()).hasSize(2);
+                })
+                .verifyComplete();
+
+        StepVerifier.create(orderService.getOrdersByStatus(OrderStatus.CANCELLED, OrderPageRequest.first(500))
+                        .filter(order -> order.getCustomerId().equals(customerId))
+                        .count())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep recent and active orders in the orders table")
+    void shouldKeepRecentAndActiveOrders() {
+        Mono<UUID> oldActive = orderService.createOrder(createRequest(UUID.randomUUID()))
+                .flatMap(order -> age(order.getId(), AFTER_DAYS + 10).thenReturn(order.getId()));
+        Mono<UUID> recentCancelled = orderService.createOrder(createRequest(UUID.randomUUID()))
+                .flatMap(order -> orderService.cancelOrder(order.getId(), "Cliente desistiu"))
+                .map(OrderResponse::getId);
+
+        StepVerifier.create(Mono.zip(oldActive, recentCancelled)
+                        .flatMap(ids -> archiver.archive()
+                                .then(Mono.zip(
+                                        orderRepository.existsById(ids.getT1()),
+                                        orderRepository.existsById(ids.getT2())))))
+                .assertNext(exists -> {
+                    assertThat(exists.getT1()).isTrue();
+                    assertThat(exists.getT2()).isTrue();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep listing active orders older than the archive window")
+    void shouldListOldActiveOrders() {
+        CreateOrderRequest request = createRequest(UUID.randomUUID());
+
+        Mono<UUID> oldActive = orderService.createOrder(request)
+                .flatMap(order -> age(order.getId(), AFTER_DAYS + 10).thenReturn(order.getId()));
+
+        StepVerifier.create(oldActive
+                        .flatMap(id -> archiver.archive().thenReturn(id))
+                        .flatMap(id -> Mono.zip(
+                                orderService.getActiveOrdersByRestaurant(request.getRestaurantId(), OrderPageRequest.first(10))
+                                        .map(OrderResponse::getId).collectList(),
+                                orderService.getOrdersByRestaurant(request.getRestaurantId(), OrderPageRequest.first(10))
+                                        .map(OrderResponse::getId).collectList(),
+                                Mono.just(id))))
+                .assertNext(result -> {
+                    assertThat(result.getT1()).containsExactly(result.getT3());
+                    assertThat(result.getT2()).containsExactly(result.getT3());
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.order.infrastructure.partition;
+
+import com.ecommerce.order.infrastructure.shard.OrderShards;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Partições só existem no PostgreSQL; o H2 dos outros testes não serve aqui
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("OrderPartitionManager PostgreSQL Tests")
+class OrderPartitionManagerPostgresTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private DatabaseClient client;
+    private OrderPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:postgresql://%s:%s@%s:%d/%s".formatted(
+                POSTGRES.getUsername(), POSTGRES.getPassword(), POSTGRES.getHost(),
+                POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), POSTGRES.getDatabaseName()));
+        client = DatabaseClient.create(connectionFactory);
+        client.sql("DROP SCHEMA public CASCADE").then()
+                .then(client.sql("CREATE SCHEMA public").then())
+                .then(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory))
+                .block();
+
+        R2dbcTransactionManager transactionManager = new R2dbcTransactionManager(connectionFactory);
+        OrderShards orderShards = new OrderShards(transactionManager, TransactionalOperator.create(transactionManager),
+                false, List.of());
+        partitionManager = new OrderPartitionManager(client, connectionFactory, orderShards, 3);
+    }
+
+    private void insertOrder(String createdAt) {
+        client.sql("""
+                        INSERT INTO orders (customer_id, restaurant_id, delivery_street, delivery_number,
+                            delivery_neighborhood, delivery_city, delivery_state, delivery_zip_code,
+                            subtotal, total, created_at)
+                        VALUES (gen_random_uuid(), gen_random_uuid(), 'Rua A', '1', 'Centro', 'São Paulo', 'SP',
+                            '01000-000', 10.00, 10.00, CAST(:createdAt AS TIMESTAMP))
+                        """)
+                .bind("createdAt", createdAt)
+                .then()
+                .block();
+    }
+
+    private List<String> partitionsHolding() {
+        return client.sql("SELECT tableoid::regclass::text AS partition FROM orders ORDER BY created_at")
+                .map(row -> row.get("partition", String.class))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    @Test
+    @DisplayName("Should move rows already in DEFAULT into the new monthly partition")
+    void shouldMoveDefaultRowsIntoNewPartition() {
+        YearMonth month = YearMonth.now().plusMonths(2);
+        insertOrder(month.atDay(10) + " 12:00:00");
+        assertThat(partitionsHolding()).containsExactly("orders_default");
+
+        partitionManager.ensurePartitions().block();
+
+        assertThat(partitionsHolding()).containsExactly(OrderPartitionManager.partitionName(month));
+        assertThat(client.sql("SELECT count(*) AS total FROM orders_default")
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .block()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave existing partitions and rows outside the horizon untouched")
+    void shouldKeepExistingPartitions() {
+        YearMonth month = YearMonth.now();
+        YearMonth beyond = month.plusMonths(4);
+        partitionManager.ensurePartitions().block();
+        insertOrder(month.atDay(1) + " 00:00:00");
+        insertOrder(beyond.atDay(1) + " 00:00:00");
+
+        partitionManager.ensurePartitions().block();
+
+        assertThat(partitionsHolding())
+                .containsExactly(OrderPartitionManager.partitionName(month), "orders_default");
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.order.infrastructure.partition;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OrderPartitionManager Tests")
+class OrderPartitionManagerTest {
+
+    @Test
+    @DisplayName("Should attach a monthly range partition bounded by the first day of the next month")
+    void shouldBuildMonthlyPartitionSql() {
+        assertThat(OrderPartitionManager.attachSql(YearMonth.of(2026, 12)))
+                .isEqualTo("ALTER TABLE orders ATTACH PARTITION orders_y2026m12 "
+                        + "FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')");
+    }
+
+    @Test
+    @DisplayName("Should zero-pad the month in the partition name")
+    void shouldZeroPadMonth() {
+        assertThat(OrderPartitionManager.partitionName(YearMonth.of(2027, 3))).isEqualTo("orders_y2027m03");
+        assertThat(OrderPartitionManager.createTableSql(YearMonth.of(2027, 3)))
+                .isEqualTo("CREATE TABLE orders_y2027m03 (LIKE orders INCLUDING DEFAULTS)");
+    }
+
+    @Test
+    @DisplayName("Should move only the month's rows out of DEFAULT")
+    void shouldMoveMonthFromDefault() {
+        assertThat(OrderPartitionManager.moveFromDefaultSql(YearMonth.of(2027, 3)))
+                .isEqualTo("WITH moved AS (DELETE FROM orders_default "
+                        + "WHERE created_at >= '2027-03-01' AND created_at < '2027-04-01' RETURNING *) "
+                        + "INSERT INTO orders_y2027m03 SELECT * FROM moved");
+    }
+}
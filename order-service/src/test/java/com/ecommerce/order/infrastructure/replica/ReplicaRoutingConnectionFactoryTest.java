@@ -0,0 +1,139 @@
+package com.ecommerce.order.infrastructure.replica;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dois bancos H2 em modo PostgreSQL fazem o papel de primário e réplica; cada um
+ * responde com o próprio nome, e a réplica expõe o atraso numa tabela
+ */
+@DisplayName("ReplicaRoutingConnectionFactory Tests")
+class ReplicaRoutingConnectionFactoryTest {
+
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+
+    private final AtomicBoolean replicaDown = new AtomicBoolean();
+
+    private DatabaseClient primaryClient;
+    private DatabaseClient replicaClient;
+    private ReplicaRoutingConnectionFactory routing;
+    private DatabaseClient client;
+    private TransactionalOperator readOnly;
+    private TransactionalOperator readWrite;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        ConnectionFactory primary = h2("primary-" + suffix);
+        ConnectionFactory replica = h2("replica-" + suffix);
+        primaryClient = DatabaseClient.create(primary);
+        replicaClient = DatabaseClient.create(replica);
+
+        primaryClient.sql("CREATE TABLE node (name VARCHAR(20))").then()
+                .then(primaryClient.sql("INSERT INTO node VALUES ('primary')").then())
+                .then(replicaClient.sql("CREATE TABLE node (name VARCHAR(20))").then())
+                .then(replicaClient.sql("INSERT INTO node VALUES ('replica')").then())
+                .then(replicaClient.sql("CREATE TABLE replica_lag (seconds DECIMAL(10,3))").then())
+                .then(replicaClient.sql("INSERT INTO replica_lag VALUES (0.5)").then())
+                .block();
+
+        routing = new ReplicaRoutingConnectionFactory(primary, Map.of("replica-0", failing(replica)),
+                LAG_QUERY, Duration.ofSeconds(2), Duration.ofSeconds(1));
+        client = DatabaseClient.create(routing);
+
+        ReadOnlyRoutingTransactionManager transactionManager = new ReadOnlyRoutingTransactionManager(routing);
+        DefaultTransactionDefinition readOnlyDefinition = new DefaultTransactionDefinition();
+        readOnlyDefinition.setReadOnly(true);
+        readOnly = TransactionalOperator.create(transactionManager, readOnlyDefinition);
+        readWrite = TransactionalOperator.create(transactionManager);
+    }
+
+    private ConnectionFactory h2(String name) {
+        return ConnectionFactories.get("r2dbc:h2:mem:///" + name + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+    }
+
+    /** Réplica que pode ser derrubada no meio do teste */
+    private ConnectionFactory failing(ConnectionFactory delegate) {
+        return new ConnectionFactory() {
+            @Override
+            public Publisher<? extends Connection> create() {
+                return replicaDown.get()
+                        ? Mono.error(new IllegalStateException("connection refused"))
+                        : delegate.create();
+            }
+
+            @Override
+            public ConnectionFactoryMetadata getMetadata() {
+                return delegate.getMetadata();
+            }
+        };
+    }
+
+    private Mono<String> node(TransactionalOperator operator) {
+        return client.sql("SELECT name FROM node").map(row -> row.get(0, String.class)).one().as(operator::transactional);
+    }
+
+    @Test
+    @DisplayName("Should keep reads on the primary until the replica lag is measured")
+    void shouldUsePrimaryBeforeFirstProbe() {
+        StepVerifier.create(node(readOnly)).expectNext("primary").verifyComplete();
+        assertThat(routing.replicasInRotation()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to a fresh replica and writes to the primary")
+    void shouldRouteByTransactionType() {
+        routing.refreshLag().block();
+
+        assertThat(routing.replicasInRotation()).containsExactly("replica-0");
+        StepVerifier.create(node(readOnly)).expectNext("replica").verifyComplete();
+        StepVerifier.create(node(readWrite)).expectNext("primary").verifyComplete();
+        StepVerifier.create(client.sql("SELECT name FROM node").map(row -> row.get(0, String.class)).one())
+                .expectNext("primary")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags behind")
+    void shouldSkipLaggingReplica() {
+        routing.refreshLag().block();
+        replicaClient.sql("UPDATE replica_lag SET seconds = 30").then().block();
+        routing.refreshLag().block();
+
+        assertThat(routing.replicasInRotation()).isEmpty();
+        StepVerifier.create(node(readOnly)).expectNext("primary").verifyComplete();
+
+        replicaClient.sql("UPDATE replica_lag SET seconds = 0").then().block();
+        routing.refreshLag().block();
+
+        StepVerifier.create(node(readOnly)).expectNext("replica").verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica refuses connections")
+    void shouldFallBackWhenReplicaIsDown() {
+        routing.refreshLag().block();
+        replicaDown.set(true);
+
+        StepVerifier.create(node(readOnly)).expectNext("primary").verifyComplete();
+        assertThat(routing.replicasInRotation()).isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.order.infrastructure.shard;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dois bancos H2 em modo PostgreSQL fazem o papel de dois shards de order_db
+ */
+@DisplayName("OrderShards Tests")
+class OrderShardsTest {
+
+    private DatabaseClient client;
+    private OrderShards shards;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        List<ConnectionFactory> databases = List.of(h2("shard0-" + suffix), h2("shard1-" + suffix));
+        databases.forEach(database -> DatabaseClient.create(database)
+                .sql("CREATE TABLE entries (seq INT, name VARCHAR(20))")
+                .then()
+                .block());
+
+        ShardRoutingConnectionFactory routing = new ShardRoutingConnectionFactory(databases);
+        R2dbcTransactionManager transactionManager = new R2dbcTransactionManager(routing);
+        client = DatabaseClient.create(routing);
+        shards = new OrderShards(transactionManager, TransactionalOperator.create(transactionManager),
+                true, List.of("r2dbc:h2:mem:///shard0", "r2dbc:h2:mem:///shard1"));
+    }
+
+    private ConnectionFactory h2(String name) {
+        return ConnectionFactories.get("r2dbc:h2:mem:///" + name + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+    }
+
+    private void insert(int shard, int seq, String name) {
+        shards.write(shard, client.sql("INSERT INTO entries VALUES (:seq, :name)")
+                        .bind("seq", seq)
+                        .bind("name", name)
+                        .then())
+                .block();
+    }
+
+    @Test
+    @DisplayName("Should encode the shard in new order ids")
+    void shouldEncodeShardInOrderId() {
+        UUID restaurantId = UUID.randomUUID();
+        UUID orderId = shards.newOrderId(restaurantId);
+
+        assertThat(orderId.version()).isEqualTo(8);
+        assertThat(orderId.variant()).isEqualTo(2);
+        assertThat(shards.forOrder(orderId)).isEqualTo(shards.forRestaurant(restaurantId));
+        assertThat(OrderShards.encodedShard(OrderShards.newOrderId(513))).isEqualTo(513);
+    }
+
+    @Test
+    @DisplayName("Should keep ids created before sharding on the first shard")
+    void shouldMapLegacyIdsToFirstShard() {
+        IntStream.range(0, 50).forEach(i -> assertThat(shards.forOrder(UUID.randomUUID())).isZero());
+    }
+
+    @Test
+    @DisplayName("Should move only a fraction of restaurants when a shard is added")
+    void shouldMoveFewRestaurantsWhenGrowing() {
+        List<Long> keys = IntStream.range(0, 10_000)
+                .mapToObj(i -> UUID.randomUUID())
+                .map(id -> id.getMostSignificantBits() ^ id.getLeastSignificantBits())
+                .toList();
+
+        long moved = keys.stream().filter(key -> OrderShards.jump(key, 4) != OrderShards.jump(key, 5)).count();
+        long onNewShard = keys.stream().filter(key -> OrderShards.jump(key, 5) == 4).count();
+
+        // Só as chaves que vão para o shard novo mudam de lugar (~1/5)
+        assertThat(moved).isEqualTo(onNewShard).isBetween(1_500L, 2_500L);
+    }
+
+    @Test
+    @DisplayName("Should write to the routed shard only")
+    void shouldRouteWritesByShard() {
+        insert(0, 1, "a");
+        insert(1, 2, "b");
+
+        StepVerifier.create(shards.read(1, client.sql("SELECT name FROM entries")
+                        .map(row -> row.get("name", String.class))
+                        .all()))
+                .expectNext("b")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should merge sorted results from every shard")
+    void shouldMergeAcrossShards() {
+        insert(0, 1, "a");
+        insert(1, 2, "b");
+        insert(0, 3, "c");
+        insert(1, 4, "d");
+        insert(1, 5, "e");
+
+        Flux<Integer> merged = shards.gather(Comparator.<Integer>naturalOrder().reversed(), shard ->
+                client.sql("SELECT seq FROM entries ORDER BY seq DESC")
+                        .map(row -> row.get("seq", Integer.class))
+                        .all());
+
+        StepVerifier.create(merged.take(4))
+                .expectNext(5, 4, 3, 2)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,146 @@
+package com.ecommerce.order.infrastructure.timeout;
+
+import com.ecommerce.order.application.dto.request.CreateOrderRequest;
+import com.ecommerce.order.application.dto.request.OrderItemRequest;
+import com.ecommerce.order.application.dto.request.UpdateOrderStatusRequest;
+import com.ecommerce.order.application.dto.response.OrderResponse;
+import com.ecommerce.order.application.service.OrderService;
+import com.ecommerce.order.application.service.PendingOrderTimeoutService;
+import com.ecommerce.order.domain.entity.OrderStatus;
+import com.ecommerce.order.infrastructure.repository.OrderRepository;
+import com.ecommerce.order.infrastructure.shard.OrderShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("PendingOrderExpirer Tests")
+class PendingOrderExpirerTest {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(15);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PendingOrderTimeoutService pendingTimeouts;
+
+    @Autowired
+    private OrderShards orderShards;
+
+    /** Roda própria do teste, para não disparar pedidos criados por outras classes */
+    private PendingOrderTimeoutService testTimeouts;
+    private PendingOrderExpirer expirer;
+
+    @BeforeEach
+    void setUp() {
+        testTimeouts = new PendingOrderTimeoutService(TIMEOUT, Duration.ofSeconds(1), 64);
+        expirer = new PendingOrderExpirer(orderService, orderRepository, testTimeouts, orderShards, 2);
+    }
+
+    private CreateOrderRequest createRequest() {
+        return CreateOrderRequest.builder()
+                .customerId(UUID.randomUUID())
+                .restaurantId(UUID.randomUUID())
+                .deliveryStreet("Rua das Flores")
+                .deliveryNumber("123")
+                .deliveryNeighborhood("Centro")
+                .deliveryCity("São Paulo")
+                .deliveryState("SP")
+                .deliveryZipCode("01234-567")
+                .items(List.of(OrderItemRequest.builder()
+                        .productId(UUID.randomUUID())
+                        .productName("Pizza Margherita")
+                        .quantity(1)
+                        .unitPrice(new BigDecimal("45.90"))
+                        .build()))
+                .build();
+    }
+
+    private Mono<OrderResponse> confirm(OrderResponse order) {
+        return orderService.updateOrderStatus(order.getId(), UpdateOrderStatusRequest.builder()
+                .status(OrderStatus.CONFIRMED)
+                .estimatedDeliveryTime(40)
+                .build());
+    }
+
+    private long afterTimeout() {
+        return System.currentTimeMillis() + TIMEOUT.plusMinutes(1).toMillis();
+    }
+
+    @Test
+    @DisplayName("Should schedule new orders and unschedule them on confirmation")
+    void shouldTrackPendingOrders() {
+        StepVerifier.create(orderService.createOrder(createRequest())
+                        .doOnNext(order -> assertThat(pendingTimeouts.isScheduled(order.getId())).isTrue())
+                        .flatMap(this::confirm))
+                .assertNext(order -> assertThat(pendingTimeouts.isScheduled(order.getId())).isFalse())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should cancel in batches only orders still pending past the deadline")
+    void shouldExpireOnlyPendingOrders() {
+        List<OrderResponse> orders = Flux.range(0, 4)
+                .concatMap(i -> orderService.createOrder(createRequest()))
+                .collectList()
+                .block();
+        OrderResponse confirmed = confirm(orders.get(0)).block();
+        orders.forEach(order -> testTimeouts.schedule(order.getId(), order.getCreatedAt()));
+
+        StepVerifier.create(expirer.expire(System.currentTimeMillis()))
+                .expectNext(0L)
+                .verifyComplete();
+
+        StepVerifier.create(expirer.expire(afterTimeout()))
+                .expectNext(3L)
+                .verifyComplete();
+
+        StepVerifier.create(orderRepository.findAllById(orders.stream().map(OrderResponse::getId).toList())
+                        .collectList())
+                .assertNext(saved -> saved.forEach(order -> {
+                    if (order.getId().equals(confirmed.getId())) {
+                        assertThat(order.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+                    } else {
+                        assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+                        assertThat(order.getCancellationReason()).isEqualTo(PendingOrderExpirer.TIMEOUT_REASON);
+                    }
+                }))
+                .verifyComplete();
+
+        StepVerifier.create(orderService.getOrderById(orders.get(1).getId()))
+                .assertNext(order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should rebuild deadlines from pending orders in the database")
+    void shouldRebuildFromDatabase() {
+        OrderResponse pending = orderService.createOrder(createRequest()).block();
+        OrderResponse confirmed = orderService.createOrder(createRequest()).flatMap(this::confirm).block();
+
+        StepVerifier.create(expirer.rebuild())
+                .assertNext(count -> assertThat(count).isPositive())
+                .verifyComplete();
+
+        assertThat(testTimeouts.isScheduled(pending.getId())).isTrue();
+        assertThat(testTimeouts.isScheduled(confirmed.getId())).isFalse();
+    }
+}
@@ -1,4 +1,10 @@
 -- order-service/src/test/resources/schema-test.sql
+DROP TABLE IF EXISTS idempotency_keys;
+DROP TABLE IF EXISTS order_items_archive;
+DROP TABLE IF EXISTS orders_archive;
+DROP TABLE IF EXISTS order_views;
+DROP TABLE IF EXISTS order_status_history;
+DROP TABLE IF EXISTS order_outbox;
 DROP TABLE IF EXISTS order_items;
 DROP TABLE IF EXISTS orders;
 
@@ -30,7 +36,8 @@ CREATE TABLE orders (
     delivered_at TIMESTAMP,
     cancelled_at TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE order_items (
@@ -42,11 +49,65 @@ CREATE TABLE order_items (
     unit_price DECIMAL(10, 2) NOT NULL,
     total_price DECIMAL(10, 2) NOT NULL,
     notes TEXT,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE orders_archive AS SELECT * FROM orders WITH NO DATA;
+ALTER TABLE orders_archive ALTER COLUMN id SET NOT NULL;
+ALTER TABLE orders_archive ADD PRIMARY KEY (id);
+CREATE TABLE order_items_archive AS SELECT * FROM order_items WITH NO DATA;
+ALTER TABLE order_items_archive ALTER COLUMN id SET NOT NULL;
+ALTER TABLE order_items_archive ADD PRIMARY KEY (id);
+
+CREATE TABLE order_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT,
+    content_type VARCHAR(60),
+    payload_bytes BYTEA,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE order_views (
+    id UUID PRIMARY KEY,
+    customer_id UUID NOT NULL,
+    restaurant_id UUID NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    document BYTEA NOT NULL
+);
+
+CREATE TABLE order_status_history (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id UUID NOT NULL,
+    from_status VARCHAR(30),
+    to_status VARCHAR(30) NOT NULL,
+    reason TEXT,
+    changed_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE idempotency_keys (
+    customer_id UUID NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash BYTEA NOT NULL,
+    order_id UUID NOT NULL,
+    response BYTEA,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (customer_id, idempotency_key)
 );
 
-CREATE INDEX idx_orders_customer ON orders(customer_id);
-CREATE INDEX idx_orders_restaurant ON orders(restaurant_id);
-CREATE INDEX idx_orders_status ON orders(status);
-CREATE INDEX idx_order_items_order ON order_items(order_id);
\ No newline at end of file
+CREATE INDEX idx_orders_customer_created ON orders(customer_id, created_at DESC, id DESC);
+CREATE INDEX idx_orders_restaurant_created ON orders(restaurant_id, created_at DESC, id DESC);
+CREATE INDEX idx_orders_status_created ON orders(status, created_at DESC, id DESC);
+CREATE INDEX idx_order_items_order ON order_items(order_id);
+CREATE INDEX idx_order_views_customer_created ON order_views(customer_id, created_at DESC, id DESC);
+CREATE INDEX idx_order_views_restaurant_created ON order_views(restaurant_id, created_at DESC, id DESC);
+CREATE INDEX idx_order_views_status_created ON order_views(status, created_at DESC, id DESC);
+CREATE INDEX idx_order_items_archive_order ON order_items_archive(order_id);
+CREATE INDEX idx_orders_archive_customer_created ON orders_archive(customer_id, created_at, id);
+CREATE INDEX idx_orders_archive_restaurant_created ON orders_archive(restaurant_id, created_at, id);
+CREATE INDEX idx_orders_archive_status_created ON orders_archive(status, created_at, id);
+CREATE INDEX idx_order_status_history_order ON order_status_history(order_id, changed_at, id);
@@ -92,6 +92,10 @@ public class RestaurantEventProducer {
                 .isOpen(restaurant.getIsOpen())
                 .isAcceptingOrders(restaurant.getIsAcceptingOrders())
                 .rating(restaurant.getRating())
+                .latitude(restaurant.getLatitude())
+                .longitude(restaurant.getLongitude())
+                .deliveryRadiusKm(restaurant.getDeliveryRadiusKm())
+                .minOrderValue(restaurant.getMinOrderValue())
                 .timestamp(LocalDateTime.now())
                 .build();
     }